@@ -0,0 +1,182 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.repository.CardBatchWriter;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.service.CardImporter;
+import com.butlert.tradingcardmanager.service.CardShards;
+import com.butlert.tradingcardmanager.service.CardValuationEngine;
+import com.butlert.tradingcardmanager.service.CollectionAggregateStore;
+import com.butlert.tradingcardmanager.utils.CardDateUtil;
+import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.utils.DateParser;
+import com.butlert.tradingcardmanager.utils.validation.CardValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the import throughput of {@link CardImporter} for files with a share of invalid lines.
+ * <p>
+ * {@link #importLines()} runs the importer as it is, which counts rejected lines and logs a
+ * single summary. {@link #importLinesPrintingEachRejection()} adds the two synchronous
+ * {@code System.out.println} calls the writer used to make for every rejected line, so the
+ * difference between the two is the cost of that console output. The repository and batch
+ * writer are stubs, so the numbers cover parsing, validation and the writer stage only.
+ * </p>
+ * <p>
+ * Console output is written to a temporary file through an autoflushing {@link PrintStream},
+ * as {@code System.out} is, so each line still costs a write system call. A real terminal or
+ * container log driver is slower than a file, so the measured gain is a lower bound.
+ * Results are in lines per millisecond; select a share with {@code -p invalidPercent=10}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardImportBenchmark {
+
+    /**
+     * Number of lines imported by one benchmark invocation.
+     */
+    private static final int LINES = 20_000;
+
+    @Param({"0", "10", "50"})
+    private int invalidPercent;
+
+    private CardImporter cardImporter;
+    private String input;
+    private List<String> rejectedLines;
+    private String rejectionReason;
+    private PrintStream console;
+    private PrintStream originalOut;
+    private Path consoleFile;
+
+    /**
+     * Builds the importer on top of stubs and the import file, with every line whose index
+     * modulo 100 is below {@code invalidPercent} made invalid by an extra field.
+     *
+     * @throws IOException if the console file cannot be created
+     */
+    @Setup
+    public void setUp() throws IOException {
+        CardRepository cardRepository = StubCardRepository.of(List.of());
+        CardShards cardShards = new CardShards(ShardRouter.unsharded(), new NoTransactionManager());
+        CollectionAggregateStore collectionAggregateStore = new CollectionAggregateStore(cardRepository,
+                new CardValuationEngine(new CardDateUtil()), cardShards);
+        CardParser cardParser = new CardParser(new DateParser(), new CardValidator(Validation.buildDefaultValidatorFactory().getValidator()));
+        cardImporter = new CardImporter(cardRepository, new NoOpBatchWriter(), cardParser, collectionAggregateStore,
+                cardShards, new SimpleMeterRegistry());
+
+        String[] lines = SyntheticCards.lines(LINES);
+        rejectedLines = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            if (i % 100 < invalidPercent) {
+                lines[i] = lines[i] + " - extra";
+                rejectedLines.add(lines[i]);
+            }
+        }
+        input = String.join("\n", lines);
+        if (!rejectedLines.isEmpty()) {
+            try {
+                cardParser.parseCard(rejectedLines.get(0));
+            } catch (IllegalArgumentException e) {
+                rejectionReason = e.toString();
+            }
+        }
+
+        consoleFile = Files.createTempFile("card-import-console", ".log");
+        console = new PrintStream(new FileOutputStream(consoleFile.toFile()), true);
+        originalOut = System.out;
+        System.setOut(console);
+    }
+
+    /**
+     * Restores the console and stops the importer's parse threads.
+     *
+     * @throws IOException if the console file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        console.close();
+        Files.deleteIfExists(consoleFile);
+        cardImporter.destroy();
+    }
+
+    /**
+     * Imports the file, logging rejected lines as a single summary.
+     *
+     * @return the import summary
+     * @throws IOException never, the input is in memory
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public ImportSummary importLines() throws IOException {
+        return cardImporter.importLines(new BufferedReader(new StringReader(input)), 100, cards -> { });
+    }
+
+    /**
+     * Imports the file and prints every rejected line and its reason, as the writer used to.
+     *
+     * @return the import summary
+     * @throws IOException never, the input is in memory
+     */
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public ImportSummary importLinesPrintingEachRejection() throws IOException {
+        ImportSummary summary = cardImporter.importLines(new BufferedReader(new StringReader(input)), 100, cards -> { });
+        for (String line : rejectedLines) {
+            System.out.println("Skipping invalid line: " + line);
+            System.out.println("Reason: " + rejectionReason);
+        }
+        return summary;
+    }
+
+    /**
+     * Batch writer that stores nothing, so the benchmark measures the import pipeline itself.
+     */
+    private static final class NoOpBatchWriter extends CardBatchWriter {
+        private NoOpBatchWriter() {
+            super(new SimpleDriverDataSource());
+        }
+
+        @Override
+        public int insertAll(List<Card> cards) {
+            return cards.size();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of {@link Card} entities as done by the REST controllers.
+ * <p>
+ * The object mapper is configured like Spring Boot's default one: Java time support with
+ * dates written as ISO strings.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardJsonBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private ObjectMapper objectMapper;
+    private List<Card> cards;
+    private int next;
+
+    /**
+     * Builds the object mapper and a fixed set of synthetic cards.
+     */
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cards = SyntheticCards.cards(SIZE);
+    }
+
+    /**
+     * Serializes a single card, as returned by {@code GET /api/cards/get/{cardNumber}}.
+     *
+     * @return the JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializeCard() throws JsonProcessingException {
+        Card card = cards.get(next);
+        next = (next + 1) & (SIZE - 1);
+        return objectMapper.writeValueAsBytes(card);
+    }
+
+    /**
+     * Serializes a list of {@value #SIZE} cards, as returned by the list endpoints.
+     *
+     * @return the JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializeCardList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cards);
+    }
+}
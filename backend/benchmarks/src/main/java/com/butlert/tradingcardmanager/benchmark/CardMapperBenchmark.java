@@ -0,0 +1,77 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.mapper.CardMapper;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures both directions of {@link CardMapper}.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardMapperBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private Card[] cards;
+    private CardDTO[] dtos;
+    private int next;
+
+    /**
+     * Builds matching arrays of synthetic cards and DTOs.
+     */
+    @Setup
+    public void setUp() {
+        List<Card> generated = SyntheticCards.cards(SIZE);
+        cards = generated.toArray(new Card[0]);
+        dtos = new CardDTO[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            dtos[i] = CardMapper.toDto(cards[i]);
+        }
+    }
+
+    /**
+     * Converts a DTO into an entity, parsing its rarity, dates and price.
+     *
+     * @return the mapped entity
+     */
+    @Benchmark
+    public Card toEntity() {
+        CardDTO cardDTO = dtos[next];
+        next = (next + 1) & (SIZE - 1);
+        return CardMapper.toEntity(cardDTO);
+    }
+
+    /**
+     * Converts an entity into a DTO, formatting its dates and price.
+     *
+     * @return the mapped DTO
+     */
+    @Benchmark
+    public CardDTO toDto() {
+        Card card = cards[next];
+        next = (next + 1) & (SIZE - 1);
+        return CardMapper.toDto(card);
+    }
+}
@@ -0,0 +1,103 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.mapper.CardMapper;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.utils.DateParser;
+import com.butlert.tradingcardmanager.utils.validation.CardValidator;
+import com.butlert.tradingcardmanager.utils.validation.ValidatorResult;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of turning one import line into a validated {@link Card}.
+ * <p>
+ * {@link #parseLine()} measures {@link CardParser#parseLine(String)} alone.
+ * {@link #legacyParseLine()} measures the original path: {@link CardParser#parseLine(String)},
+ * {@link CardMapper#toEntity(CardDTO)} and {@link CardValidator#validateCard(Card)}.
+ * {@link #parseCard()} measures the index based fast path {@link CardParser#parseCard(String)}.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes allocated per line.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardParserBenchmark {
+
+    private CardParser cardParser;
+    private CardValidator cardValidator;
+    private String[] lines;
+    private int next;
+
+    /**
+     * Builds the parser and a fixed set of representative import lines.
+     */
+    @Setup
+    public void setUp() {
+        cardValidator = new CardValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        cardParser = new CardParser(new DateParser(), cardValidator);
+
+        lines = SyntheticCards.lines(1024);
+    }
+
+    /**
+     * {@link CardParser#parseLine(String)} on its own: split, trim, validate each field and build a DTO.
+     *
+     * @return the parsed DTO
+     */
+    @Benchmark
+    public CardDTO parseLine() {
+        return cardParser.parseLine(nextLine()).orElseThrow();
+    }
+
+    /**
+     * Original path: split and trim, validate each field, build a DTO, map it and validate the card.
+     *
+     * @return the parsed card
+     */
+    @Benchmark
+    public Card legacyParseLine() {
+        CardDTO cardDTO = cardParser.parseLine(nextLine()).orElseThrow();
+        Card card = CardMapper.toEntity(cardDTO);
+        ValidatorResult result = cardValidator.validateCard(card);
+        if (!result.isValid()) {
+            throw new IllegalStateException(result.getMessage());
+        }
+        return card;
+    }
+
+    /**
+     * Fast path: scan the delimiters by index and parse each field in place.
+     *
+     * @return the parsed card
+     */
+    @Benchmark
+    public Card parseCard() {
+        return cardParser.parseCard(nextLine());
+    }
+
+    private String nextLine() {
+        String line = lines[next];
+        next = (next + 1) & (lines.length - 1);
+        return line;
+    }
+}
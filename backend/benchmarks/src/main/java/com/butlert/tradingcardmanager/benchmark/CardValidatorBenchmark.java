@@ -0,0 +1,60 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.utils.validation.CardValidator;
+import com.butlert.tradingcardmanager.utils.validation.ValidatorResult;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CardValidator#validateCard(Card)} on valid synthetic cards.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardValidatorBenchmark {
+
+    private CardValidator cardValidator;
+    private List<Card> cards;
+    private int next;
+
+    /**
+     * Builds the validator and a fixed set of synthetic cards.
+     */
+    @Setup
+    public void setUp() {
+        cardValidator = new CardValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        cards = SyntheticCards.cards(1024);
+    }
+
+    /**
+     * Validates one card.
+     *
+     * @return the validation result
+     */
+    @Benchmark
+    public ValidatorResult validateCard() {
+        Card card = cards.get(next);
+        next = (next + 1) & (cards.size() - 1);
+        return cardValidator.validateCard(card);
+    }
+}
@@ -0,0 +1,88 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.service.CardServiceImpl;
+import com.butlert.tradingcardmanager.service.CardShards;
+import com.butlert.tradingcardmanager.service.CardValuationEngine;
+import com.butlert.tradingcardmanager.service.CollectionAggregateStore;
+import com.butlert.tradingcardmanager.utils.CardDateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the collection statistics and valuation computed by {@link CardServiceImpl}
+ * over synthetic collections of one thousand up to ten million cards.
+ * <p>
+ * The repository is an in-memory stub that returns the aggregate and grouped rows the
+ * database would produce. The service reads from a {@link CollectionAggregateStore} loaded
+ * once during setup, as it is after application startup, so the numbers cover the work
+ * done per request. Select a single size with
+ * {@code -p collectionSize=1000000}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CollectionAggregationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int collectionSize;
+
+    private CardServiceImpl cardService;
+
+    /**
+     * Builds the service on top of a stub repository holding the synthetic collection.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        CardRepository cardRepository = StubCardRepository.of(SyntheticCards.cards(collectionSize));
+        CardShards cardShards = new CardShards(ShardRouter.unsharded(), new NoTransactionManager());
+        CollectionAggregateStore collectionAggregateStore = new CollectionAggregateStore(cardRepository,
+                new CardValuationEngine(new CardDateUtil()), cardShards);
+        collectionAggregateStore.rebuild();
+        cardService = new CardServiceImpl(cardRepository, null, null, collectionAggregateStore, cardShards,
+                null, null, null, null, null, null);
+    }
+
+    /**
+     * Computes the total spent and foil statistics.
+     *
+     * @return the statistics map
+     */
+    @Benchmark
+    public Map<String, Object> calculateCollectionStatistics() {
+        return cardService.calculateCollectionStatistics();
+    }
+
+    /**
+     * Computes the market and owner value of the collection.
+     *
+     * @return the value map
+     */
+    @Benchmark
+    public Map<String, BigDecimal> calculateCollectionValues() {
+        return cardService.calculateCollectionValues();
+    }
+}
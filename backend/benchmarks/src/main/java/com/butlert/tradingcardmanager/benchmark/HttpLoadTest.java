@@ -0,0 +1,200 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test against a running backend, used to compare the platform and the
+ * virtual thread request modes ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * For every concurrency level, that many clients send requests back to back for the step duration.
+ * Each step reports the throughput, the p50, p99 and maximum latency and the failed requests.
+ * The highest level whose p99 stays within {@code sloMillis} is reported as the maximum
+ * concurrency. Run it once against each mode on the same data and compare the tables.
+ * </p>
+ * <p>
+ * Arguments are {@code key=value} pairs: {@code url} (default {@code http://localhost:8080}),
+ * {@code path} (default {@code /api/cards?size=50}), {@code levels} (default
+ * {@code 50,100,200,400,800}), {@code seconds} per level (default 20), {@code warmupSeconds}
+ * (default 10) and {@code sloMillis} (default 500). The clients run on virtual threads, so the
+ * load generator itself is not limited by its thread count.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args {@code key=value} arguments, see the class comment
+     * @throws Exception if the load generator fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080")
+                + options.getOrDefault("path", "/api/cards?size=50"));
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "50,100,200,400,800").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Duration step = Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "20")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmupSeconds", "10")));
+        long sloMillis = Long.parseLong(options.getOrDefault("sloMillis", "500"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        System.out.printf("Load test of GET %s%n", uri);
+        run(client, request, levels[0], warmup);
+
+        System.out.printf("%12s %12s %10s %10s %10s %8s%n", "concurrency", "requests/s", "p50 ms", "p99 ms", "max ms",
+                "errors");
+        int maxConcurrency = 0;
+        for (int level : levels) {
+            StepResult result = run(client, request, level, step);
+            System.out.printf("%12d %12.1f %10.1f %10.1f %10.1f %8d%n", level, result.throughput(),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                    result.errors);
+            if (result.errors == 0 && result.percentileMillis(0.99) <= sloMillis) {
+                maxConcurrency = level;
+            }
+        }
+        System.out.printf("Maximum concurrency with p99 <= %d ms and no errors: %s%n", sloMillis,
+                maxConcurrency > 0 ? maxConcurrency : "none");
+    }
+
+    /**
+     * Runs one step: {@code concurrency} clients sending requests back to back until the step ends.
+     *
+     * @param client      the HTTP client
+     * @param request     the request every client sends
+     * @param concurrency the number of clients
+     * @param duration    how long the step runs
+     * @return the latencies and errors of the step
+     * @throws Exception if a client fails unexpectedly
+     */
+    private static StepResult run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<ClientResult>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> runClient(client, request, deadline)));
+            }
+
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Future<ClientResult> future : clients) {
+                ClientResult result = future.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + result.count);
+                System.arraycopy(result.latencies, 0, latencies, offset, result.count);
+                errors += result.errors;
+            }
+            Arrays.sort(latencies);
+            return new StepResult(latencies, errors, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Sends requests until the deadline, recording the latency of every successful one.
+     *
+     * @param client   the HTTP client
+     * @param request  the request to send
+     * @param deadline the {@link System#nanoTime()} after which no request is started
+     * @return the client's latencies and errors
+     */
+    private static ClientResult runClient(HttpClient client, HttpRequest request, long deadline) {
+        ClientResult result = new ClientResult();
+        while (System.nanoTime() < deadline) {
+            long sent = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    result.add(System.nanoTime() - sent);
+                } else {
+                    result.errors++;
+                }
+            } catch (IOException e) {
+                result.errors++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Latencies and errors of one client, collected without sharing.
+     */
+    private static final class ClientResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private void add(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+    }
+
+    /**
+     * Sorted latencies and errors of one step.
+     */
+    private static final class StepResult {
+        private final long[] sortedLatencies;
+        private final long errors;
+        private final long elapsedNanos;
+
+        private StepResult(long[] sortedLatencies, long errors, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private double throughput() {
+            return sortedLatencies.length * 1e9 / elapsedNanos;
+        }
+
+        private double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
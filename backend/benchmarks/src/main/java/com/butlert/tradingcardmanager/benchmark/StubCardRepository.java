@@ -0,0 +1,204 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.repository.CollectionStatisticsView;
+import com.butlert.tradingcardmanager.repository.ValuationGroupView;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates in-memory {@link CardRepository} stubs so service methods can be measured without a database.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public final class StubCardRepository {
+
+    private StubCardRepository() {
+        throw new UnsupportedOperationException("StubCardRepository is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Returns a repository whose {@code findAll()} answers with the given cards.
+     * {@code aggregateCollectionStatistics()}, {@code findValuationGroups()} and
+     * {@code findCommonValuationGroups()} answer with rows computed once up front, standing in
+     * for the database's aggregate queries, and {@code findExistingCardNumbers(...)} looks the
+     * numbers up in the given cards. Any other repository method is unsupported.
+     *
+     * @param cards the cards held by the repository
+     * @return the stub repository
+     */
+    public static CardRepository of(List<Card> cards) {
+        CollectionStatisticsView statistics = aggregate(cards);
+        List<ValuationGroupView> valuationGroups = group(cards, false);
+        List<ValuationGroupView> commonValuationGroups = group(cards, true);
+        return (CardRepository) Proxy.newProxyInstance(
+                CardRepository.class.getClassLoader(),
+                new Class<?>[]{CardRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findExistingCardNumbers")) {
+                        return existingCardNumbers(cards, (Collection<?>) args[0]);
+                    }
+                    if (method.getParameterCount() == 0) {
+                        switch (method.getName()) {
+                            case "findAll":
+                                return cards;
+                            case "aggregateCollectionStatistics":
+                                return statistics;
+                            case "findValuationGroups":
+                                return valuationGroups;
+                            case "findCommonValuationGroups":
+                                return commonValuationGroups;
+                            default:
+                                break;
+                        }
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Finds which of the requested card numbers belong to the given cards.
+     *
+     * @param cards       the cards held by the repository
+     * @param cardNumbers the requested card numbers
+     * @return the requested card numbers that are held
+     */
+    private static List<Integer> existingCardNumbers(List<Card> cards, Collection<?> cardNumbers) {
+        List<Integer> existing = new ArrayList<>();
+        for (Card card : cards) {
+            if (cardNumbers.contains(card.getCardNumber())) {
+                existing.add(card.getCardNumber());
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Computes the totals the statistics query would return for the given cards.
+     *
+     * @param cards the cards to aggregate
+     * @return the collection totals
+     */
+    private static CollectionStatisticsView aggregate(List<Card> cards) {
+        BigDecimal totalSpent = null;
+        long totalFoiled = 0;
+        long pricedCards = 0;
+        for (Card card : cards) {
+            if (card.getPurchasePrice() != null) {
+                pricedCards++;
+                totalSpent = totalSpent == null ? card.getPurchasePrice() : totalSpent.add(card.getPurchasePrice());
+            }
+            if (card.isFoiled()) {
+                totalFoiled++;
+            }
+        }
+
+        BigDecimal spent = totalSpent;
+        long priced = pricedCards;
+        Long foiled = cards.isEmpty() ? null : totalFoiled;
+        return new CollectionStatisticsView() {
+            @Override
+            public long getTotalCards() {
+                return cards.size();
+            }
+
+            @Override
+            public BigDecimal getTotalSpent() {
+                return spent;
+            }
+
+            @Override
+            public long getPricedCards() {
+                return priced;
+            }
+
+            @Override
+            public Long getTotalFoiled() {
+                return foiled;
+            }
+        };
+    }
+
+    /**
+     * Computes the rows the valuation queries would return for the given cards.
+     *
+     * @param cards  the cards to group
+     * @param common whether to build the common card rows, grouped by price, or the summed rows of the other rarities
+     * @return the grouped rows
+     */
+    private static List<ValuationGroupView> group(List<Card> cards, boolean common) {
+        Map<List<Object>, Group> groups = new HashMap<>();
+        for (Card card : cards) {
+            if (card.getPurchasePrice() == null || (card.getRarity() == CardRarity.COMMON) != common) {
+                continue;
+            }
+            List<Object> key = common
+                    ? List.of(card.getDateSetPublished(), card.getDatePurchased(), card.getPurchasePrice())
+                    : List.of(card.getRarity(), card.getDateSetPublished(), card.getDatePurchased());
+            Group group = groups.get(key);
+            if (group == null) {
+                groups.put(key, new Group(card));
+            } else {
+                group.cardCount++;
+                if (!common) {
+                    group.purchasePrice = group.purchasePrice.add(card.getPurchasePrice());
+                }
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Mutable valuation row used while grouping.
+     */
+    private static final class Group implements ValuationGroupView {
+        private final CardRarity rarity;
+        private final LocalDate dateSetPublished;
+        private final LocalDate datePurchased;
+        private BigDecimal purchasePrice;
+        private long cardCount = 1;
+
+        private Group(Card card) {
+            this.rarity = card.getRarity();
+            this.dateSetPublished = card.getDateSetPublished();
+            this.datePurchased = card.getDatePurchased();
+            this.purchasePrice = card.getPurchasePrice();
+        }
+
+        @Override
+        public CardRarity getRarity() {
+            return rarity;
+        }
+
+        @Override
+        public LocalDate getDateSetPublished() {
+            return dateSetPublished;
+        }
+
+        @Override
+        public LocalDate getDatePurchased() {
+            return datePurchased;
+        }
+
+        @Override
+        public BigDecimal getPurchasePrice() {
+            return purchasePrice;
+        }
+
+        @Override
+        public long getCardCount() {
+            return cardCount;
+        }
+    }
+}
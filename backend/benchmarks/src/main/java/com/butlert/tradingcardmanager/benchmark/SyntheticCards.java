@@ -0,0 +1,105 @@
+package com.butlert.tradingcardmanager.benchmark;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic cards and import lines for the benchmarks.
+ * <p>
+ * Card fields are drawn from small shared pools of names, dates and prices, so a collection of
+ * ten million cards only costs the card objects themselves and fits in a few hundred megabytes.
+ * The same seed always produces the same collection.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public final class SyntheticCards {
+
+    private static final String[] GAMES = {"FFTCG", "Magic", "Pokemon", "Yugioh"};
+    private static final String[] NAMES = {"Cloud Strife", "Sephiroth", "Tifa Lockhart", "Black Lotus",
+            "Shantotto", "Garland", "Exdeath", "Cloud of Darkness"};
+    private static final CardRarity[] RARITIES = CardRarity.values();
+    private static final long SEED = 3024L;
+
+    private static final LocalDate[] SET_DATES = new LocalDate[240];
+    private static final LocalDate[] PURCHASE_DATES = new LocalDate[3650];
+    private static final BigDecimal[] PRICES = new BigDecimal[5000];
+
+    static {
+        LocalDate firstSet = LocalDate.of(2005, 1, 1);
+        for (int i = 0; i < SET_DATES.length; i++) {
+            SET_DATES[i] = firstSet.plusMonths(i);
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < PURCHASE_DATES.length; i++) {
+            PURCHASE_DATES[i] = today.minusDays(i);
+        }
+        for (int i = 0; i < PRICES.length; i++) {
+            PRICES[i] = BigDecimal.valueOf(10 + i * 7L, 2);
+        }
+    }
+
+    private SyntheticCards() {
+        throw new UnsupportedOperationException("SyntheticCards is a utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Generates a collection of cards with card numbers {@code 1..size} wrapped into the valid range.
+     *
+     * @param size the number of cards
+     * @return the generated cards
+     */
+    public static List<Card> cards(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(card(random, i));
+        }
+        return cards;
+    }
+
+    /**
+     * Generates import lines in the file format understood by the card parser.
+     *
+     * @param size the number of lines
+     * @return the generated lines
+     */
+    public static String[] lines(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] lines = new String[size];
+        for (int i = 0; i < size; i++) {
+            Card card = card(random, i);
+            lines[i] = card.getCardNumber() + " - " + card.getCardGame() + " - " + card.getCardName()
+                    + " - " + card.getRarity().name() + " - " + card.getDatePurchased()
+                    + " - " + card.getDateSetPublished() + " - " + card.getPurchasePrice().toPlainString()
+                    + " - " + card.isFoiled();
+        }
+        return lines;
+    }
+
+    private static Card card(SplittableRandom random, int index) {
+        LocalDate setDate = SET_DATES[random.nextInt(SET_DATES.length)];
+        LocalDate purchaseDate = PURCHASE_DATES[random.nextInt(PURCHASE_DATES.length)];
+        if (purchaseDate.isBefore(setDate)) {
+            purchaseDate = setDate;
+        }
+        Card card = new Card(index % 999998 + 1,
+                GAMES[random.nextInt(GAMES.length)],
+                NAMES[random.nextInt(NAMES.length)],
+                RARITIES[random.nextInt(RARITIES.length)],
+                purchaseDate,
+                setDate,
+                PRICES[random.nextInt(PRICES.length)],
+                random.nextBoolean());
+        card.setId((long) index + 1);
+        return card;
+    }
+}
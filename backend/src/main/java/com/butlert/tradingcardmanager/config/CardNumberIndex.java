@@ -0,0 +1,151 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Creates the unique index on {@code card.card_number} in databases that do not have it yet.
+ * <p>
+ * Hibernate's schema update is told to leave unique constraints alone, since it would silently
+ * skip one that existing rows violate. Instead, every database is migrated here after its schema
+ * update: if the index is missing, duplicate card numbers are looked up first and reported with
+ * a {@link DuplicateCardNumbersException}, and only a clean table gets the index. On MySQL the
+ * index is built online, so reads and writes of the table continue while it is built.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public final class CardNumberIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardNumberIndex.class);
+
+    /**
+     * Name of the unique index, also declared on the {@link com.butlert.tradingcardmanager.model.Card} entity.
+     */
+    public static final String INDEX_NAME = "uk_card_card_number";
+
+    /**
+     * Largest number of duplicated card numbers listed in a report.
+     */
+    static final int MAX_REPORTED_DUPLICATES = 20;
+
+    private static final String DUPLICATES_SQL = "SELECT card_number, COUNT(*) FROM card "
+            + "GROUP BY card_number HAVING COUNT(*) > 1 ORDER BY card_number";
+
+    private CardNumberIndex() {
+    }
+
+    /**
+     * Creates the unique index on {@code card_number} unless it already exists.
+     *
+     * @param dataSource the database to migrate
+     * @return {@code true} if the index was created, {@code false} if it already existed or the table does not exist
+     * @throws DuplicateCardNumbersException if the table holds duplicate card numbers
+     * @throws IllegalStateException         if the database cannot be inspected or migrated
+     */
+    public static boolean ensure(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String table = cardTable(connection.getMetaData());
+            if (table == null || hasUniqueIndex(connection.getMetaData(), table)) {
+                return false;
+            }
+
+            Map<Integer, Long> duplicates = findDuplicates(connection);
+            if (!duplicates.isEmpty()) {
+                throw new DuplicateCardNumbersException(duplicates);
+            }
+
+            long start = System.nanoTime();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(createIndexSql(connection.getMetaData().getDatabaseProductName()));
+            }
+            logger.info("Created unique index {} on card.card_number in {} ms", INDEX_NAME,
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create the unique index on card_number: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Looks up card numbers stored more than once.
+     *
+     * @param dataSource the database to inspect
+     * @return the row count of every duplicated card number, at most {@value #MAX_REPORTED_DUPLICATES}
+     * entries in card number order; empty if the card table does not exist
+     * @throws IllegalStateException if the database cannot be queried
+     */
+    public static Map<Integer, Long> findDuplicates(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (cardTable(connection.getMetaData()) == null) {
+                return Map.of();
+            }
+            return findDuplicates(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to look up duplicate card numbers: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<Integer, Long> findDuplicates(Connection connection) throws SQLException {
+        Map<Integer, Long> duplicates = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(DUPLICATES_SQL)) {
+            statement.setMaxRows(MAX_REPORTED_DUPLICATES);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    duplicates.put(rows.getInt(1), rows.getLong(2));
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Returns the name of the card table as the database stores it, which differs in case between products.
+     */
+    private static String cardTable(DatabaseMetaData metaData) throws SQLException {
+        for (String candidate : new String[]{"card", "CARD"}) {
+            try (ResultSet tables = metaData.getTables(null, null, candidate, new String[]{"TABLE", "BASE TABLE"})) {
+                if (tables.next()) {
+                    return tables.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether a unique index covers exactly the {@code card_number} column, whatever its name.
+     */
+    private static boolean hasUniqueIndex(DatabaseMetaData metaData, String table) throws SQLException {
+        Map<String, StringJoiner> columns = new LinkedHashMap<>();
+        try (ResultSet indexes = metaData.getIndexInfo(null, null, table, true, false)) {
+            while (indexes.next()) {
+                String column = indexes.getString("COLUMN_NAME");
+                String index = indexes.getString("INDEX_NAME");
+                if (index != null && column != null) {
+                    columns.computeIfAbsent(index, key -> new StringJoiner(",")).add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columns.values().stream().anyMatch(indexColumns -> indexColumns.toString().equals("card_number"));
+    }
+
+    private static String createIndexSql(String databaseProduct) {
+        String sql = "CREATE UNIQUE INDEX " + INDEX_NAME + " ON card (card_number)";
+        return databaseProduct.toLowerCase(Locale.ROOT).contains("mysql") ? sql + " ALGORITHM=INPLACE LOCK=NONE" : sql;
+    }
+}
@@ -0,0 +1,46 @@
+package com.butlert.tradingcardmanager.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the unique index on {@code card_number} in the startup database.
+ * <p>
+ * Runs once the EntityManagerFactory has updated the schema and before the application accepts
+ * requests. Databases activated later, and shards, are migrated by
+ * {@link DataSourceSwitcher#prepareSchema(DataSource)}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class CardNumberIndexMigration {
+
+    private final DataSource startupDataSource;
+
+    /**
+     * Constructs a CardNumberIndexMigration.
+     *
+     * @param startupDataSource the database active on startup
+     */
+    public CardNumberIndexMigration(@Qualifier("h2DataSource") DataSource startupDataSource) {
+        this.startupDataSource = startupDataSource;
+    }
+
+    /**
+     * Creates the index if the startup database does not have it yet.
+     *
+     * @throws DuplicateCardNumbersException if the startup database holds duplicate card numbers
+     */
+    @PostConstruct
+    public void migrate() {
+        CardNumberIndex.ensure(startupDataSource);
+    }
+}
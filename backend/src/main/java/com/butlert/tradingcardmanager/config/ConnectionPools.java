@@ -0,0 +1,177 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates, inspects and retires the HikariCP connection pools behind {@link DynamicDataSource}.
+ * <p>
+ * Every routing target is a pool, so a transaction borrows an already open connection instead
+ * of opening a new physical connection. When a target is replaced, its old pool is drained:
+ * idle connections are closed at once, connections still in use are closed as they are returned,
+ * and the pool itself is closed once nothing is borrowed anymore or the drain timeout expires.
+ * </p>
+ * <p>
+ * The pools are not Spring beans, so Spring Boot does not bind their metrics. Each pool
+ * therefore publishes its {@code hikaricp.*} usage and wait time meters itself, tagged with its
+ * pool name, and removes them when it is closed.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public final class ConnectionPools {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPools.class);
+
+    /**
+     * Longest time a retired pool waits for borrowed connections before it is closed.
+     */
+    static final long DRAIN_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Interval at which a draining pool checks for borrowed connections.
+     */
+    private static final long DRAIN_POLL_MS = 100;
+
+    /**
+     * Sequence appended to pool names so that replaced pools can be told apart in logs.
+     */
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private ConnectionPools() {
+    }
+
+    /**
+     * Creates and starts a connection pool. The pool opens its first connection before
+     * returning, so unreachable databases and bad credentials fail here.
+     *
+     * @param key             the routing key the pool is created for (e.g., "h2" or "mysql")
+     * @param url             the JDBC url
+     * @param username        the database username
+     * @param password        the database password
+     * @param driverClassName the JDBC driver class, or {@code null} to let the driver manager pick it from the url
+     * @param settings        the pool size, timeout and validation settings
+     * @param meterRegistry   registry receiving the pool's usage and wait time meters
+     * @return the started pool
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public static HikariDataSource create(String key, String url, String username, String password,
+                                          String driverClassName, ConnectionPoolSettings settings,
+                                          MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(key + "-" + sequence.incrementAndGet());
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (driverClassName != null) {
+            config.setDriverClassName(driverClassName);
+        }
+        config.setMaximumPoolSize(settings.getMaximumPoolSize());
+        config.setMinimumIdle(settings.getMinimumIdle());
+        config.setConnectionTimeout(settings.getConnectionTimeoutMs());
+        config.setIdleTimeout(settings.getIdleTimeoutMs());
+        config.setMaxLifetime(settings.getMaxLifetimeMs());
+        config.setValidationTimeout(settings.getValidationTimeoutMs());
+        config.setKeepaliveTime(settings.getKeepaliveTimeMs());
+        if (settings.getConnectionTestQuery() != null && !settings.getConnectionTestQuery().isBlank()) {
+            config.setConnectionTestQuery(settings.getConnectionTestQuery());
+        }
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        HikariDataSource pool = new HikariDataSource(config);
+        logger.info("Started connection pool {} (max {}, min idle {})",
+                pool.getPoolName(), pool.getMaximumPoolSize(), pool.getMinimumIdle());
+        return pool;
+    }
+
+    /**
+     * Drains a data source that is no longer a routing target. Pools are drained in the
+     * background; other data sources are left alone.
+     *
+     * @param retired the data source that was replaced, may be {@code null}
+     */
+    public static void drain(DataSource retired) {
+        if (!(retired instanceof HikariDataSource pool) || pool.isClosed()) {
+            return;
+        }
+
+        pool.getHikariPoolMXBean().softEvictConnections();
+        Thread drainer = new Thread(() -> awaitIdleAndClose(pool, DRAIN_TIMEOUT_MS), "drain-" + pool.getPoolName());
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Waits until a pool has no borrowed connections or the timeout expires, then closes it.
+     *
+     * @param pool      the pool to close
+     * @param timeoutMs the longest time to wait for borrowed connections
+     */
+    static void awaitIdleAndClose(HikariDataSource pool, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            while (pool.getHikariPoolMXBean().getActiveConnections() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(DRAIN_POLL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int active = pool.getHikariPoolMXBean().getActiveConnections();
+        if (active > 0) {
+            logger.warn("Closing pool {} with {} connections still in use", pool.getPoolName(), active);
+        }
+        pool.close();
+        logger.info("Closed retired connection pool {}", pool.getPoolName());
+    }
+
+    /**
+     * Reports the state of the pools among the given routing targets.
+     *
+     * @param targets the resolved routing targets, keyed by routing key
+     * @return pool metrics keyed by routing key; targets that are not pools are skipped
+     */
+    public static Map<String, Map<String, Object>> metrics(Map<Object, DataSource> targets) {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        for (Map.Entry<Object, DataSource> entry : targets.entrySet()) {
+            if (entry.getValue() instanceof HikariDataSource pool && !pool.isClosed()) {
+                metrics.put(String.valueOf(entry.getKey()), metrics(pool));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Reports the connection counts and limits of one pool.
+     *
+     * @param pool the pool
+     * @return the pool name, connection counts and configured limits
+     */
+    static Map<String, Object> metrics(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolName", pool.getPoolName());
+        metrics.put("activeConnections", bean.getActiveConnections());
+        metrics.put("idleConnections", bean.getIdleConnections());
+        metrics.put("totalConnections", bean.getTotalConnections());
+        metrics.put("threadsAwaitingConnection", bean.getThreadsAwaitingConnection());
+        metrics.put("maximumPoolSize", pool.getMaximumPoolSize());
+        metrics.put("minimumIdle", pool.getMinimumIdle());
+        metrics.put("connectionTimeoutMs", pool.getConnectionTimeout());
+        return metrics;
+    }
+}
@@ -1,13 +1,12 @@
 package com.butlert.tradingcardmanager.config;
 
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
-import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
-import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
@@ -22,7 +21,7 @@ import java.util.Map;
  * </p>
  * <p>
  * It also defines the JPA {@link org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean}
- * and {@link org.springframework.transaction.PlatformTransactionManager} beans
+ * and {@link GatedJpaTransactionManager} beans
  * so that Spring Boot can manage persistence through the dynamic data source.
  * </p>
  *
@@ -46,35 +45,34 @@ public class DataSourceConfig {
     /**
      * Creates the default in-memory H2 datasource used when the application starts.
      * This allows the application to boot instantly without requiring external credentials.
+     * Connections are pooled with the default {@link ConnectionPoolSettings}.
      *
+     * @param meterRegistry registry receiving the pool metrics
      * @return the configured H2 {@link DataSource}
      */
     @Bean
-    public DataSource h2DataSource() {
-        DriverManagerDataSource ds = new DriverManagerDataSource();
-        ds.setUrl("jdbc:h2:mem:tradingcards;MODE=MYSQL;DB_CLOSE_DELAY=-1");
-        ds.setUsername("sa");
-        ds.setPassword("");
-        ds.setDriverClassName("org.h2.Driver");
-        return ds;
+    public DataSource h2DataSource(MeterRegistry meterRegistry) {
+        return ConnectionPools.create("h2", "jdbc:h2:mem:tradingcards;MODE=MYSQL;DB_CLOSE_DELAY=-1",
+                "sa", "", "org.h2.Driver", new ConnectionPoolSettings(), meterRegistry);
     }
 
     /**
      * Configures the dynamic routing data source.
      * Starts with the H2 data source and supports adding other sources (e.g., MySQL) at runtime.
      *
+     * @param meterRegistry registry receiving the connection acquisition timers and pool metrics
      * @return the configured {@link DynamicDataSource}
      */
     @Bean
     @Primary
-    public DynamicDataSource dynamicDataSource() {
+    public DynamicDataSource dynamicDataSource(MeterRegistry meterRegistry) {
         Map<Object, Object> targets = new HashMap<>();
-        targets.put("h2", h2DataSource());
+        targets.put("h2", h2DataSource(meterRegistry));
 
-        DynamicDataSource routing = new DynamicDataSource();
+        DynamicDataSource routing = new DynamicDataSource(meterRegistry);
         routing.setTargetDataSources(targets);
-        routing.setDefaultTargetDataSource(h2DataSource());
-        DynamicDataSource.setCurrentKey("h2");
+        routing.setDefaultTargetDataSource(h2DataSource(meterRegistry));
+        DynamicDataSource.setGlobalKey("h2");
         return routing;
     }
 
@@ -87,25 +85,39 @@ public class DataSourceConfig {
      */
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dynamicDataSource) {
-        LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
-        emf.setDataSource(dynamicDataSource);
-        emf.setPackagesToScan("com.butlert.tradingcardmanager.model");
-        emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
-
-        Map<String, Object> props = new HashMap<>();
-        props.put("hibernate.hbm2ddl.auto", "update");
-        emf.setJpaPropertyMap(props);
-        return emf;
+        return entityManagerFactoryBean(dynamicDataSource, "update");
     }
 
     /**
      * Configures the transaction manager to use the provided EntityManagerFactory.
+     * New transactions can be held back while the active database is switched.
      *
      * @param emf the entity manager factory
-     * @return the configured {@link PlatformTransactionManager}
+     * @return the configured {@link GatedJpaTransactionManager}
      */
     @Bean
-    public PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean emf) {
-        return new JpaTransactionManager(emf.getObject());
+    public GatedJpaTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean emf) {
+        return new GatedJpaTransactionManager(emf.getObject());
+    }
+
+    /**
+     * Creates an unstarted EntityManagerFactory bean for the card model.
+     *
+     * @param dataSource   the data source the factory connects to
+     * @param schemaAction the {@code hibernate.hbm2ddl.auto} action applied when the factory starts
+     * @return the configured {@link LocalContainerEntityManagerFactoryBean}
+     */
+    public static LocalContainerEntityManagerFactoryBean entityManagerFactoryBean(DataSource dataSource, String schemaAction) {
+        LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
+        emf.setDataSource(dataSource);
+        emf.setPackagesToScan("com.butlert.tradingcardmanager.model");
+        emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("hibernate.hbm2ddl.auto", schemaAction);
+        // CardNumberIndex creates the unique index once it has checked the table for duplicates
+        props.put("hibernate.schema_update.unique_constraint_strategy", "SKIP");
+        emf.setJpaPropertyMap(props);
+        return emf;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.butlert.tradingcardmanager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs every request in a routing scope of its own.
+ * <p>
+ * The request starts without a key of its own, so it routes by the global key, and whatever
+ * routing state it leaves behind is discarded when it ends. A key set by one request therefore
+ * never reaches the next request served by the same pooled thread. Async and error dispatches
+ * are scoped as well, since they may run on another container thread.
+ * </p>
+ * <p>
+ * The global key is deliberately not pinned per request: transactions held back during a
+ * database switch must start on the new database ({@link DataSourceSwitcher}).
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourceRoutingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (DynamicDataSource.Scope scope = DynamicDataSource.withKey(null)) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Application event published after the active database has been switched at runtime.
+ * <p>
+ * Components that keep state derived from the database, such as in-memory aggregates,
+ * listen for this event to discard and rebuild that state from the new database.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class DataSourceSwitchedEvent extends ApplicationEvent {
+
+    private final String dataSourceKey;
+
+    /**
+     * Constructs a DataSourceSwitchedEvent.
+     *
+     * @param source        the component that performed the switch
+     * @param dataSourceKey the routing key of the newly active data source (e.g., "mysql")
+     */
+    public DataSourceSwitchedEvent(Object source, String dataSourceKey) {
+        super(source);
+        this.dataSourceKey = dataSourceKey;
+    }
+
+    /**
+     * Returns the routing key of the newly active data source.
+     *
+     * @return the data source key
+     */
+    public String getDataSourceKey() {
+        return dataSourceKey;
+    }
+}
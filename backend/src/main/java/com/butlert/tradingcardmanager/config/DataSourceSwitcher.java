@@ -0,0 +1,275 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Switches the active database at runtime without failing requests that run during the switch.
+ * <p>
+ * The switch happens in three phases:
+ * </p>
+ * <ol>
+ *     <li>The new pools are warmed up, the replica lag is measured and the schema is updated while
+ *     traffic still runs on the old database. A database whose cards share card numbers is refused
+ *     here, before the unique index on {@code card_number} is created.</li>
+ *     <li>New transactions are held back and the transactions in flight are drained. The routing
+ *     targets, the replica set, the global routing key and the EntityManagerFactory are then
+ *     replaced together, and a {@link DataSourceSwitchingEvent} marks the state derived from
+ *     the old database stale before the held back transactions start on the new database. Only
+ *     this phase pauses traffic.</li>
+ *     <li>The replaced EntityManagerFactory is closed and the replaced pools are drained in the background.</li>
+ * </ol>
+ * <p>
+ * If the transactions in flight do not finish in time, or the new EntityManagerFactory cannot be
+ * built, the switch is abandoned and the old database stays active.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class DataSourceSwitcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceSwitcher.class);
+
+    /**
+     * Longest time a switch waits for transactions in flight before it is abandoned.
+     */
+    static final long DRAIN_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final DynamicDataSource routingDs;
+    private final LocalContainerEntityManagerFactoryBean emfBean;
+    private final GatedJpaTransactionManager transactionManager;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a DataSourceSwitcher.
+     *
+     * @param dynamicDataSource  the dynamic data source used for routing
+     * @param emfBean            the JPA entity manager factory bean rebuilt for the new database
+     * @param transactionManager the transaction manager holding back transactions during the switch
+     * @param replicaLagMonitor  the monitor measuring the lag of new replicas
+     * @param eventPublisher     publishes the {@link DataSourceSwitchingEvent} during the pause
+     */
+    public DataSourceSwitcher(DataSource dynamicDataSource,
+                              LocalContainerEntityManagerFactoryBean emfBean,
+                              GatedJpaTransactionManager transactionManager,
+                              ReplicaLagMonitor replicaLagMonitor,
+                              ApplicationEventPublisher eventPublisher) {
+        this.routingDs = (DynamicDataSource) dynamicDataSource;
+        this.emfBean = emfBean;
+        this.transactionManager = transactionManager;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Makes the given pool the active database under the given routing key, without replicas.
+     *
+     * @param key    the routing key of the new database (e.g., "mysql")
+     * @param target the started pool of the new database
+     * @return the duration of each phase of the switch
+     * @throws SQLException          if the new pool cannot hand out connections
+     * @throws InterruptedException  if the thread is interrupted while draining transactions
+     * @throws IllegalStateException if the transactions in flight do not finish in time
+     */
+    public SwitchReport switchTo(String key, HikariDataSource target) throws SQLException, InterruptedException {
+        return switchTo(key, target, null);
+    }
+
+    /**
+     * Makes the given pool the active database under the given routing key, serving read-only
+     * transactions from the given replicas.
+     *
+     * @param key      the routing key of the new database (e.g., "mysql")
+     * @param target   the started pool of the new database
+     * @param replicas the started replica pools of the new database, or {@code null} for none
+     * @return the duration of each phase of the switch
+     * @throws SQLException          if the new pool cannot hand out connections
+     * @throws InterruptedException  if the thread is interrupted while draining transactions
+     * @throws IllegalStateException if the transactions in flight do not finish in time
+     * @throws DuplicateCardNumbersException if the new database holds duplicate card numbers
+     */
+    public synchronized SwitchReport switchTo(String key, HikariDataSource target, ReplicaSet replicas)
+            throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        warm(target);
+        if (replicas != null) {
+            for (DataSource replica : replicas.getDataSources().values()) {
+                warm(replica);
+            }
+            replicaLagMonitor.refresh(replicas);
+        }
+        prepareSchema(target);
+        long prepared = System.nanoTime();
+
+        if (!transactionManager.quiesce(DRAIN_TIMEOUT_MS)) {
+            throw new IllegalStateException("Transactions still running after " + DRAIN_TIMEOUT_MS
+                    + " ms, the database was not switched");
+        }
+        long drained = System.nanoTime();
+
+        EntityManagerFactory retiredEmf = emfBean.getNativeEntityManagerFactory();
+        String previousKey = DynamicDataSource.getGlobalKey();
+        DataSource previous = routingDs.putTarget(key, target);
+        ReplicaSet previousReplicas = routingDs.putReplicas(key, replicas);
+        try {
+            DynamicDataSource.setGlobalKey(key);
+            rebuildEntityManagerFactory();
+            eventPublisher.publishEvent(new DataSourceSwitchingEvent(this, key));
+        } catch (RuntimeException e) {
+            if (previous != null) {
+                routingDs.putTarget(key, previous);
+            } else {
+                routingDs.removeTarget(key);
+            }
+            routingDs.putReplicas(key, previousReplicas);
+            DynamicDataSource.setGlobalKey(previousKey);
+            throw e;
+        } finally {
+            transactionManager.resume();
+        }
+        long resumed = System.nanoTime();
+
+        if (retiredEmf != null && retiredEmf != emfBean.getNativeEntityManagerFactory()) {
+            retiredEmf.close();
+        }
+        ConnectionPools.drain(previous);
+        if (previousReplicas != null) {
+            previousReplicas.getDataSources().values().forEach(ConnectionPools::drain);
+        }
+
+        SwitchReport report = new SwitchReport(key, millis(prepared - start), millis(drained - prepared), millis(resumed - prepared));
+        logger.info("Switched database to {}: prepared in {} ms, transactions paused for {} ms ({} ms draining)",
+                key, report.getPreparationMs(), report.getPauseMs(), report.getDrainMs());
+        return report;
+    }
+
+    /**
+     * Opens as many connections as the pool keeps idle, so the first requests after the
+     * switch do not pay for connection setup.
+     *
+     * @param target the pool to warm up; a data source that is not a pool is checked with one connection
+     * @throws SQLException if a connection cannot be opened
+     */
+    private static void warm(DataSource target) throws SQLException {
+        int count = 1;
+        int validationTimeoutSeconds = 5;
+        if (target instanceof HikariDataSource pool) {
+            count = Math.max(1, Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+            validationTimeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(pool.getValidationTimeout()));
+        }
+        List<Connection> connections = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Connection connection = target.getConnection();
+                connections.add(connection);
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Connection to the new database is not valid");
+                }
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Updates the schema of the new database with a short-lived EntityManagerFactory, so the
+     * factory built during the pause does not need to touch the schema, then creates the unique
+     * index on {@code card_number} if it is missing.
+     *
+     * @param target the pool of the new database or shard
+     * @throws DuplicateCardNumbersException if the database holds duplicate card numbers
+     */
+    static void prepareSchema(DataSource target) {
+        LocalContainerEntityManagerFactoryBean schemaEmf = DataSourceConfig.entityManagerFactoryBean(target, "update");
+        schemaEmf.afterPropertiesSet();
+        schemaEmf.destroy();
+        CardNumberIndex.ensure(target);
+    }
+
+    /**
+     * Rebuilds the application's EntityManagerFactory against the current routing target,
+     * skipping the schema update that {@link #prepareSchema(DataSource)} already applied.
+     */
+    private void rebuildEntityManagerFactory() {
+        Map<String, Object> properties = emfBean.getJpaPropertyMap();
+        Object schemaAction = properties.put("hibernate.hbm2ddl.auto", "none");
+        try {
+            emfBean.setDataSource(routingDs);
+            emfBean.afterPropertiesSet();
+        } finally {
+            if (schemaAction != null) {
+                properties.put("hibernate.hbm2ddl.auto", schemaAction);
+            } else {
+                properties.remove("hibernate.hbm2ddl.auto");
+            }
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Duration of each phase of a database switch.
+     */
+    public static final class SwitchReport {
+        private final String dataSourceKey;
+        private final long preparationMs;
+        private final long drainMs;
+        private final long pauseMs;
+
+        private SwitchReport(String dataSourceKey, long preparationMs, long drainMs, long pauseMs) {
+            this.dataSourceKey = dataSourceKey;
+            this.preparationMs = preparationMs;
+            this.drainMs = drainMs;
+            this.pauseMs = pauseMs;
+        }
+
+        /**
+         * @return the routing key of the new database
+         */
+        public String getDataSourceKey() {
+            return dataSourceKey;
+        }
+
+        /**
+         * @return the time spent warming the pool and updating the schema, before traffic was paused
+         */
+        public long getPreparationMs() {
+            return preparationMs;
+        }
+
+        /**
+         * @return the time spent waiting for transactions in flight, part of the pause
+         */
+        public long getDrainMs() {
+            return drainMs;
+        }
+
+        /**
+         * @return the total time new transactions were held back
+         */
+        public long getPauseMs() {
+            return pauseMs;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Application event published by {@link DataSourceSwitcher} while a switch holds back new
+ * transactions, after the new database has replaced the old one and before traffic resumes.
+ * <p>
+ * Components that keep state derived from the database mark it stale here, so no request served
+ * after the switch reads state built from the old database. Listeners run on the switching
+ * thread inside the pause and must not query the database; the state is rebuilt once the
+ * {@link DataSourceSwitchedEvent} follows.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class DataSourceSwitchingEvent extends ApplicationEvent {
+
+    private final String dataSourceKey;
+
+    /**
+     * Constructs a DataSourceSwitchingEvent.
+     *
+     * @param source        the component performing the switch
+     * @param dataSourceKey the routing key of the data source being activated (e.g., "mysql")
+     */
+    public DataSourceSwitchingEvent(Object source, String dataSourceKey) {
+        super(source);
+        this.dataSourceKey = dataSourceKey;
+    }
+
+    /**
+     * Returns the routing key of the data source being activated.
+     *
+     * @return the data source key
+     */
+    public String getDataSourceKey() {
+        return dataSourceKey;
+    }
+}
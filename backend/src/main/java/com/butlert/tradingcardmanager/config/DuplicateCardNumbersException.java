@@ -0,0 +1,41 @@
+package com.butlert.tradingcardmanager.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when the unique index on {@code card.card_number} cannot be created because existing
+ * rows share card numbers. The duplicates must be resolved before the database can be used.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class DuplicateCardNumbersException extends RuntimeException {
+
+    private final Map<Integer, Long> duplicates;
+
+    /**
+     * Constructs a DuplicateCardNumbersException.
+     *
+     * @param duplicates the row count of every duplicated card number found
+     */
+    public DuplicateCardNumbersException(Map<Integer, Long> duplicates) {
+        super("Duplicate card numbers must be resolved before the unique index on card_number can be created: "
+                + duplicates.entrySet().stream()
+                .map(entry -> entry.getKey() + " (" + entry.getValue() + " rows)")
+                .collect(Collectors.joining(", ")));
+        this.duplicates = Collections.unmodifiableMap(new LinkedHashMap<>(duplicates));
+    }
+
+    /**
+     * Returns the duplicated card numbers.
+     *
+     * @return the row count of every duplicated card number found
+     */
+    public Map<Integer, Long> getDuplicates() {
+        return duplicates;
+    }
+}
@@ -1,12 +1,47 @@
 package com.butlert.tradingcardmanager.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Dynamic data source that allows runtime switching between multiple databases.
  * <p>
  * Extends {@link org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource}
  * and uses a thread-local key to route database calls to either H2 or MySQL based on the current context.
+ * Threads without a key of their own use the global key, which selects the active database.
+ * Keys are held per thread, virtual threads included, so with {@code spring.threads.virtual.enabled}
+ * each request still routes on its own; work handed to another thread does not inherit the key.
+ * </p>
+ * <p>
+ * Routing state is changed through a {@link Scope}, which restores the previous state of the
+ * thread when closed, so a key cannot outlive the work it was set for. Every request runs in a
+ * scope of its own ({@link DataSourceRoutingFilter}), and tasks handed to Spring's executors
+ * run in a scope carrying the submitting thread's key ({@link RoutingContextTaskDecorator}).
+ * {@code ScopedValue} would express this directly, but it is still a preview API in Java 21.
+ * </p>
+ * <p>
+ * A primary can have a {@link ReplicaSet}. Read-only transactions of a thread without a key of
+ * its own are routed to one of the replicas of the active primary; all other work goes to the
+ * primary. The transaction manager marks read-only transactions with {@link #setReadOnly(boolean)}
+ * before their connection is acquired.
+ * </p>
+ * <p>
+ * The routing targets are held in an immutable map that is replaced as a whole, so lookups never
+ * see a partially rebuilt map while a target is being added.
+ * </p>
+ * <p>
+ * The time taken to acquire each connection is recorded by the timer
+ * {@value #CONNECTION_ACQUIRE_METRIC}, tagged with the routing key it was acquired for.
  * </p>
  *
  * <p><b>Author:</b> Timothy Butler<br>
@@ -15,27 +50,123 @@ import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
  */
 public class DynamicDataSource extends AbstractRoutingDataSource {
 
+    /**
+     * Name of the timer recording connection acquisition.
+     */
+    public static final String CONNECTION_ACQUIRE_METRIC = "tradingcards.datasource.connection.acquire";
+
     private static final ThreadLocal<String> threadKey = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> readOnly = new ThreadLocal<>();
     private static volatile String globalKey = "h2";
 
+    /**
+     * Current routing targets, replaced atomically on every change.
+     */
+    private volatile Map<Object, DataSource> routes = Map.of();
+
+    /**
+     * Replica sets keyed by the routing key of their primary, replaced atomically on every change.
+     */
+    private volatile Map<String, ReplicaSet> replicaSets = Map.of();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Connection acquisition timers keyed by routing key.
+     */
+    private final Map<Object, Timer> acquireTimers = new ConcurrentHashMap<>();
+
     /**
      * Default constructor for DynamicDataSource.
-     * Initializes the routing logic using the built-in AbstractRoutingDataSource behavior.
+     * Initializes the routing logic using the built-in AbstractRoutingDataSource behavior and
+     * records connection acquisition in the global meter registry.
      */
     public DynamicDataSource() {
+        this(Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructs a DynamicDataSource recording connection acquisition in the given registry.
+     *
+     * @param meterRegistry registry receiving the connection acquisition timers
+     */
+    public DynamicDataSource(MeterRegistry meterRegistry) {
         super();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Routes the current thread by the given key until the returned scope is closed. The thread's
+     * read-only mark is cleared for the scope as well. Closing the scope, on the same thread,
+     * restores the key and mark the thread had before.
+     *
+     * @param key the data source key, or {@code null} to route by the global key
+     * @return the scope, to be closed when the work is done
+     */
+    public static Scope withKey(String key) {
+        Scope scope = new Scope(threadKey.get(), readOnly.get());
+        if (key != null) {
+            threadKey.set(key);
+        } else {
+            threadKey.remove();
+        }
+        readOnly.remove();
+        return scope;
     }
 
     /**
-     * Sets the current context-specific lookup key for selecting the data source.
+     * Sets the lookup key used by the current thread only, overriding the global key.
+     * The key stays set until it is cleared; prefer {@link #withKey(String)}.
      *
      * @param key the data source key (e.g., "h2" or "mysql")
      */
     public static void setCurrentKey(String key) {
         threadKey.set(key);
+    }
+
+    /**
+     * Returns the lookup key set for the current thread.
+     *
+     * @return the thread's own data source key, or {@code null} if it uses the global key
+     */
+    public static String getCurrentKey() {
+        return threadKey.get();
+    }
+
+    /**
+     * Sets the lookup key used by every thread that has no key of its own.
+     *
+     * @param key the data source key (e.g., "h2" or "mysql")
+     */
+    public static void setGlobalKey(String key) {
         globalKey = key;
     }
 
+    /**
+     * Returns the lookup key used by every thread that has no key of its own.
+     *
+     * @return the global data source key
+     */
+    public static String getGlobalKey() {
+        return globalKey;
+    }
+
+    /**
+     * Marks whether the current thread runs a read-only transaction.
+     *
+     * @param readOnlyTransaction {@code true} to route the thread's work to a replica
+     * @return the previous mark of the thread
+     */
+    public static boolean setReadOnly(boolean readOnlyTransaction) {
+        boolean previous = Boolean.TRUE.equals(readOnly.get());
+        if (readOnlyTransaction) {
+            readOnly.set(Boolean.TRUE);
+        } else {
+            readOnly.remove();
+        }
+        return previous;
+    }
+
     /**
      * Clears the thread-local key for the current thread.
      */
@@ -43,15 +174,202 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
         threadKey.remove();
     }
 
+    /**
+     * Resolves the configured target data sources and publishes them as the routing table.
+     */
+    @Override
+    public synchronized void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        routes = Map.copyOf(super.getResolvedDataSources());
+    }
+
+    /**
+     * Adds or replaces a single routing target without disturbing lookups of the other targets.
+     *
+     * @param key        the data source key
+     * @param dataSource the target data source
+     * @return the data source previously registered under the key, or {@code null}
+     */
+    public synchronized DataSource putTarget(String key, DataSource dataSource) {
+        Map<Object, DataSource> next = new HashMap<>(routes);
+        DataSource previous = next.put(key, dataSource);
+        routes = Map.copyOf(next);
+        return previous;
+    }
+
+    /**
+     * Removes a routing target.
+     *
+     * @param key the data source key
+     * @return the removed data source, or {@code null} if none was registered
+     */
+    public synchronized DataSource removeTarget(String key) {
+        Map<Object, DataSource> next = new HashMap<>(routes);
+        DataSource removed = next.remove(key);
+        routes = Map.copyOf(next);
+        return removed;
+    }
+
+    /**
+     * Replaces the replica set of a primary. The replicas are added to the routing targets
+     * and the replicas of the previous set are removed from them.
+     *
+     * @param primaryKey the routing key of the primary
+     * @param replicas   the new replica set, or {@code null} to remove the replicas
+     * @return the previous replica set of the primary, or {@code null}
+     */
+    public synchronized ReplicaSet putReplicas(String primaryKey, ReplicaSet replicas) {
+        Map<String, ReplicaSet> nextSets = new HashMap<>(replicaSets);
+        ReplicaSet previous = replicas != null ? nextSets.put(primaryKey, replicas) : nextSets.remove(primaryKey);
+
+        Map<Object, DataSource> nextRoutes = new HashMap<>(routes);
+        if (previous != null) {
+            previous.getDataSources().keySet().forEach(nextRoutes::remove);
+        }
+        if (replicas != null) {
+            nextRoutes.putAll(replicas.getDataSources());
+        }
+
+        routes = Map.copyOf(nextRoutes);
+        replicaSets = Map.copyOf(nextSets);
+        return previous;
+    }
+
+    /**
+     * Returns the replica sets.
+     *
+     * @return an immutable map of the replica sets, keyed by the routing key of their primary
+     */
+    public Map<String, ReplicaSet> getReplicaSets() {
+        return replicaSets;
+    }
+
+    /**
+     * Returns the current routing targets.
+     *
+     * @return an immutable map of the routing targets, keyed by data source key
+     */
+    @Override
+    public Map<Object, DataSource> getResolvedDataSources() {
+        return routes;
+    }
+
     /**
      * Determines which data source key to use for the current operation.
      *
-     * @return the current data source key, falling back to the global key if none is set
+     * @return the current data source key, falling back to the global key if none is set,
+     * or to a replica of the global key's primary in a read-only transaction
      */
     @Override
     protected Object determineCurrentLookupKey() {
         String key = threadKey.get();
-        return (key != null) ? key : globalKey;
+        if (key != null) {
+            return key;
+        }
+
+        String primary = globalKey;
+        if (Boolean.TRUE.equals(readOnly.get())) {
+            ReplicaSet replicas = replicaSets.get(primary);
+            String replica = replicas != null ? replicas.choose() : null;
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return primary;
+    }
+
+    /**
+     * Looks up the target data source of the current key in the routing table.
+     *
+     * @return the target data source
+     * @throws IllegalStateException if no target is registered for the current key
+     */
+    @Override
+    protected DataSource determineTargetDataSource() {
+        return targetOf(determineCurrentLookupKey());
     }
-}
 
+    /**
+     * Acquires a connection from the target of the current key and records how long it took.
+     *
+     * @return the connection
+     * @throws SQLException if the target cannot provide a connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = targetOf(key);
+        long start = System.nanoTime();
+        try {
+            return target.getConnection();
+        } finally {
+            acquireTimer(key).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Acquires a connection for the given user from the target of the current key and records
+     * how long it took.
+     *
+     * @param username the database user
+     * @param password the user's password
+     * @return the connection
+     * @throws SQLException if the target cannot provide a connection
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = targetOf(key);
+        long start = System.nanoTime();
+        try {
+            return target.getConnection(username, password);
+        } finally {
+            acquireTimer(key).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Routing state of a thread before a {@link #withKey(String)} call, put back by {@link #close()}.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String previousKey;
+        private final Boolean previousReadOnly;
+
+        private Scope(String previousKey, Boolean previousReadOnly) {
+            this.previousKey = previousKey;
+            this.previousReadOnly = previousReadOnly;
+        }
+
+        /**
+         * Restores the routing state the thread had when the scope was opened.
+         */
+        @Override
+        public void close() {
+            if (previousKey != null) {
+                threadKey.set(previousKey);
+            } else {
+                threadKey.remove();
+            }
+            if (previousReadOnly != null) {
+                readOnly.set(previousReadOnly);
+            } else {
+                readOnly.remove();
+            }
+        }
+    }
+
+    private DataSource targetOf(Object key) {
+        DataSource target = routes.get(key);
+        if (target == null) {
+            throw new IllegalStateException("Cannot determine target DataSource for lookup key [" + key + "]");
+        }
+        return target;
+    }
+
+    private Timer acquireTimer(Object key) {
+        return acquireTimers.computeIfAbsent(key, k -> Timer.builder(CONNECTION_ACQUIRE_METRIC)
+                .description("Time taken to acquire a connection from the routed data source")
+                .tag("datasource", String.valueOf(k))
+                .register(meterRegistry));
+    }
+}
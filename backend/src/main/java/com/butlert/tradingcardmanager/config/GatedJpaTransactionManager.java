@@ -0,0 +1,132 @@
+package com.butlert.tradingcardmanager.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * JPA transaction manager that can hold back new transactions while the database is switched.
+ * <p>
+ * Every new transaction holds a shared lock from begin until cleanup. {@link #quiesce(long)}
+ * requests the exclusive lock: transactions that have not started yet wait, transactions in
+ * flight finish normally, and the call returns once none are left. {@link #resume()} lets the
+ * waiting transactions start. The lock is fair, so waiting transactions cannot starve a switch,
+ * and reentrant, so a nested transaction of a running one never waits.
+ * </p>
+ * <p>
+ * Before a transaction acquires its connection, its read-only flag is passed to
+ * {@link DynamicDataSource#setReadOnly(boolean)}, so read-only transactions are served by a
+ * replica. The previous flag is restored on cleanup, which keeps suspended transactions intact.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class GatedJpaTransactionManager extends JpaTransactionManager {
+
+    /**
+     * Longest time a new transaction waits for a switch to finish before it fails.
+     */
+    static final long BEGIN_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock(true);
+
+    /**
+     * Read-only flags of the transactions suspended on the current thread.
+     */
+    private final ThreadLocal<Deque<Boolean>> suspendedReadOnly = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Constructs a GatedJpaTransactionManager for the given EntityManagerFactory.
+     *
+     * @param emf the entity manager factory
+     */
+    public GatedJpaTransactionManager(EntityManagerFactory emf) {
+        super(emf);
+    }
+
+    /**
+     * Waits for the gate to be open, then begins the transaction on the primary or, if it is
+     * read-only, on a replica.
+     */
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        try {
+            if (!gate.readLock().tryLock(BEGIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new CannotCreateTransactionException("Timed out waiting for a database switch to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotCreateTransactionException("Interrupted while waiting for a database switch to finish", e);
+        }
+
+        suspendedReadOnly.get().push(DynamicDataSource.setReadOnly(definition.isReadOnly()));
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            restoreReadOnly();
+            gate.readLock().unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Cleans up the transaction and releases its hold on the gate.
+     */
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            restoreReadOnly();
+            gate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restores the read-only flag of the transaction that was active before the one ending.
+     */
+    private void restoreReadOnly() {
+        Deque<Boolean> flags = suspendedReadOnly.get();
+        DynamicDataSource.setReadOnly(Boolean.TRUE.equals(flags.poll()));
+        if (flags.isEmpty()) {
+            suspendedReadOnly.remove();
+        }
+    }
+
+    /**
+     * Closes the gate to new transactions and waits for the transactions in flight to finish.
+     * If they do not finish in time, the gate is opened again.
+     *
+     * @param timeoutMs the longest time to wait for transactions in flight
+     * @return {@code true} if the gate is closed and no transaction is in flight,
+     * {@code false} if the timeout expired
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean quiesce(long timeoutMs) throws InterruptedException {
+        return gate.writeLock().tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the gate closed by {@link #quiesce(long)}, letting waiting transactions begin.
+     */
+    public void resume() {
+        gate.writeLock().unlock();
+    }
+
+    /**
+     * Returns the number of transactions currently holding the gate.
+     *
+     * @return the number of transactions in flight
+     */
+    public int getTransactionsInFlight() {
+        return gate.getReadLockCount();
+    }
+}
@@ -0,0 +1,92 @@
+package com.butlert.tradingcardmanager.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically measures the lag of every read replica registered in the {@link DynamicDataSource},
+ * so that lagging or unreachable replicas stop receiving reads until they catch up.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    /**
+     * Interval between two lag measurements of the same replica.
+     */
+    static final long PROBE_INTERVAL_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final DynamicDataSource routingDs;
+    private final ReplicaLagProbe probe;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a ReplicaLagMonitor for MySQL replicas.
+     *
+     * @param dynamicDataSource the dynamic data source holding the replica sets
+     */
+    @Autowired
+    public ReplicaLagMonitor(DataSource dynamicDataSource) {
+        this(dynamicDataSource, ReplicaLagProbe.MYSQL);
+    }
+
+    /**
+     * Constructs a ReplicaLagMonitor with a custom probe.
+     *
+     * @param dynamicDataSource the dynamic data source holding the replica sets
+     * @param probe             the probe measuring the lag of a replica
+     */
+    public ReplicaLagMonitor(DataSource dynamicDataSource, ReplicaLagProbe probe) {
+        this.routingDs = (DynamicDataSource) dynamicDataSource;
+        this.probe = probe;
+    }
+
+    /**
+     * Starts the periodic measurements.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshAll, PROBE_INTERVAL_MS, PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic measurements.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Measures the lag of the replicas of one primary right away.
+     *
+     * @param replicas the replica set to measure
+     */
+    public void refresh(ReplicaSet replicas) {
+        replicas.refresh(probe);
+    }
+
+    /**
+     * Measures the lag of every registered replica.
+     */
+    void refreshAll() {
+        routingDs.getReplicaSets().values().forEach(this::refresh);
+    }
+}
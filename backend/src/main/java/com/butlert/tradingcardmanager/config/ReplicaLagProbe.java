@@ -0,0 +1,62 @@
+package com.butlert.tradingcardmanager.config;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Measures how far a read replica lags behind its primary.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    /**
+     * Probe for MySQL replicas. Reads {@code Seconds_Behind_Source} from {@code SHOW REPLICA STATUS},
+     * falling back to {@code Seconds_Behind_Master} from {@code SHOW SLAVE STATUS} on servers older
+     * than MySQL 8.0.22. A server that is not configured as a replica reports no lag.
+     */
+    ReplicaLagProbe MYSQL = dataSource -> {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return secondsBehind(status, "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                try (ResultSet status = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return secondsBehind(status, "Seconds_Behind_Master");
+                }
+            }
+        }
+    };
+
+    /**
+     * Returns the replication lag of a replica.
+     *
+     * @param dataSource the replica
+     * @return the lag in seconds, or {@code null} if replication is not running
+     * @throws SQLException if the replica cannot be reached
+     */
+    Long lagSeconds(DataSource dataSource) throws SQLException;
+
+    /**
+     * Reads the lag column of a replica status result.
+     *
+     * @param status the replica status rows
+     * @param column the lag column
+     * @return the lag in seconds, {@code 0} if the server is not a replica,
+     * or {@code null} if replication is not running
+     * @throws SQLException if the result cannot be read
+     */
+    private static Long secondsBehind(ResultSet status, String column) throws SQLException {
+        if (!status.next()) {
+            return 0L;
+        }
+        long lag = status.getLong(column);
+        return status.wasNull() ? null : lag;
+    }
+}
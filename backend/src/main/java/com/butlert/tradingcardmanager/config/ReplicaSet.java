@@ -0,0 +1,141 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas of one primary database.
+ * <p>
+ * Read-only transactions are spread over the replicas round-robin. A replica is skipped while it
+ * cannot be reached, while its replication is stopped, or while it lags more than the allowed
+ * number of seconds behind the primary. When no replica qualifies, reads go to the primary.
+ * Lag is unknown until the first {@link #refresh(ReplicaLagProbe)}, so new replicas receive no
+ * reads before they have been probed.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ReplicaSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs a ReplicaSet.
+     *
+     * @param replicas      the replica data sources keyed by their routing key, in balancing order
+     * @param maxLagSeconds the largest lag at which a replica still receives reads
+     */
+    public ReplicaSet(Map<String, ? extends DataSource> replicas, long maxLagSeconds) {
+        replicas.forEach((key, dataSource) -> this.replicas.add(new Replica(key, dataSource)));
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Picks the replica for the next read-only transaction.
+     *
+     * @return the routing key of the chosen replica, or {@code null} if no replica is available
+     */
+    public String choose() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable(maxLagSeconds)) {
+                return replica.key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Measures the lag of every replica.
+     *
+     * @param probe the probe measuring the lag
+     */
+    public void refresh(ReplicaLagProbe probe) {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.isAvailable(maxLagSeconds);
+            try {
+                replica.lagSeconds = probe.lagSeconds(replica.dataSource);
+                replica.reachable = true;
+            } catch (SQLException | RuntimeException e) {
+                replica.reachable = false;
+                logger.debug("Replica {} could not be probed", replica.key, e);
+            }
+
+            boolean available = replica.isAvailable(maxLagSeconds);
+            if (wasAvailable != available) {
+                logger.info("Replica {} is now {} (reachable: {}, lag: {} s)", replica.key,
+                        available ? "receiving reads" : "skipped", replica.reachable, replica.lagSeconds);
+            }
+        }
+    }
+
+    /**
+     * Returns the replica data sources.
+     *
+     * @return the data sources keyed by routing key, in balancing order
+     */
+    public Map<String, DataSource> getDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            dataSources.put(replica.key, replica.dataSource);
+        }
+        return dataSources;
+    }
+
+    /**
+     * Reports the lag and availability of every replica.
+     *
+     * @return one entry per replica
+     */
+    public List<Map<String, Object>> status() {
+        List<Map<String, Object>> status = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", replica.key);
+            entry.put("reachable", replica.reachable);
+            entry.put("lagSeconds", replica.lagSeconds);
+            entry.put("available", replica.isAvailable(maxLagSeconds));
+            status.add(entry);
+        }
+        return status;
+    }
+
+    /**
+     * A single replica with its last measured state.
+     */
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean reachable = true;
+        private volatile Long lagSeconds;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable(long maxLagSeconds) {
+            Long lag = lagSeconds;
+            return reachable && lag != null && lag <= maxLagSeconds;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the submitting thread's routing key to tasks run on another thread.
+ * <p>
+ * The task runs in a {@link DynamicDataSource.Scope} with the key the submitting thread had, or
+ * with no key of its own if it had none, and the executor thread's previous state is restored
+ * afterwards. Pooled executor threads thus never keep a key from an earlier task. Spring Boot
+ * applies this decorator to its task executors, which also run async request processing; the
+ * import job executor applies it itself.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class RoutingContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        String key = DynamicDataSource.getCurrentKey();
+        return () -> {
+            try (DynamicDataSource.Scope scope = DynamicDataSource.withKey(key)) {
+                runnable.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps card numbers to the shard that stores them.
+ * <p>
+ * Each shard is a separate database holding the full schema and a subset of the cards, registered
+ * in the {@link DynamicDataSource} under its shard key. With the {@link Strategy#HASH} strategy a
+ * card number is hashed onto one of the shards, which spreads cards evenly. With the
+ * {@link Strategy#RANGE} strategy shard {@code i} holds the card numbers below the {@code i}-th
+ * bound, and the last shard holds everything above the last bound. An unsharded router has no
+ * shards, and all cards live in the active database.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ShardRouter implements AutoCloseable {
+
+    /**
+     * How card numbers are assigned to shards.
+     */
+    public enum Strategy {
+        HASH,
+        RANGE;
+
+        /**
+         * Parses a strategy name, ignoring case.
+         *
+         * @param value the strategy name, "hash" or "range"
+         * @return the strategy
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Strategy fromParameter(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown sharding strategy: " + value);
+            }
+        }
+    }
+
+    private final Strategy strategy;
+    private final List<String> shardKeys;
+    private final Map<String, DataSource> shards;
+    private final int[] upperBounds;
+
+    /**
+     * Constructs a ShardRouter.
+     *
+     * @param strategy    how card numbers are assigned to shards
+     * @param shards      the shard data sources keyed by shard key, in shard order
+     * @param upperBounds for {@link Strategy#RANGE}, the exclusive upper card number bound of every
+     *                    shard but the last, in increasing order; ignored for {@link Strategy#HASH}
+     * @throws IllegalArgumentException if the range bounds do not match the shards
+     */
+    public ShardRouter(Strategy strategy, Map<String, ? extends DataSource> shards, int[] upperBounds) {
+        this.strategy = strategy;
+        this.shards = new LinkedHashMap<>(shards);
+        this.shardKeys = List.copyOf(shards.keySet());
+        this.upperBounds = upperBounds != null ? upperBounds.clone() : new int[0];
+
+        if (strategy == Strategy.RANGE && !shards.isEmpty()) {
+            if (this.upperBounds.length != shards.size() - 1) {
+                throw new IllegalArgumentException("Range sharding over " + shards.size() + " shards needs "
+                        + (shards.size() - 1) + " bounds, got " + this.upperBounds.length);
+            }
+            for (int i = 1; i < this.upperBounds.length; i++) {
+                if (this.upperBounds[i] <= this.upperBounds[i - 1]) {
+                    throw new IllegalArgumentException("Range bounds must increase: " + Arrays.toString(this.upperBounds));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a router without shards.
+     *
+     * @return an unsharded router
+     */
+    public static ShardRouter unsharded() {
+        return new ShardRouter(Strategy.HASH, Map.of(), null);
+    }
+
+    /**
+     * Returns whether cards are spread over shards.
+     *
+     * @return {@code true} if at least one shard is configured
+     */
+    public boolean isSharded() {
+        return !shardKeys.isEmpty();
+    }
+
+    /**
+     * Returns the shard that stores a card number.
+     *
+     * @param cardNumber the card number
+     * @return the shard key, or {@code null} if the router is unsharded
+     */
+    public String shardFor(int cardNumber) {
+        if (shardKeys.isEmpty()) {
+            return null;
+        }
+        if (strategy == Strategy.RANGE) {
+            for (int i = 0; i < upperBounds.length; i++) {
+                if (cardNumber < upperBounds[i]) {
+                    return shardKeys.get(i);
+                }
+            }
+            return shardKeys.get(shardKeys.size() - 1);
+        }
+        return shardKeys.get(Math.floorMod(mix(cardNumber), shardKeys.size()));
+    }
+
+    /**
+     * Returns the keys of all shards.
+     *
+     * @return the shard keys in shard order, empty if the router is unsharded
+     */
+    public List<String> getShardKeys() {
+        return shardKeys;
+    }
+
+    /**
+     * Returns the sharding strategy.
+     *
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Closes the connection pools of the shards.
+     */
+    @Override
+    public void close() {
+        for (DataSource pool : shards.values()) {
+            if (pool instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    /**
+     * Scrambles the bits of a card number so that patterned numbers, such as all multiples of
+     * the shard count, still spread over every shard (the MurmurHash3 finalizer).
+     *
+     * @param value the card number
+     * @return the scrambled value
+     */
+    private static int mix(int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
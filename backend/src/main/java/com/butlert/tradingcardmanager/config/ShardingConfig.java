@@ -0,0 +1,86 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configures sharded card storage.
+ * <p>
+ * Sharding is enabled by listing one JDBC url per shard in {@code tradingcards.sharding.urls}.
+ * Every shard gets its own connection pool, registered in the {@link DynamicDataSource} as
+ * {@code shard-0}, {@code shard-1}, ..., and its schema is created on startup. The shards must
+ * run the same database product as the active database, since they share its EntityManagerFactory.
+ * Several in-memory H2 databases work as local shards:
+ * </p>
+ * <pre>
+ * tradingcards.sharding.urls=jdbc:h2:mem:shard0;MODE=MYSQL;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard1;MODE=MYSQL;DB_CLOSE_DELAY=-1
+ * tradingcards.sharding.strategy=hash
+ * </pre>
+ * <p>
+ * With {@code tradingcards.sharding.strategy=range}, {@code tradingcards.sharding.range-bounds}
+ * lists the exclusive upper card number bound of every shard but the last.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Configuration
+public class ShardingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    /**
+     * Creates the shard router, starting and registering a pool for every configured shard.
+     *
+     * @param dynamicDataSource the dynamic data source the shards are registered in
+     * @param urls              the JDBC url of every shard; empty to disable sharding
+     * @param username          the username of the shards
+     * @param password          the password of the shards
+     * @param strategy          "hash" or "range"
+     * @param rangeBounds       the range bounds, for the range strategy
+     * @param meterRegistry     registry receiving the metrics of the shard pools
+     * @return the configured {@link ShardRouter}
+     */
+    @Bean
+    public ShardRouter shardRouter(DynamicDataSource dynamicDataSource,
+                                   @Value("${tradingcards.sharding.urls:}") String[] urls,
+                                   @Value("${tradingcards.sharding.username:sa}") String username,
+                                   @Value("${tradingcards.sharding.password:}") String password,
+                                   @Value("${tradingcards.sharding.strategy:hash}") String strategy,
+                                   @Value("${tradingcards.sharding.range-bounds:}") String[] rangeBounds,
+                                   MeterRegistry meterRegistry) {
+        if (urls.length == 0) {
+            return ShardRouter.unsharded();
+        }
+
+        int[] bounds = Arrays.stream(rangeBounds).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < urls.length; i++) {
+                String key = "shard-" + i;
+                HikariDataSource pool = ConnectionPools.create(key, urls[i].trim(), username, password, null,
+                        new ConnectionPoolSettings(), meterRegistry);
+                shards.put(key, pool);
+                DataSourceSwitcher.prepareSchema(pool);
+            }
+            ShardRouter router = new ShardRouter(ShardRouter.Strategy.fromParameter(strategy), shards, bounds);
+            shards.forEach(dynamicDataSource::putTarget);
+            logger.info("Storing cards in {} shards with the {} strategy", shards.size(), router.getStrategy());
+            return router;
+        } catch (RuntimeException e) {
+            shards.values().forEach(HikariDataSource::close);
+            throw e;
+        }
+    }
+}
@@ -2,20 +2,37 @@ package com.butlert.tradingcardmanager.controller;
 
 import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.model.CardDeleteRequest;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.model.CardSearchCriteria;
+import com.butlert.tradingcardmanager.model.CardSuggestion;
+import com.butlert.tradingcardmanager.model.ImportJobStatus;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.model.UpsertSummary;
+import com.butlert.tradingcardmanager.service.CardImportJobs;
 import com.butlert.tradingcardmanager.service.CardService;
+import com.butlert.tradingcardmanager.utils.exception.CardImportException;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Main controller for the Trading Card Manager application.
@@ -24,6 +41,10 @@ import java.util.Optional;
  * with the backend. It includes endpoints for adding, updating, deleting, retrieving,
  * and importing cards, as well as generating statistics and value reports.
  * </p>
+ * <p>
+ * Every endpoint is timed by the {@code tradingcards.card.controller} timer, tagged with the
+ * handler method, in addition to the {@code http.server.requests} timer recorded per URI and status.
+ * </p>
  *
  * <p><b>Author:</b> Timothy Butler<br>
  * <b>Course:</b> CEN 3024 - Software Development 1<br>
@@ -31,28 +52,36 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/cards")
+@Timed(value = "tradingcards.card.controller", description = "Card endpoint calls")
 public class CardController {
     /**
      * Logger instance for recording application events and errors in the
      * {@link com.butlert.tradingcardmanager.controller.CardController}.
      * <p>
      * Uses SLF4J's {@link org.slf4j.LoggerFactory} for standardized logging.
-     * Helps in debugging and tracing database connection handling.
+     * Request bodies are only logged at debug level.
      */
-    private static final Logger logger = LoggerFactory.getLogger(DatabaseConnectionController.class);
+    private static final Logger logger = LoggerFactory.getLogger(CardController.class);
 
     /**
      * The service layer used to handle all business logic for card operations.
      */
     private final CardService cardService;
 
+    /**
+     * Background import jobs started by {@link #startImportJob(MultipartFile, int)}.
+     */
+    private final CardImportJobs cardImportJobs;
+
     /**
      * Constructs a new CardController with the specified CardService.
      *
-     * @param cardService the service to handle card-related operations
+     * @param cardService    the service to handle card-related operations
+     * @param cardImportJobs the registry running background imports
      */
-    public CardController(CardService cardService) {
+    public CardController(CardService cardService, CardImportJobs cardImportJobs) {
         this.cardService = cardService;
+        this.cardImportJobs = cardImportJobs;
     }
 
     /**
@@ -63,7 +92,7 @@ public class CardController {
      */
     @PostMapping
     public ResponseEntity<?> addCard(@Valid @RequestBody CardDTO cardDTO) {
-        logger.info("Received DTO {}", cardDTO);
+        logger.debug("Received DTO {}", cardDTO);
         try {
             Optional<CardDTO> saved = cardService.addCard(cardDTO);
 
@@ -94,6 +123,22 @@ public class CardController {
                 .body(Map.of("error", "Card not found"));
     }
 
+    /**
+     * Deletes every card selected by a list of card numbers, or by a card number range and a
+     * filter on game, rarity and purchase date.
+     *
+     * @param request the cards to delete
+     * @return a ResponseEntity containing the number of deleted cards, or an error response if the request selects no cards
+     */
+    @DeleteMapping
+    public ResponseEntity<?> deleteCards(@RequestBody CardDeleteRequest request) {
+        try {
+            return ResponseEntity.ok(Map.of("deleted", cardService.deleteCards(request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Updates the details of an existing card based on the provided card number and new data.
      *
@@ -103,7 +148,7 @@ public class CardController {
      */
     @PutMapping("/put/{cardNumber}")
     public ResponseEntity<?> updateCard(@PathVariable("cardNumber") int cardNumber, @Valid @RequestBody CardDTO cardDTO) {
-        System.out.println("Received DTO: " + cardDTO);
+        logger.debug("Received DTO {} for card {}", cardDTO, cardNumber);
 
         try {
             Optional<Card> updated = cardService.updateCard(cardNumber, cardDTO);
@@ -117,30 +162,148 @@ public class CardController {
     }
 
     /**
-     * Retrieves all cards from the system.
+     * Inserts or updates many cards by card number in one request.
+     * <p>
+     * Cards that are not stored yet are created, stored cards with different values are
+     * updated and stored cards with the same values are left unchanged. Invalid cards are
+     * reported with the reason and are not written; the valid cards are still written.
+     * </p>
      *
-     * @return a ResponseEntity containing a list of all stored cards
+     * @param cardDTOs the cards to write, each card number at most once
+     * @return a ResponseEntity containing the {@link UpsertSummary}, or an error response if a card number is repeated
+     */
+    @PutMapping
+    public ResponseEntity<?> upsertCards(@RequestBody List<CardDTO> cardDTOs) {
+        try {
+            return ResponseEntity.ok(cardService.upsertCards(cardDTOs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Retrieves one page of cards using keyset pagination.
+     * <p>
+     * The first page is requested without a cursor. Each response carries a {@code nextCursor}
+     * token that is passed back to read the following page, and is null on the last page.
+     * </p>
+     *
+     * @param cursor    the cursor of the previous page, or absent for the first page
+     * @param size      the maximum number of cards in the page
+     * @param sort      the card property to sort by (e.g., cardNumber, cardName, purchasePrice)
+     * @param direction the sort direction, "asc" or "desc"
+     * @return a ResponseEntity containing the page, or an error message if a parameter is invalid
      */
     @GetMapping
-    public ResponseEntity<List<Card>> getAllCards() {
-        return ResponseEntity.ok(cardService.getAllCards());
+    public ResponseEntity<?> getAllCards(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "50") int size,
+                                         @RequestParam(value = "sort", defaultValue = "cardNumber") String sort,
+                                         @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+        try {
+            return ResponseEntity.ok(cardService.getCardPage(cursor, size, sort, direction));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
-     * Retrieves a card by its card number.
+     * Searches the cards and returns one page of the matches using keyset pagination.
+     * <p>
+     * Filters are passed as query parameters: {@code cardGame}, {@code cardName} (prefix),
+     * {@code rarity}, {@code foiled}, {@code minPrice}, {@code maxPrice}, {@code purchasedFrom},
+     * {@code purchasedTo}, {@code publishedFrom} and {@code publishedTo}. Pages are read as in
+     * {@link #getAllCards(String, int, String, String)}, sending the same filters with every page.
+     * </p>
+     *
+     * @param criteria  the search filters bound from the query parameters
+     * @param cursor    the cursor of the previous page, or absent for the first page
+     * @param size      the maximum number of cards in the page
+     * @param sort      the card property to sort by (e.g., cardNumber, cardName, purchasePrice)
+     * @param direction the sort direction, "asc" or "desc"
+     * @return a ResponseEntity containing the page, or an error message if a parameter is invalid
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCards(CardSearchCriteria criteria,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "50") int size,
+                                         @RequestParam(value = "sort", defaultValue = "cardNumber") String sort,
+                                         @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+        try {
+            return ResponseEntity.ok(cardService.searchCards(criteria, cursor, size, sort, direction));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Suggests cards while the user types a card name or game.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of suggestions
+     * @return a ResponseEntity containing the best matches, best first
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<CardSuggestion>> suggestCards(@RequestParam("q") String query,
+                                                             @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(cardService.suggestCards(query, limit));
+    }
+
+    /**
+     * Exports the whole collection as a streamed download.
+     * <p>
+     * Cards are written to the response as they are read from the database, so the response
+     * starts immediately and server memory stays constant for any collection size.
+     * </p>
+     *
+     * @param format the export format, "ndjson" or "csv"
+     * @return a ResponseEntity streaming the export
+     * @throws IllegalArgumentException if the format is unsupported
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCards(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        CardExportFormat exportFormat = CardExportFormat.fromParameter(format);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                cardService.exportCards(outputStream, exportFormat);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Card export failed", e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("cards." + exportFormat.getFileExtension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Retrieves a card by its card number. The card is served from the card cache,
+     * which holds it as ready-made JSON.
      *
      * @param cardNumber the unique identifier of the card to retrieve
      * @return a ResponseEntity containing the card if found, or an error message if not
      */
     @GetMapping("/get/{cardNumber}")
     public ResponseEntity<?> getCardById(@PathVariable("cardNumber") int cardNumber) {
-        Card card = cardService.findByCardId(cardNumber);
+        byte[] card = cardService.findCardJsonByCardId(cardNumber);
         return card != null
-                ? ResponseEntity.ok(card)
+                ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(card)
                 : ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of("error", "Card not found"));
     }
 
+    /**
+     * Retrieves the hit and miss counters of the card cache.
+     *
+     * @return a ResponseEntity containing the cache size, hit and miss counts, hit rate and eviction count
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCardCacheStatistics() {
+        return ResponseEntity.ok(cardService.getCardCacheStatistics());
+    }
+
     /**
      * Calculates and retrieves various statistics about the current card collection.
      *
@@ -177,5 +340,82 @@ public class CardController {
         List<Card> imported = cardService.addAllCardsFromFile(file);
         return ResponseEntity.ok(imported);
     }
-}
 
+    /**
+     * Imports cards from the raw request body as a stream.
+     * <p>
+     * Unlike {@link #importCardsFromFile(MultipartFile)}, the upload is never buffered and the
+     * imported cards are not returned, so memory use stays flat regardless of the file size.
+     * </p>
+     *
+     * @param body      the request body containing one card per line
+     * @param maxErrors the maximum number of line errors to include in the response
+     * @return a ResponseEntity containing the import summary
+     */
+    @PostMapping(value = "/import/stream",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportSummary> importCardsFromStream(InputStream body,
+                                                               @RequestParam(value = "maxErrors", defaultValue = "100") int maxErrors) {
+        return ResponseEntity.ok(cardService.importCardsFromStream(body, Math.max(0, maxErrors)));
+    }
+
+    /**
+     * Starts importing the provided file in the background and returns at once with the job id.
+     *
+     * @param file      the uploaded text file containing card data
+     * @param maxErrors the maximum number of line errors to include in the job result
+     * @return a 202 ResponseEntity containing the queued job, a 400 if no file was uploaded, or
+     * a 503 if too many imports are already queued
+     */
+    @PostMapping("/import/jobs")
+    public ResponseEntity<?> startImportJob(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(value = "maxErrors", defaultValue = "100") int maxErrors) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "No file uploaded"));
+        }
+
+        ImportJobStatus job;
+        try (InputStream upload = file.getInputStream()) {
+            job = cardImportJobs.submit(upload, Math.max(0, maxErrors));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", "Too many imports are queued, try again later"));
+        } catch (IOException e) {
+            throw new CardImportException("Failed to read uploaded file: " + e.getMessage(), e);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/cards/import/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Reports the progress of a background import. Once the job has finished, the response
+     * carries its result and the job is forgotten.
+     *
+     * @param jobId the id returned when the job was started
+     * @return a ResponseEntity containing the job status, or a 404 if the job is unknown
+     */
+    @GetMapping("/import/jobs/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable("jobId") String jobId) {
+        return cardImportJobs.fetch(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "Import job not found")));
+    }
+
+    /**
+     * Cancels a background import. Cards written before the cancellation stay imported.
+     *
+     * @param jobId the id returned when the job was started
+     * @return a ResponseEntity containing the job status, or a 404 if the job is unknown
+     */
+    @DeleteMapping("/import/jobs/{jobId}")
+    public ResponseEntity<?> cancelImportJob(@PathVariable("jobId") String jobId) {
+        return cardImportJobs.cancel(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "Import job not found")));
+    }
+}
@@ -1,22 +1,30 @@
 package com.butlert.tradingcardmanager.controller;
 
+import com.butlert.tradingcardmanager.config.CardNumberIndex;
+import com.butlert.tradingcardmanager.config.ConnectionPools;
+import com.butlert.tradingcardmanager.config.DataSourceSwitchedEvent;
+import com.butlert.tradingcardmanager.config.DataSourceSwitcher;
 import com.butlert.tradingcardmanager.config.DynamicDataSource;
+import com.butlert.tradingcardmanager.config.ReplicaSet;
 import com.butlert.tradingcardmanager.model.DatabaseCredentialsDTO;
+import com.butlert.tradingcardmanager.model.ReplicaEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.ResponseEntity;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.sql.DataSource;
-import java.sql.Connection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -58,59 +66,135 @@ public class DatabaseConnectionController {
      */
     private final ConfigurableApplicationContext configurableApplicationContext;
 
+    /**
+     * Performs the switch between the old and the new database.
+     */
+    private final DataSourceSwitcher dataSourceSwitcher;
+
+    /**
+     * Registry receiving the metrics of the MySQL connection pools.
+     */
+    private final MeterRegistry meterRegistry;
+
     /**
      * Constructs a new DatabaseConnectionController with the required configuration components.
      *
      * @param dynamicDataSource              the dynamic data source used for routing
      * @param emfBean                        the JPA entity manager factory bean
      * @param configurableApplicationContext the Spring application context
+     * @param dataSourceSwitcher             the component switching the active database
+     * @param meterRegistry                  registry receiving the metrics of the MySQL connection pools
      */
     @Autowired
     public DatabaseConnectionController(DataSource dynamicDataSource,
                                         LocalContainerEntityManagerFactoryBean emfBean,
-                                        ConfigurableApplicationContext configurableApplicationContext) {
+                                        ConfigurableApplicationContext configurableApplicationContext,
+                                        DataSourceSwitcher dataSourceSwitcher,
+                                        MeterRegistry meterRegistry) {
         this.routingDs = (DynamicDataSource) dynamicDataSource;
         this.emfBean = emfBean;
         this.configurableApplicationContext = configurableApplicationContext;
+        this.dataSourceSwitcher = dataSourceSwitcher;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Switches the application's active database connection to MySQL using the provided credentials.
-     * Also verifies the connection before switching and resets the EntityManagerFactory to apply changes.
+     * The connections are pooled with the optional pool settings of the payload. Read-only
+     * transactions are served by the optional replicas of the payload. The new pools are
+     * warmed up before switching, and the switch itself only holds back new transactions while the
+     * ones in flight finish and the EntityManagerFactory is replaced; see {@link DataSourceSwitcher}.
+     * A {@link DataSourceSwitchedEvent} is published once the new database is active.
      *
-     * @param creds the database credentials (host, port, database name, username, and password)
-     * @return a ResponseEntity indicating success or failure of the database switch
+     * @param creds the database credentials (host, port, database name, username, and password),
+     *              pool settings and replicas
+     * @return a ResponseEntity indicating success or failure of the database switch,
+     * reporting how long transactions were paused
      */
     @PostMapping("/configure-database")
     public ResponseEntity<?> switchToMySql(@RequestBody DatabaseCredentialsDTO creds) {
+        HikariDataSource mysqlDs = null;
+        Map<String, HikariDataSource> replicaPools = new LinkedHashMap<>();
         try {
-            String url = "jdbc:mysql://" + creds.getHost() + ":" + creds.getPort() + "/" + creds.getDatabaseName();
+            String url = mySqlUrl(creds.getHost(), creds.getPort(), creds.getDatabaseName());
             logger.debug("Constructed jdbc url: {}", url);
 
-            DriverManagerDataSource mysqlDs = new DriverManagerDataSource();
-            mysqlDs.setUrl(url);
-            mysqlDs.setUsername(creds.getUsername());
-            mysqlDs.setPassword(creds.getPassword());
-            mysqlDs.setDriverClassName("com.mysql.cj.jdbc.Driver");
-
-            // Test connection
-            try (Connection ignored = mysqlDs.getConnection()) {
-                Map<Object, Object> targets = new HashMap<>(routingDs.getResolvedDataSources());
-                targets.put("mysql", mysqlDs);
-                routingDs.setTargetDataSources(targets);
-                routingDs.setDefaultTargetDataSource(mysqlDs);
-                routingDs.afterPropertiesSet();
-
-                DynamicDataSource.setCurrentKey("mysql");
-                emfBean.setDataSource(routingDs);
-                emfBean.afterPropertiesSet();
-                logger.info("Successfully connected to database {}", creds.getDatabaseName());
-
-                return ResponseEntity.ok("Connected to MySQL.");
+            mysqlDs = ConnectionPools.create("mysql", url, creds.getUsername(), creds.getPassword(),
+                    "com.mysql.cj.jdbc.Driver", creds.getPool(), meterRegistry);
+
+            for (ReplicaEndpoint replica : creds.getReplicas()) {
+                String replicaUrl = mySqlUrl(replica.getHost(), replica.getPort(), creds.getDatabaseName());
+                HikariDataSource replicaDs = ConnectionPools.create("mysql-replica", replicaUrl, creds.getUsername(),
+                        creds.getPassword(), "com.mysql.cj.jdbc.Driver", creds.getPool(), meterRegistry);
+                replicaPools.put(replicaDs.getPoolName(), replicaDs);
             }
+            ReplicaSet replicas = replicaPools.isEmpty() ? null : new ReplicaSet(replicaPools, creds.getMaxReplicaLagSeconds());
+
+            DataSourceSwitcher.SwitchReport report = dataSourceSwitcher.switchTo("mysql", mysqlDs, replicas);
+            logger.info("Successfully connected to database {} with {} replicas", creds.getDatabaseName(), replicaPools.size());
+            configurableApplicationContext.publishEvent(new DataSourceSwitchedEvent(this, "mysql"));
+
+            return ResponseEntity.ok("Connected to MySQL. Transactions paused for " + report.getPauseMs() + " ms.");
         } catch (Exception e) {
             logger.error("Database connection failed", e);
+            Map<Object, DataSource> routed = routingDs.getResolvedDataSources();
+            if (mysqlDs != null && routed.get("mysql") != mysqlDs) {
+                mysqlDs.close();
+            }
+            replicaPools.forEach((key, pool) -> {
+                if (routed.get(key) != pool) {
+                    pool.close();
+                }
+            });
             return ResponseEntity.badRequest().body("Connection failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Reports the connection counts and limits of every pooled routing target.
+     *
+     * @return pool metrics keyed by routing key
+     */
+    @GetMapping("/database/pools")
+    public ResponseEntity<Map<String, Map<String, Object>>> getPoolMetrics() {
+        return ResponseEntity.ok(ConnectionPools.metrics(routingDs.getResolvedDataSources()));
+    }
+
+    /**
+     * Reports the lag and availability of the read replicas of every primary.
+     *
+     * @return replica states keyed by the routing key of their primary
+     */
+    @GetMapping("/database/replicas")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getReplicaStatus() {
+        Map<String, List<Map<String, Object>>> status = new LinkedHashMap<>();
+        routingDs.getReplicaSets().forEach((primary, replicas) -> status.put(primary, replicas.status()));
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Reports card numbers stored more than once in the active database. The unique index on
+     * {@code card_number} cannot be created until they are resolved, and a database holding
+     * them is refused by {@code /api/configure-database}.
+     *
+     * @return the row count of every duplicated card number, keyed by card number
+     */
+    @GetMapping("/database/duplicates")
+    public ResponseEntity<Map<Integer, Long>> getDuplicateCardNumbers() {
+        DataSource active = routingDs.getResolvedDataSources().get(DynamicDataSource.getGlobalKey());
+        return ResponseEntity.ok(CardNumberIndex.findDuplicates(active));
+    }
+
+    /**
+     * Builds the JDBC url of a MySQL server.
+     *
+     * @param host         the server host
+     * @param port         the server port
+     * @param databaseName the database name
+     * @return the JDBC url
+     */
+    private static String mySqlUrl(String host, String port, String databaseName) {
+        return "jdbc:mysql://" + host + ":" + port + "/" + databaseName
+                + "?rewriteBatchedStatements=true&useCursorFetch=true";
+    }
 }
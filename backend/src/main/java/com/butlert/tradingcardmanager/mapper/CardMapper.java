@@ -23,11 +23,10 @@ import java.time.format.DateTimeParseException;
  */
 public class CardMapper {
     /**
-     * Logger instance for recording application events and errors in the
-     * {@link com.butlert.tradingcardmanager.controller.DatabaseConnectionController}.
+     * Logger instance for recording mapping events in the {@link CardMapper}.
      * <p>
      * Uses SLF4J's {@link org.slf4j.LoggerFactory} for standardized logging.
-     * Helps in debugging and tracing database connection handling.
+     * Mapping runs for every card written, so it only logs at debug level.
      */
     private static final Logger logger = LoggerFactory.getLogger(CardMapper.class);
 
@@ -78,7 +77,7 @@ public class CardMapper {
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Invalid purchase price format");
         }
-        logger.info("Card created from mapper {}", card);
+        logger.debug("Card created from mapper {}", card);
         return card;
     }
 
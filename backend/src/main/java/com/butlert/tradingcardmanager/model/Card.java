@@ -17,12 +17,26 @@ import java.util.Objects;
  * game, name, rarity, price, and publication dates. It is annotated for use with
  * JPA (Jakarta Persistence) and includes validation constraints.
  * </p>
+ * <p>
+ * The secondary indexes serve the filters of card searches: game with rarity in card number
+ * order, game with a name prefix, a name prefix alone, rarity with a price range, and a
+ * purchase date range.
+ * </p>
  *
  * <p><b>Author:</b> Timothy Butler<br>
  * <b>Course:</b> CEN 3024 - Software Development 1<br>
  * <b>Date:</b> July 13, 2025</p>
  */
 @Entity
+@Table(name = "card",
+        uniqueConstraints = @UniqueConstraint(name = "uk_card_card_number", columnNames = "card_number"),
+        indexes = {
+                @Index(name = "idx_card_game_rarity_number", columnList = "card_game, rarity, card_number"),
+                @Index(name = "idx_card_game_name", columnList = "card_game, card_name"),
+                @Index(name = "idx_card_name", columnList = "card_name"),
+                @Index(name = "idx_card_rarity_price", columnList = "rarity, purchase_Price"),
+                @Index(name = "idx_card_date_purchased", columnList = "date_purchased")
+        })
 public class Card {
 
     /**
@@ -33,7 +47,8 @@ public class Card {
     private Long id;
 
     /**
-     * The unique card number within the collection.
+     * The unique card number within the collection, enforced by the unique index
+     * {@code uk_card_card_number}.
      */
     @Positive
     @Column(name = "card_number")
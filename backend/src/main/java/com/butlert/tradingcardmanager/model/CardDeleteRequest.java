@@ -0,0 +1,86 @@
+package com.butlert.tradingcardmanager.model;
+
+import java.util.List;
+
+/**
+ * Selects the cards removed by a bulk delete.
+ * <p>
+ * Cards are selected either by a list of card numbers, or by a card number range and a
+ * filter on game, rarity and purchase date. The range and filter fields are optional and
+ * combined with AND, but at least one of them must be set. Dates are strings (yyyy-MM-dd)
+ * and rarity is a rarity name, as in {@link CardDTO}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class CardDeleteRequest {
+    private List<Integer> cardNumbers;
+    private Integer fromCardNumber;
+    private Integer toCardNumber;
+    private String cardGame;
+    private String rarity;
+    private String purchasedFrom;
+    private String purchasedTo;
+
+    public CardDeleteRequest() {
+
+    }
+
+    public List<Integer> getCardNumbers() {
+        return cardNumbers;
+    }
+
+    public void setCardNumbers(List<Integer> cardNumbers) {
+        this.cardNumbers = cardNumbers;
+    }
+
+    public Integer getFromCardNumber() {
+        return fromCardNumber;
+    }
+
+    public void setFromCardNumber(Integer fromCardNumber) {
+        this.fromCardNumber = fromCardNumber;
+    }
+
+    public Integer getToCardNumber() {
+        return toCardNumber;
+    }
+
+    public void setToCardNumber(Integer toCardNumber) {
+        this.toCardNumber = toCardNumber;
+    }
+
+    public String getCardGame() {
+        return cardGame;
+    }
+
+    public void setCardGame(String cardGame) {
+        this.cardGame = cardGame;
+    }
+
+    public String getRarity() {
+        return rarity;
+    }
+
+    public void setRarity(String rarity) {
+        this.rarity = rarity;
+    }
+
+    public String getPurchasedFrom() {
+        return purchasedFrom;
+    }
+
+    public void setPurchasedFrom(String purchasedFrom) {
+        this.purchasedFrom = purchasedFrom;
+    }
+
+    public String getPurchasedTo() {
+        return purchasedTo;
+    }
+
+    public void setPurchasedTo(String purchasedTo) {
+        this.purchasedTo = purchasedTo;
+    }
+}
@@ -0,0 +1,58 @@
+package com.butlert.tradingcardmanager.model;
+
+/**
+ * Output formats supported by the streaming card export.
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public enum CardExportFormat {
+    /**
+     * Newline-delimited JSON: one card object per line, serialized like the REST API does.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    /**
+     * Constructs a CardExportFormat.
+     *
+     * @param mediaType     the content type of the response
+     * @param fileExtension the extension of the suggested download file name
+     */
+    CardExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves the value of the {@code format} request parameter.
+     *
+     * @param value the parameter value, case-insensitive
+     * @return the matching format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static CardExportFormat fromParameter(String value) {
+        for (CardExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
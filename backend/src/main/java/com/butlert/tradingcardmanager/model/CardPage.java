@@ -0,0 +1,39 @@
+package com.butlert.tradingcardmanager.model;
+
+import java.util.List;
+
+/**
+ * One page of cards returned by {@code GET /api/cards} and {@code GET /api/cards/search}.
+ * <p>
+ * Pages are read with keyset pagination: instead of an offset, the client passes back the
+ * {@link #getNextCursor() next cursor} of the previous page, which encodes the sort order and
+ * the position of the last card returned. A {@code null} cursor means there are no more cards.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class CardPage {
+    private final List<Card> items;
+    private final String nextCursor;
+
+    /**
+     * Constructs a CardPage.
+     *
+     * @param items      the cards of the page, in the requested order
+     * @param nextCursor the token for the following page, or null if this is the last page
+     */
+    public CardPage(List<Card> items, String nextCursor) {
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Card> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,110 @@
+package com.butlert.tradingcardmanager.model;
+
+/**
+ * Filters of a card search, bound from the query parameters of {@code GET /api/cards/search}.
+ * <p>
+ * Every filter is optional and the filters that are set are combined with AND. The card name
+ * matches by prefix. Prices and dates bound ranges inclusively and either end may be left open.
+ * Values are strings as in {@link CardDTO}: dates are yyyy-MM-dd and rarity is a rarity name.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class CardSearchCriteria {
+    private String cardGame;
+    private String cardName;
+    private String rarity;
+    private Boolean foiled;
+    private String minPrice;
+    private String maxPrice;
+    private String purchasedFrom;
+    private String purchasedTo;
+    private String publishedFrom;
+    private String publishedTo;
+
+    public CardSearchCriteria() {
+
+    }
+
+    public String getCardGame() {
+        return cardGame;
+    }
+
+    public void setCardGame(String cardGame) {
+        this.cardGame = cardGame;
+    }
+
+    public String getCardName() {
+        return cardName;
+    }
+
+    public void setCardName(String cardName) {
+        this.cardName = cardName;
+    }
+
+    public String getRarity() {
+        return rarity;
+    }
+
+    public void setRarity(String rarity) {
+        this.rarity = rarity;
+    }
+
+    public Boolean getFoiled() {
+        return foiled;
+    }
+
+    public void setFoiled(Boolean foiled) {
+        this.foiled = foiled;
+    }
+
+    public String getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(String minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public String getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(String maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public String getPurchasedFrom() {
+        return purchasedFrom;
+    }
+
+    public void setPurchasedFrom(String purchasedFrom) {
+        this.purchasedFrom = purchasedFrom;
+    }
+
+    public String getPurchasedTo() {
+        return purchasedTo;
+    }
+
+    public void setPurchasedTo(String purchasedTo) {
+        this.purchasedTo = purchasedTo;
+    }
+
+    public String getPublishedFrom() {
+        return publishedFrom;
+    }
+
+    public void setPublishedFrom(String publishedFrom) {
+        this.publishedFrom = publishedFrom;
+    }
+
+    public String getPublishedTo() {
+        return publishedTo;
+    }
+
+    public void setPublishedTo(String publishedTo) {
+        this.publishedTo = publishedTo;
+    }
+}
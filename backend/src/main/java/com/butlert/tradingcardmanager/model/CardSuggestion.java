@@ -0,0 +1,51 @@
+package com.butlert.tradingcardmanager.model;
+
+/**
+ * One match of a typeahead search, returned by {@code GET /api/cards/typeahead}.
+ * <p>
+ * A higher score is a better match. Cards whose name starts with the query score above cards
+ * whose words start with every query word, which score above cards matched only by
+ * similarity, so typos still find the intended card.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class CardSuggestion {
+    private final int cardNumber;
+    private final String cardName;
+    private final String cardGame;
+    private final double score;
+
+    /**
+     * Constructs a CardSuggestion.
+     *
+     * @param cardNumber the card number
+     * @param cardName   the card name
+     * @param cardGame   the card game
+     * @param score      how well the card matches the query
+     */
+    public CardSuggestion(int cardNumber, String cardName, String cardGame, double score) {
+        this.cardNumber = cardNumber;
+        this.cardName = cardName;
+        this.cardGame = cardGame;
+        this.score = score;
+    }
+
+    public int getCardNumber() {
+        return cardNumber;
+    }
+
+    public String getCardName() {
+        return cardName;
+    }
+
+    public String getCardGame() {
+        return cardGame;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
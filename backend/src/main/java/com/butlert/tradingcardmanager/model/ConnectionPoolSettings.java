@@ -0,0 +1,97 @@
+package com.butlert.tradingcardmanager.model;
+
+/**
+ * Connection pool settings for a database target.
+ * <p>
+ * Sent as the optional {@code pool} object of the {@code /api/configure-database} payload.
+ * Any setting left out keeps its default, so the pool works without any configuration.
+ * Timeouts are in milliseconds.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ConnectionPoolSettings {
+    private int maximumPoolSize = 10;
+    private int minimumIdle = 2;
+    private long connectionTimeoutMs = 30_000;
+    private long idleTimeoutMs = 600_000;
+    private long maxLifetimeMs = 1_800_000;
+    private long validationTimeoutMs = 5_000;
+    private long keepaliveTimeMs = 120_000;
+    private String connectionTestQuery;
+
+    public ConnectionPoolSettings() {
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public void setMinimumIdle(int minimumIdle) {
+        this.minimumIdle = minimumIdle;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public void setIdleTimeoutMs(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+
+    public void setMaxLifetimeMs(long maxLifetimeMs) {
+        this.maxLifetimeMs = maxLifetimeMs;
+    }
+
+    public long getValidationTimeoutMs() {
+        return validationTimeoutMs;
+    }
+
+    public void setValidationTimeoutMs(long validationTimeoutMs) {
+        this.validationTimeoutMs = validationTimeoutMs;
+    }
+
+    public long getKeepaliveTimeMs() {
+        return keepaliveTimeMs;
+    }
+
+    public void setKeepaliveTimeMs(long keepaliveTimeMs) {
+        this.keepaliveTimeMs = keepaliveTimeMs;
+    }
+
+    /**
+     * Returns the query used to validate connections, or {@code null} to use the driver's
+     * {@link java.sql.Connection#isValid(int)} check.
+     *
+     * @return the validation query, or {@code null}
+     */
+    public String getConnectionTestQuery() {
+        return connectionTestQuery;
+    }
+
+    public void setConnectionTestQuery(String connectionTestQuery) {
+        this.connectionTestQuery = connectionTestQuery;
+    }
+}
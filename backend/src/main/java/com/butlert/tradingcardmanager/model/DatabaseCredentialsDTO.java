@@ -2,6 +2,9 @@ package com.butlert.tradingcardmanager.model;
 
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Data Transfer Object (DTO) for encapsulating database connection credentials.
  * <p>
@@ -20,6 +23,9 @@ public class DatabaseCredentialsDTO {
     private String databaseName;
     private String username;
     private String password;
+    private ConnectionPoolSettings pool = new ConnectionPoolSettings();
+    private List<ReplicaEndpoint> replicas = new ArrayList<>();
+    private long maxReplicaLagSeconds = 5;
 
     public DatabaseCredentialsDTO() {
     }
@@ -80,4 +86,38 @@ public class DatabaseCredentialsDTO {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public ConnectionPoolSettings getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the connection pool settings. A {@code null} value restores the defaults.
+     *
+     * @param pool the pool settings
+     */
+    public void setPool(ConnectionPoolSettings pool) {
+        this.pool = pool != null ? pool : new ConnectionPoolSettings();
+    }
+
+    public List<ReplicaEndpoint> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Sets the read replicas of the database. A {@code null} value means no replicas.
+     *
+     * @param replicas the replica addresses
+     */
+    public void setReplicas(List<ReplicaEndpoint> replicas) {
+        this.replicas = replicas != null ? replicas : new ArrayList<>();
+    }
+
+    public long getMaxReplicaLagSeconds() {
+        return maxReplicaLagSeconds;
+    }
+
+    public void setMaxReplicaLagSeconds(long maxReplicaLagSeconds) {
+        this.maxReplicaLagSeconds = maxReplicaLagSeconds;
+    }
 }
@@ -0,0 +1,133 @@
+package com.butlert.tradingcardmanager.model;
+
+/**
+ * Snapshot of a background import job, returned when the job is submitted, polled or cancelled.
+ * <p>
+ * While the job runs, the counters show its progress so far and {@code linesPerSecond} its
+ * average throughput since it started. Once the job has finished or been cancelled,
+ * {@code summary} holds its {@link ImportSummary}; a failed job reports its {@code error}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ImportJobStatus {
+    private final String jobId;
+    private final State state;
+    private final long linesRead;
+    private final long imported;
+    private final long duplicates;
+    private final long rejected;
+    private final double linesPerSecond;
+    private final long elapsedMillis;
+    private final String error;
+    private final ImportSummary summary;
+
+    /**
+     * Constructs a fully initialized ImportJobStatus.
+     *
+     * @param jobId          the id of the job
+     * @param state          the state of the job
+     * @param linesRead      the number of lines read so far
+     * @param imported       the number of cards inserted so far
+     * @param duplicates     the number of valid cards skipped so far because their card number existed
+     * @param rejected       the number of lines rejected so far
+     * @param linesPerSecond the average number of lines read per second since the job started
+     * @param elapsedMillis  the time the job has been running, or ran, in milliseconds
+     * @param error          the reason the job failed, or {@code null}
+     * @param summary        the result of a finished or cancelled job, or {@code null}
+     */
+    public ImportJobStatus(String jobId, State state, long linesRead, long imported, long duplicates, long rejected,
+                           double linesPerSecond, long elapsedMillis, String error, ImportSummary summary) {
+        this.jobId = jobId;
+        this.state = state;
+        this.linesRead = linesRead;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+        this.linesPerSecond = linesPerSecond;
+        this.elapsedMillis = elapsedMillis;
+        this.error = error;
+        this.summary = summary;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public double getLinesPerSecond() {
+        return linesPerSecond;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public ImportSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Lifecycle of an import job.
+     */
+    public enum State {
+        /**
+         * Waiting for a free import slot.
+         */
+        QUEUED,
+
+        /**
+         * Importing lines.
+         */
+        RUNNING,
+
+        /**
+         * Every line was imported.
+         */
+        COMPLETED,
+
+        /**
+         * Stopped on request; the chunks written before stay imported.
+         */
+        CANCELLED,
+
+        /**
+         * Stopped by an error; the chunks written before stay imported.
+         */
+        FAILED;
+
+        /**
+         * Returns whether the job has stopped and its result is final.
+         *
+         * @return true for completed, cancelled and failed jobs
+         */
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+}
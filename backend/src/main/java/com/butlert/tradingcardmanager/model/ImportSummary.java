@@ -0,0 +1,95 @@
+package com.butlert.tradingcardmanager.model;
+
+import java.util.List;
+
+/**
+ * Compact result of a streaming card import.
+ * <p>
+ * Instead of returning every imported card, a streaming import only reports how many
+ * lines were processed, how they were classified, the first few line errors and the
+ * time the import took. Its size therefore does not depend on the size of the file.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ImportSummary {
+    private final long linesRead;
+    private final long imported;
+    private final long duplicates;
+    private final long rejected;
+    private final List<LineError> errors;
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a fully initialized ImportSummary.
+     *
+     * @param linesRead     the number of lines read from the input
+     * @param imported      the number of cards inserted
+     * @param duplicates    the number of valid cards skipped because their card number already existed
+     * @param rejected      the number of lines that failed parsing or validation
+     * @param errors        the first rejected lines, in file order
+     * @param elapsedMillis the total time the import took in milliseconds
+     */
+    public ImportSummary(long linesRead, long imported, long duplicates, long rejected,
+                         List<LineError> errors, long elapsedMillis) {
+        this.linesRead = linesRead;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+        this.errors = List.copyOf(errors);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * A single rejected line of an import, identified by its 1-based line number.
+     */
+    public static class LineError {
+        private final long line;
+        private final String message;
+
+        /**
+         * Constructs a LineError.
+         *
+         * @param line    the 1-based line number in the imported file
+         * @param message the reason the line was rejected
+         */
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.butlert.tradingcardmanager.model;
+
+/**
+ * Address of a MySQL read replica.
+ * <p>
+ * Sent in the optional {@code replicas} list of the {@code /api/configure-database} payload.
+ * A replica serves the same database with the same credentials and pool settings as the primary.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ReplicaEndpoint {
+    private String host;
+    private String port;
+
+    public ReplicaEndpoint() {
+    }
+
+    /**
+     * Constructs a ReplicaEndpoint.
+     *
+     * @param host the replica host (e.g., "replica-1.local")
+     * @param port the replica port (e.g., "3306")
+     */
+    public ReplicaEndpoint(String host, String port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public String getPort() {
+        return port;
+    }
+
+    public void setPort(String port) {
+        this.port = port;
+    }
+}
@@ -0,0 +1,126 @@
+package com.butlert.tradingcardmanager.model;
+
+import java.util.List;
+
+/**
+ * Result of a bulk card upsert.
+ * <p>
+ * Reports how many cards were created, updated, left unchanged or rejected as invalid, and the
+ * outcome of every card in the order the cards were sent.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class UpsertSummary {
+    private final long created;
+    private final long updated;
+    private final long unchanged;
+    private final long invalid;
+    private final List<CardResult> results;
+
+    /**
+     * Constructs an UpsertSummary, counting the outcomes of the given results.
+     *
+     * @param results the outcome of every card, in request order
+     */
+    public UpsertSummary(List<CardResult> results) {
+        this.results = List.copyOf(results);
+        this.created = count(results, Status.CREATED);
+        this.updated = count(results, Status.UPDATED);
+        this.unchanged = count(results, Status.UNCHANGED);
+        this.invalid = count(results, Status.INVALID);
+    }
+
+    private static long count(List<CardResult> results, Status status) {
+        return results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public List<CardResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Outcome of upserting a single card.
+     */
+    public enum Status {
+        /**
+         * The card number was not stored yet and the card was inserted.
+         */
+        CREATED,
+        /**
+         * The card number was stored with different values, which were replaced.
+         */
+        UPDATED,
+        /**
+         * The card number was already stored with the same values.
+         */
+        UNCHANGED,
+        /**
+         * The card failed validation and was not written.
+         */
+        INVALID
+    }
+
+    /**
+     * The outcome of a single card of an upsert, identified by its card number. Invalid cards
+     * carry the reason they were rejected.
+     */
+    public static class CardResult {
+        private final int cardNumber;
+        private final Status status;
+        private final String error;
+
+        /**
+         * Constructs a CardResult for a card that was written or left unchanged.
+         *
+         * @param cardNumber the card number
+         * @param status     what the upsert did with the card
+         */
+        public CardResult(int cardNumber, Status status) {
+            this(cardNumber, status, null);
+        }
+
+        /**
+         * Constructs a CardResult.
+         *
+         * @param cardNumber the card number
+         * @param status     what the upsert did with the card
+         * @param error      why the card is invalid, or null if it is not
+         */
+        public CardResult(int cardNumber, Status status, String error) {
+            this.cardNumber = cardNumber;
+            this.status = status;
+            this.error = error;
+        }
+
+        public int getCardNumber() {
+            return cardNumber;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.butlert.tradingcardmanager.repository;
+
+import com.butlert.tradingcardmanager.model.Card;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JDBC based writer used for bulk inserts of {@link Card} entities.
+ * <p>
+ * {@link Card} uses {@code GenerationType.IDENTITY}, which prevents Hibernate from
+ * batching inserts. This writer bypasses the persistence context and sends each chunk
+ * of cards to the database as a single JDBC batch, reading the generated keys back
+ * into the entities so callers still receive fully populated cards. Bulk upserts are
+ * sent the same way, as one batch of native upsert statements.
+ * </p>
+ * <p>
+ * The writer runs on the same routing {@link DataSource} as the JPA repositories, so it
+ * takes part in any transaction opened by the service layer.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Repository
+public class CardBatchWriter {
+
+    /**
+     * Insert statement shared by every batch.
+     */
+    static final String INSERT_SQL = "INSERT INTO card (card_number, card_game, card_name, rarity, "
+            + "date_purchased, date_set_published, purchase_price, foiled) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Upsert statement used on MySQL. The unique index on {@code card_number} turns the insert
+     * of a stored card number into an update of its row.
+     */
+    static final String MYSQL_UPSERT_SQL = INSERT_SQL + " ON DUPLICATE KEY UPDATE card_game = VALUES(card_game), "
+            + "card_name = VALUES(card_name), rarity = VALUES(rarity), date_purchased = VALUES(date_purchased), "
+            + "date_set_published = VALUES(date_set_published), purchase_price = VALUES(purchase_price), "
+            + "foiled = VALUES(foiled)";
+
+    /**
+     * Upsert statement used on H2, matching stored rows by {@code card_number}.
+     */
+    static final String H2_UPSERT_SQL = "MERGE INTO card (card_number, card_game, card_name, rarity, "
+            + "date_purchased, date_set_published, purchase_price, foiled) KEY (card_number) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Template used to execute the batched statements.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a CardBatchWriter on top of the application's primary data source.
+     *
+     * @param dataSource the routing data source used by the rest of the persistence layer
+     */
+    public CardBatchWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Inserts all given cards using a single JDBC batch and assigns the generated IDs.
+     *
+     * @param cards the cards to insert; none of them may already exist
+     * @return the number of inserted rows
+     */
+    public int insertAll(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+
+        Integer inserted = jdbcTemplate.execute(
+                (Connection con) -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                (PreparedStatement ps) -> {
+                    for (Card card : cards) {
+                        bindCard(ps, card);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    assignGeneratedKeys(ps, cards);
+                    return cards.size();
+                });
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * Inserts a single card and assigns its generated ID. The unique index on
+     * {@code card_number} rejects a card number that is already stored, so no prior
+     * existence check is needed. A rejected insert leaves the surrounding transaction usable.
+     *
+     * @param card the card to insert
+     * @throws org.springframework.dao.DuplicateKeyException if the card number is already stored
+     */
+    public void insert(Card card) {
+        jdbcTemplate.execute(
+                (Connection con) -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                (PreparedStatement ps) -> {
+                    bindCard(ps, card);
+                    ps.executeUpdate();
+                    assignGeneratedKeys(ps, List.of(card));
+                    return null;
+                });
+    }
+
+    /**
+     * Inserts or updates all given cards by card number using a single JDBC batch of native
+     * upserts: {@code INSERT ... ON DUPLICATE KEY UPDATE} on MySQL and {@code MERGE} on H2.
+     * Each card is written atomically, so concurrent writers of the same card number cannot
+     * both insert it. Generated IDs are not read back.
+     *
+     * @param cards the cards to write, with distinct card numbers
+     * @return the number of cards written
+     * @throws IllegalStateException if the database is neither MySQL nor H2
+     */
+    public int upsertAll(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+
+        Integer written = jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(upsertSql(con.getMetaData().getDatabaseProductName()))) {
+                for (Card card : cards) {
+                    bindCard(ps, card);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return cards.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Returns the upsert statement of a database product.
+     *
+     * @param databaseProduct the product name reported by the JDBC driver
+     * @return the upsert statement
+     * @throws IllegalStateException if the product has no upsert statement
+     */
+    static String upsertSql(String databaseProduct) {
+        String product = databaseProduct.toLowerCase(Locale.ROOT);
+        if (product.contains("mysql")) {
+            return MYSQL_UPSERT_SQL;
+        }
+        if (product.contains("h2")) {
+            return H2_UPSERT_SQL;
+        }
+        throw new IllegalStateException("Upserts are not supported on " + databaseProduct);
+    }
+
+    /**
+     * Binds the column values of a card to the insert statement.
+     *
+     * @param ps   the prepared insert statement
+     * @param card the card supplying the values
+     * @throws SQLException if a parameter cannot be bound
+     */
+    private void bindCard(PreparedStatement ps, Card card) throws SQLException {
+        ps.setInt(1, card.getCardNumber());
+        ps.setString(2, card.getCardGame());
+        ps.setString(3, card.getCardName());
+        ps.setString(4, card.getRarity() != null ? card.getRarity().name() : null);
+        ps.setDate(5, card.getDatePurchased() != null ? Date.valueOf(card.getDatePurchased()) : null);
+        ps.setDate(6, card.getDateSetPublished() != null ? Date.valueOf(card.getDateSetPublished()) : null);
+        ps.setBigDecimal(7, card.getPurchasePrice());
+        ps.setBoolean(8, card.isFoiled());
+    }
+
+    /**
+     * Copies the generated primary keys of the last batch back onto the inserted cards.
+     *
+     * @param ps    the executed statement
+     * @param cards the cards in batch order
+     * @throws SQLException if the keys cannot be read
+     */
+    private void assignGeneratedKeys(PreparedStatement ps, List<Card> cards) throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            int i = 0;
+            while (keys.next() && i < cards.size()) {
+                cards.get(i++).setId(keys.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.butlert.tradingcardmanager.repository;
+
+/**
+ * Projection returned by {@link CardRepository#findCardNames()}.
+ * <p>
+ * Holds only the columns indexed for typeahead searches, so the index can be built without
+ * loading every {@link com.butlert.tradingcardmanager.model.Card}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public interface CardNameView {
+    /**
+     * @return the card number
+     */
+    int getCardNumber();
+
+    /**
+     * @return the card name
+     */
+    String getCardName();
+
+    /**
+     * @return the card game
+     */
+    String getCardGame();
+}
@@ -1,18 +1,36 @@
 package com.butlert.tradingcardmanager.repository;
 
 import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for performing CRUD and custom operations on {@link Card} entities.
  * <p>
  * Extends {@link JpaRepository} to provide standard JPA functionality, and includes
- * custom methods for querying and deleting cards based on card number.
+ * custom methods for querying and deleting cards based on card number. Dynamic searches
+ * run through {@link JpaSpecificationExecutor} with the filters of {@link CardSpecifications}.
  * This abstraction makes the persistence layer easy to swap or mock for testing.
  * </p>
  *
@@ -21,7 +39,7 @@ import java.util.Optional;
  * <b>Date:</b> June 18, 2025</p>
  */
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card> {
     /**
      * Finds a card by its unique card number.
      *
@@ -38,6 +56,144 @@ public interface CardRepository extends JpaRepository<Card, Long> {
      */
     boolean existsByCardNumber(int cardNumber);
 
+    /**
+     * Reads one window of cards with keyset pagination.
+     * The sort must end with a unique property, such as the ID, so that positions are unambiguous.
+     *
+     * @param position the keyset position to continue from, or the initial keyset position
+     * @param sort     the sort order of the listing
+     * @param limit    the maximum number of cards in the window
+     * @return the cards after the position, and whether more follow
+     */
+    Window<Card> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Opens a forward-only cursor over every card, ordered by ID, for streaming exports.
+     * <p>
+     * The fetch size makes the JDBC driver read rows in batches instead of loading the whole
+     * result, and the read-only hint stops Hibernate from keeping a snapshot of each entity.
+     * The stream must be consumed and closed inside a transaction.
+     * </p>
+     *
+     * @return a stream of all cards
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select c from Card c order by c.id")
+    Stream<Card> streamAll();
+
+    /**
+     * Returns which of the given card numbers are already stored, using a single query.
+     * Used by bulk imports to check a whole chunk of cards for duplicates at once.
+     *
+     * @param cardNumbers the card numbers to check
+     * @return the subset of card numbers that already exist
+     */
+    @Query("select c.cardNumber from Card c where c.cardNumber in :cardNumbers")
+    List<Integer> findExistingCardNumbers(@Param("cardNumbers") Collection<Integer> cardNumbers);
+
+    /**
+     * Loads the stored cards with the given card numbers and locks their rows until the
+     * transaction ends, using a single {@code SELECT ... FOR UPDATE}. Used by bulk upserts and
+     * deletes to see the stored cards without racing concurrent writers.
+     *
+     * @param cardNumbers the card numbers to load
+     * @return the stored cards among the given card numbers
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where c.cardNumber in :cardNumbers")
+    List<Card> lockByCardNumbers(@Param("cardNumbers") Collection<Integer> cardNumbers);
+
+    /**
+     * Loads and locks the first cards matching a bulk delete filter, in card number order.
+     * Every filter argument is optional; {@code null} matches any card.
+     *
+     * @param fromCardNumber the lowest card number, inclusive
+     * @param toCardNumber   the highest card number, inclusive
+     * @param cardGame       the card game
+     * @param rarity         the rarity
+     * @param purchasedFrom  the earliest purchase date, inclusive
+     * @param purchasedTo    the latest purchase date, inclusive
+     * @param limit          the maximum number of cards to return
+     * @return the matching cards
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where (:fromCardNumber is null or c.cardNumber >= :fromCardNumber) "
+            + "and (:toCardNumber is null or c.cardNumber <= :toCardNumber) "
+            + "and (:cardGame is null or c.cardGame = :cardGame) "
+            + "and (:rarity is null or c.rarity = :rarity) "
+            + "and (:purchasedFrom is null or c.datePurchased >= :purchasedFrom) "
+            + "and (:purchasedTo is null or c.datePurchased <= :purchasedTo) "
+            + "order by c.cardNumber")
+    List<Card> lockMatching(@Param("fromCardNumber") Integer fromCardNumber,
+                            @Param("toCardNumber") Integer toCardNumber,
+                            @Param("cardGame") String cardGame,
+                            @Param("rarity") CardRarity rarity,
+                            @Param("purchasedFrom") LocalDate purchasedFrom,
+                            @Param("purchasedTo") LocalDate purchasedTo,
+                            Limit limit);
+
+    /**
+     * Deletes the cards with the given card numbers with a single set-based
+     * {@code DELETE ... WHERE card_number IN (...)}, bypassing the persistence context.
+     *
+     * @param cardNumbers the card numbers to delete
+     * @return the number of records deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Card c where c.cardNumber in :cardNumbers")
+    int deleteByCardNumbers(@Param("cardNumbers") Collection<Integer> cardNumbers);
+
+    /**
+     * Reads the number, name and game of every card, used to build the typeahead index.
+     *
+     * @return one row per card
+     */
+    @Query("select c.cardNumber as cardNumber, c.cardName as cardName, c.cardGame as cardGame from Card c")
+    List<CardNameView> findCardNames();
+
+    /**
+     * Computes the collection totals used by the statistics endpoint with a single aggregate query.
+     * <p>
+     * {@code SUM} ignores null prices and yields null for an empty collection, so callers
+     * must treat a null total as zero.
+     * </p>
+     *
+     * @return the card count, total purchase price, priced card count and foiled card count of the collection
+     */
+    @Query("select count(c) as totalCards, sum(c.purchasePrice) as totalSpent, count(c.purchasePrice) as pricedCards, "
+            + "sum(case when c.foiled = true then 1L else 0L end) as totalFoiled from Card c")
+    CollectionStatisticsView aggregateCollectionStatistics();
+
+    /**
+     * Groups the priced, non-common cards by rarity and dates and sums their purchase prices.
+     * Used by the valuation engine, since the value of these cards is linear in their price.
+     *
+     * @return one row per distinct rarity, set publication date and purchase date
+     */
+    @Query("select c.rarity as rarity, c.dateSetPublished as dateSetPublished, c.datePurchased as datePurchased, "
+            + "sum(c.purchasePrice) as purchasePrice, count(c) as cardCount from Card c "
+            + "where c.purchasePrice is not null "
+            + "and c.rarity <> com.butlert.tradingcardmanager.model.CardRarity.COMMON "
+            + "group by c.rarity, c.dateSetPublished, c.datePurchased")
+    List<ValuationGroupView> findValuationGroups();
+
+    /**
+     * Groups the priced common cards by dates and purchase price and counts them.
+     * Common cards are valued with a per-card floor, so their prices cannot be summed up front.
+     *
+     * @return one row per distinct set publication date, purchase date and purchase price
+     */
+    @Query("select c.rarity as rarity, c.dateSetPublished as dateSetPublished, c.datePurchased as datePurchased, "
+            + "c.purchasePrice as purchasePrice, count(c) as cardCount from Card c "
+            + "where c.purchasePrice is not null "
+            + "and c.rarity = com.butlert.tradingcardmanager.model.CardRarity.COMMON "
+            + "group by c.rarity, c.dateSetPublished, c.datePurchased, c.purchasePrice")
+    List<ValuationGroupView> findCommonValuationGroups();
+
     /**
      * Deletes a card by its unique card number.
      *
@@ -0,0 +1,114 @@
+package com.butlert.tradingcardmanager.repository;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Building blocks of dynamic card queries, combined by the service into a single
+ * {@link Specification} and run through {@link CardRepository}.
+ * <p>
+ * Each filter compares a column directly, without functions applied to it, so the filters can
+ * be served by the indexes declared on {@link Card}. For the same reason the card name is
+ * matched by prefix; case sensitivity follows the collation of the column.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public final class CardSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CardSpecifications() {
+    }
+
+    /**
+     * Matches cards of a game.
+     *
+     * @param cardGame the card game
+     * @return the specification
+     */
+    public static Specification<Card> hasCardGame(String cardGame) {
+        return (root, query, cb) -> cb.equal(root.get("cardGame"), cardGame);
+    }
+
+    /**
+     * Matches cards whose name starts with a prefix.
+     *
+     * @param prefix the name prefix; {@code %} and {@code _} match literally
+     * @return the specification
+     */
+    public static Specification<Card> cardNameStartsWith(String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("cardName"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Matches cards of a rarity.
+     *
+     * @param rarity the rarity
+     * @return the specification
+     */
+    public static Specification<Card> hasRarity(CardRarity rarity) {
+        return (root, query, cb) -> cb.equal(root.get("rarity"), rarity);
+    }
+
+    /**
+     * Matches foiled or non-foiled cards.
+     *
+     * @param foiled true to match foiled cards, false to match non-foiled cards
+     * @return the specification
+     */
+    public static Specification<Card> isFoiled(boolean foiled) {
+        return (root, query, cb) -> cb.equal(root.get("foiled"), foiled);
+    }
+
+    /**
+     * Matches cards whose purchase price lies in a range.
+     *
+     * @param min the lowest price, inclusive, or {@code null} for no lower bound
+     * @param max the highest price, inclusive, or {@code null} for no upper bound
+     * @return the specification; at least one bound must be given
+     */
+    public static Specification<Card> purchasePriceBetween(BigDecimal min, BigDecimal max) {
+        return between("purchasePrice", min, max);
+    }
+
+    /**
+     * Matches cards purchased in a date range.
+     *
+     * @param from the earliest date, inclusive, or {@code null} for no lower bound
+     * @param to   the latest date, inclusive, or {@code null} for no upper bound
+     * @return the specification; at least one bound must be given
+     */
+    public static Specification<Card> purchasedBetween(LocalDate from, LocalDate to) {
+        return between("datePurchased", from, to);
+    }
+
+    /**
+     * Matches cards whose set was published in a date range.
+     *
+     * @param from the earliest date, inclusive, or {@code null} for no lower bound
+     * @param to   the latest date, inclusive, or {@code null} for no upper bound
+     * @return the specification; at least one bound must be given
+     */
+    public static Specification<Card> publishedBetween(LocalDate from, LocalDate to) {
+        return between("dateSetPublished", from, to);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Card> between(String attribute, T from, T to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get(attribute), from, to);
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(root.get(attribute), from)
+                    : cb.lessThanOrEqualTo(root.get(attribute), to);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.butlert.tradingcardmanager.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection returned by {@link CardRepository#aggregateCollectionStatistics()}.
+ * <p>
+ * Holds the raw totals of the whole collection, computed by the database in a single
+ * aggregate query instead of loading every {@link com.butlert.tradingcardmanager.model.Card}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public interface CollectionStatisticsView {
+    /**
+     * @return the number of cards in the collection
+     */
+    long getTotalCards();
+
+    /**
+     * @return the sum of all non-null purchase prices, or null if no card has a price
+     */
+    BigDecimal getTotalSpent();
+
+    /**
+     * @return the number of cards with a purchase price
+     */
+    long getPricedCards();
+
+    /**
+     * @return the number of foiled cards, or null if the collection is empty
+     */
+    Long getTotalFoiled();
+}
@@ -0,0 +1,48 @@
+package com.butlert.tradingcardmanager.repository;
+
+import com.butlert.tradingcardmanager.model.CardRarity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection describing a group of priced cards that share the same valuation inputs.
+ * <p>
+ * A card's value only depends on its rarity, its two dates and its purchase price, so the
+ * collection value can be computed from one row per group instead of one row per card.
+ * {@link CardRepository#findValuationGroups()} sums the prices of each group, while
+ * {@link CardRepository#findCommonValuationGroups()} also groups by price, because the
+ * value floor of common cards has to be applied to every card individually.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public interface ValuationGroupView {
+    /**
+     * @return the rarity shared by the cards of the group
+     */
+    CardRarity getRarity();
+
+    /**
+     * @return the set publication date shared by the cards of the group
+     */
+    LocalDate getDateSetPublished();
+
+    /**
+     * @return the purchase date shared by the cards of the group
+     */
+    LocalDate getDatePurchased();
+
+    /**
+     * @return the sum of the purchase prices in the group, or the price of each card
+     *         for groups that are also grouped by price
+     */
+    BigDecimal getPurchasePrice();
+
+    /**
+     * @return the number of cards in the group
+     */
+    long getCardCount();
+}
@@ -0,0 +1,163 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.DataSourceSwitchedEvent;
+import com.butlert.tradingcardmanager.config.DataSourceSwitchingEvent;
+import com.butlert.tradingcardmanager.model.Card;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of single cards, keyed by card number.
+ * <p>
+ * Cards are cached as the JSON the REST API returns for them, so a hit is served without a
+ * database query or serialization, and callers never share a mutable entity. The cache is
+ * bounded by {@code tradingcards.card-cache.maximum-size} entries and evicts with Caffeine's
+ * W-TinyLFU policy, which keeps the frequently requested cards of a skewed workload; entries
+ * also expire {@code tradingcards.card-cache.expire-after-write} after they were loaded.
+ * Card numbers that do not exist are not cached.
+ * </p>
+ * <p>
+ * Every mutation invalidates the cards it touched once its transaction has completed, and the
+ * whole cache is flushed when the database is switched. A load racing an invalidation cannot
+ * leave a stale entry behind, since Caffeine makes the invalidation of a key wait for a load
+ * of that key in progress.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardCache {
+
+    private final Cache<Integer, byte[]> cards;
+    private final ObjectWriter jsonWriter;
+
+    /**
+     * Constructs a CardCache.
+     *
+     * @param objectMapper     the application's object mapper, so cached JSON matches API responses
+     * @param maximumSize      the maximum number of cached cards
+     * @param expireAfterWrite how long a cached card is served before it is loaded again
+     */
+    public CardCache(ObjectMapper objectMapper,
+                     @Value("${tradingcards.card-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${tradingcards.card-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.jsonWriter = objectMapper.writer();
+        this.cards = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the JSON of a card, loading and caching it on a miss.
+     *
+     * @param cardNumber the card number
+     * @param loader     loads the card from the database, returning {@code null} if it does not exist
+     * @return the card as JSON, or {@code null} if the card does not exist
+     * @throws UncheckedIOException if the card cannot be serialized
+     */
+    public byte[] get(int cardNumber, Supplier<Card> loader) {
+        return cards.get(cardNumber, key -> {
+            Card card = loader.get();
+            return card != null ? serialize(card) : null;
+        });
+    }
+
+    /**
+     * Invalidates a card once the current transaction has completed, or right away if no
+     * transaction is active.
+     *
+     * @param cardNumber the card number
+     */
+    public void invalidate(int cardNumber) {
+        invalidateAll(List.of(cardNumber));
+    }
+
+    /**
+     * Invalidates cards once the current transaction has completed, or right away if no
+     * transaction is active.
+     *
+     * @param cardNumbers the card numbers
+     */
+    public void invalidateAll(Collection<Integer> cardNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cards.invalidateAll(cardNumbers);
+            return;
+        }
+
+        List<Integer> keys = List.copyOf(cardNumbers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cards.invalidateAll(keys);
+            }
+        });
+    }
+
+    /**
+     * Flushes the cache while the switch still holds back traffic, so no request served by
+     * the new database reads a card cached from the old one.
+     *
+     * @param event the switching event
+     */
+    @EventListener
+    public void onDataSourceSwitching(DataSourceSwitchingEvent event) {
+        cards.invalidateAll();
+    }
+
+    /**
+     * Flushes the cache again once the database has been switched, dropping cards that lookups
+     * started on the old database stored after the first flush.
+     *
+     * @param event the switch event
+     */
+    @EventListener
+    public void onDataSourceSwitched(DataSourceSwitchedEvent event) {
+        cards.invalidateAll();
+    }
+
+    /**
+     * Returns the hit and miss counters of the cache.
+     *
+     * @return the cache size, hit and miss counts, hit rate and eviction count
+     */
+    public Map<String, Object> statistics() {
+        CacheStats stats = cards.stats();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", cards.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        statistics.put("averageLoadMs", stats.averageLoadPenalty() / 1_000_000.0);
+        return statistics;
+    }
+
+    private byte[] serialize(Card card) {
+        try {
+            return jsonWriter.writeValueAsBytes(card);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize card " + card.getCardNumber(), e);
+        }
+    }
+}
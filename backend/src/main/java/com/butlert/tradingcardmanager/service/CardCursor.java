@@ -0,0 +1,174 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset position of a card listing, encoded as an opaque token for clients.
+ * <p>
+ * A cursor holds the sort field, the sort direction and the sort value and ID of the last card
+ * of a page. The ID breaks ties between cards sharing a sort value, which keeps the ordering
+ * stable and lets the next page start strictly after the last card with an indexed range scan
+ * instead of an offset. The token is the URL-safe Base64 form of
+ * {@code sort,direction,id,value}; the value comes last so it may contain commas.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+final class CardCursor {
+    private final SortField sortField;
+    private final Sort.Direction direction;
+    private final long lastId;
+    private final Object lastValue;
+
+    private CardCursor(SortField sortField, Sort.Direction direction, long lastId, Object lastValue) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Creates the cursor pointing just after the given card.
+     *
+     * @param sortField the sort field of the listing
+     * @param direction the sort direction of the listing
+     * @param lastCard  the last card of the current page
+     * @return the cursor for the next page
+     */
+    static CardCursor after(SortField sortField, Sort.Direction direction, Card lastCard) {
+        return new CardCursor(sortField, direction, lastCard.getId(), sortField.extractor.apply(lastCard));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the cursor token sent by the client
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static CardCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(",", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            SortField sortField = SortField.fromParameter(parts[0]);
+            Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+            return new CardCursor(sortField, direction, Long.parseLong(parts[2]), sortField.parser.apply(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the token
+     */
+    String encode() {
+        String value = lastValue instanceof BigDecimal price ? price.toPlainString() : String.valueOf(lastValue);
+        String raw = sortField.property + "," + direction.name() + "," + lastId + "," + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the Spring Data keyset position that starts right after the last card.
+     *
+     * @return the scroll position
+     */
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortField.property, lastValue);
+        keys.put("id", lastId);
+        return ScrollPosition.forward(keys);
+    }
+
+    SortField getSortField() {
+        return sortField;
+    }
+
+    Sort.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Card properties a listing can be sorted by, with how their values are read from a card
+     * and parsed back from a cursor.
+     */
+    enum SortField {
+        ID("id", Card::getId, Long::valueOf),
+        CARD_NUMBER("cardNumber", Card::getCardNumber, Integer::valueOf),
+        CARD_NAME("cardName", Card::getCardName, value -> value),
+        CARD_GAME("cardGame", Card::getCardGame, value -> value),
+        PURCHASE_PRICE("purchasePrice", Card::getPurchasePrice, BigDecimal::new),
+        DATE_PURCHASED("datePurchased", Card::getDatePurchased, LocalDate::parse),
+        DATE_SET_PUBLISHED("dateSetPublished", Card::getDateSetPublished, LocalDate::parse);
+
+        private final String property;
+        private final Function<Card, Object> extractor;
+        private final Function<String, Object> parser;
+
+        SortField(String property, Function<Card, Object> extractor, Function<String, Object> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        /**
+         * Resolves the value of the {@code sort} request parameter.
+         *
+         * @param parameter the parameter value, case-insensitive
+         * @return the matching sort field
+         * @throws IllegalArgumentException if the field is not sortable
+         */
+        static SortField fromParameter(String parameter) {
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(parameter)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort field: " + parameter);
+        }
+
+        /**
+         * Returns the sort order for this field, using the ID as tie-breaker.
+         *
+         * @param direction the sort direction
+         * @return the Spring Data sort
+         */
+        Sort toSort(Sort.Direction direction) {
+            Sort sort = Sort.by(direction, property);
+            return this == ID ? sort : sort.and(Sort.by(direction, "id"));
+        }
+
+        /**
+         * Returns the order of {@link #toSort(Sort.Direction)} as a comparator, used to merge
+         * pages read from several shards. Missing values sort first in ascending order.
+         *
+         * @param direction the sort direction
+         * @return the comparator
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Comparator<Card> comparator(Sort.Direction direction) {
+            Comparator<Card> byValue = Comparator.comparing(card -> (Comparable) extractor.apply(card),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            Comparator<Card> order = this == ID ? byValue
+                    : byValue.thenComparing(Card::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            return direction.isAscending() ? order : order.reversed();
+        }
+    }
+}
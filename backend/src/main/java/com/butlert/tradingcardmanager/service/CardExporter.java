@@ -0,0 +1,193 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole card collection to an output stream without holding it in memory.
+ * <p>
+ * Cards are read through {@link CardRepository#streamAll()}, a forward-only cursor with a
+ * JDBC fetch size and Hibernate's read-only hint, and every card is written and then detached
+ * from the persistence context, so memory use does not grow with the collection. Callers must
+ * run the export inside a read-only transaction, which keeps the cursor open.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardExporter {
+    /**
+     * Header row of the CSV format, matching the column order of {@link #writeCsvRow(Writer, Card)}.
+     */
+    static final String CSV_HEADER = "id,cardNumber,cardGame,cardName,rarity,datePurchased,dateSetPublished,purchasePrice,foiled";
+
+    /**
+     * Number of cards written between two flushes of the output stream.
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final CardRepository cardRepository;
+
+    /**
+     * Writer configured like the REST API's object mapper, without flushing after every card
+     * and without the default space between root values, since each card ends its own line.
+     */
+    private final ObjectWriter jsonWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructs a CardExporter.
+     *
+     * @param cardRepository repository providing the card cursor
+     * @param objectMapper   the application's object mapper, so exported JSON matches API responses
+     */
+    public CardExporter(CardRepository cardRepository, ObjectMapper objectMapper) {
+        this.cardRepository = cardRepository;
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+    }
+
+    /**
+     * Streams every card to the output in the given format, ordered by ID.
+     *
+     * @param out    the destination stream; it is flushed but not closed
+     * @param format the output format
+     * @return the number of cards written
+     * @throws IOException if writing to the output fails
+     */
+    public long export(OutputStream out, CardExportFormat format) throws IOException {
+        return export(out, format, true);
+    }
+
+    /**
+     * Streams every card to the output in the given format, ordered by ID, optionally without
+     * the CSV header, so the cards of several shards can follow one header.
+     *
+     * @param out    the destination stream; it is flushed but not closed
+     * @param format the output format
+     * @param header whether to write the CSV header row; ignored for NDJSON
+     * @return the number of cards written
+     * @throws IOException if writing to the output fails
+     */
+    public long export(OutputStream out, CardExportFormat format, boolean header) throws IOException {
+        try (Stream<Card> cards = cardRepository.streamAll()) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(out, cards.iterator());
+                case CSV -> writeCsv(out, cards.iterator(), header);
+            };
+        }
+    }
+
+    /**
+     * Writes one JSON object per line.
+     */
+    private long writeNdjson(OutputStream out, Iterator<Card> cards) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = jsonWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (cards.hasNext()) {
+                Card card = cards.next();
+                jsonWriter.writeValue(generator, card);
+                generator.writeRaw('\n');
+                entityManager.detach(card);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+
+    /**
+     * Writes an optional header row followed by one row per card.
+     */
+    private long writeCsv(OutputStream out, Iterator<Card> cards, boolean header) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (header) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        while (cards.hasNext()) {
+            Card card = cards.next();
+            writeCsvRow(writer, card);
+            entityManager.detach(card);
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes the columns of one card as a CSV row.
+     *
+     * @param writer the destination
+     * @param card   the card to write
+     * @throws IOException if writing fails
+     */
+    static void writeCsvRow(Writer writer, Card card) throws IOException {
+        writer.write(String.valueOf(card.getId()));
+        writer.write(',');
+        writer.write(Integer.toString(card.getCardNumber()));
+        writer.write(',');
+        writeCsvText(writer, card.getCardGame());
+        writer.write(',');
+        writeCsvText(writer, card.getCardName());
+        writer.write(',');
+        writer.write(card.getRarity() != null ? card.getRarity().name() : "");
+        writer.write(',');
+        writer.write(card.getDatePurchased() != null ? card.getDatePurchased().toString() : "");
+        writer.write(',');
+        writer.write(card.getDateSetPublished() != null ? card.getDateSetPublished().toString() : "");
+        writer.write(',');
+        writer.write(card.getPurchasePrice() != null ? card.getPurchasePrice().toPlainString() : "");
+        writer.write(',');
+        writer.write(Boolean.toString(card.isFoiled()));
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a text column, quoting it when it contains a delimiter, quote or line break.
+     *
+     * @param writer the destination
+     * @param value  the column value, may be null
+     * @throws IOException if writing fails
+     */
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,278 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.ImportJobStatus;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.utils.exception.CardImportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs card imports as background jobs, so the upload request returns as soon as the file is
+ * received instead of holding its HTTP thread for the whole import.
+ * <p>
+ * The upload is first copied to a temporary file, since the multipart upload is deleted when
+ * the request ends. A submission that finds the queue full is rejected before the upload is
+ * copied. Jobs then run on a dedicated executor with at most
+ * {@code tradingcards.import.max-concurrent-jobs} threads and a bounded queue of
+ * {@code tradingcards.import.max-queued-jobs} waiting jobs; further submissions are rejected.
+ * A running job holds at most one database connection at a time and shares the importer's
+ * parse threads, so concurrent imports cannot exhaust the resources interactive requests need.
+ * With {@code spring.threads.virtual.enabled} the job threads are virtual threads, which release
+ * their carrier while they wait on the database; the pool still bounds how many jobs run.
+ * Each job runs through the routing task decorator, so it starts with the submitting request's
+ * routing key and leaves no key behind on the pooled thread.
+ * </p>
+ * <p>
+ * Jobs report their progress while they run and can be cancelled. The result of a finished job
+ * is kept until it is fetched once, or until it is older than
+ * {@code tradingcards.import.job-retention}.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardImportJobs implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(CardImportJobs.class);
+
+    private final CardService cardService;
+    private final TaskDecorator taskDecorator;
+    private final ThreadPoolExecutor executor;
+    private final long retentionNanos;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the job registry and its executor.
+     *
+     * @param cardService       service running the imports
+     * @param taskDecorator     decorator carrying the submitting thread's routing key to the job
+     * @param maxConcurrentJobs maximum number of imports running at the same time
+     * @param maxQueuedJobs     maximum number of imports waiting for a free slot
+     * @param retention         how long an unfetched result of a finished job is kept
+     * @param virtualThreads    whether jobs run on virtual threads instead of platform threads
+     */
+    public CardImportJobs(CardService cardService,
+                          TaskDecorator taskDecorator,
+                          @Value("${tradingcards.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                          @Value("${tradingcards.import.max-queued-jobs:8}") int maxQueuedJobs,
+                          @Value("${tradingcards.import.job-retention:24h}") Duration retention,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.cardService = cardService;
+        this.taskDecorator = taskDecorator;
+        this.retentionNanos = retention.toNanos();
+
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("card-import-job-", 1).factory()
+                : Thread.ofPlatform().name("card-import-job-", 1).daemon().factory();
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueuedJobs)), threadFactory);
+    }
+
+    /**
+     * Stores an upload and queues its import.
+     *
+     * @param upload    the uploaded import lines
+     * @param maxErrors the maximum number of line errors kept for the summary
+     * @return the status of the queued job
+     * @throws CardImportException        if the upload cannot be stored
+     * @throws RejectedExecutionException if the maximum number of jobs is already queued
+     */
+    public ImportJobStatus submit(InputStream upload, int maxErrors) {
+        purgeExpired();
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Import job queue is full");
+        }
+
+        Path file;
+        try {
+            file = Files.createTempFile("card-import-", ".txt");
+        } catch (IOException e) {
+            throw new CardImportException("Failed to store upload: " + e.getMessage(), e);
+        }
+        try {
+            Files.copy(upload, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new CardImportException("Failed to store upload: " + e.getMessage(), e);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), maxErrors, file);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(taskDecorator.decorate(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(file);
+            throw e;
+        }
+        return job.status();
+    }
+
+    /**
+     * Returns the status of a job. Fetching a finished job hands out its result and forgets it.
+     *
+     * @param jobId the id of the job
+     * @return the status, or empty if the job is unknown or its result was already fetched
+     */
+    public Optional<ImportJobStatus> fetch(String jobId) {
+        purgeExpired();
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        ImportJobStatus status = job.status();
+        if (status.getState().isFinished()) {
+            jobs.remove(jobId);
+        }
+        return Optional.of(status);
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled at once; a running job stops after the chunk it
+     * is writing. The result stays available until fetched.
+     *
+     * @param jobId the id of the job
+     * @return the status after the request, or empty if the job is unknown
+     */
+    public Optional<ImportJobStatus> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.progress.cancel();
+        synchronized (job) {
+            if (job.state == ImportJobStatus.State.QUEUED) {
+                if (job.future != null) {
+                    job.future.cancel(false);
+                }
+                job.finish(ImportJobStatus.State.CANCELLED, new ImportSummary(0, 0, 0, 0, List.of(), 0), null);
+                deleteQuietly(job.file);
+            }
+        }
+        return Optional.of(job.status());
+    }
+
+    /**
+     * Stops the running imports and the executor when the application context closes, and
+     * deletes the stored uploads of jobs that never started.
+     */
+    @Override
+    public void destroy() {
+        jobs.values().forEach(job -> job.progress.cancel());
+        executor.shutdownNow();
+        for (Job job : jobs.values()) {
+            synchronized (job) {
+                if (job.state == ImportJobStatus.State.QUEUED) {
+                    job.finish(ImportJobStatus.State.CANCELLED, new ImportSummary(0, 0, 0, 0, List.of(), 0), null);
+                    deleteQuietly(job.file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Imports the stored upload of a job. Runs on the job executor.
+     *
+     * @param job the job
+     */
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.state != ImportJobStatus.State.QUEUED) {
+                return;
+            }
+            job.state = ImportJobStatus.State.RUNNING;
+            job.startNanos = System.nanoTime();
+        }
+
+        try (InputStream input = Files.newInputStream(job.file)) {
+            ImportSummary summary = cardService.importCardsFromStream(input, job.maxErrors, job.progress);
+            job.finish(job.progress.isCancelled() ? ImportJobStatus.State.CANCELLED : ImportJobStatus.State.COMPLETED,
+                    summary, null);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import job {} failed: {}", job.id, e.getMessage());
+            job.finish(ImportJobStatus.State.FAILED, null, e.getMessage());
+        } finally {
+            deleteQuietly(job.file);
+        }
+    }
+
+    /**
+     * Forgets finished jobs whose result was not fetched within the retention period.
+     */
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.state.isFinished() && now - job.finishNanos > retentionNanos);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A submitted import and its live state.
+     */
+    private static final class Job {
+        private final String id;
+        private final int maxErrors;
+        private final Path file;
+        private final ImportProgress progress = new ImportProgress();
+        private volatile Future<?> future;
+        private volatile ImportJobStatus.State state = ImportJobStatus.State.QUEUED;
+        private volatile long startNanos;
+        private volatile long finishNanos;
+        private volatile ImportSummary summary;
+        private volatile String error;
+
+        private Job(String id, int maxErrors, Path file) {
+            this.id = id;
+            this.maxErrors = maxErrors;
+            this.file = file;
+        }
+
+        private synchronized void finish(ImportJobStatus.State finalState, ImportSummary summary, String error) {
+            this.summary = summary;
+            this.error = error;
+            this.finishNanos = System.nanoTime();
+            this.state = finalState;
+        }
+
+        private synchronized ImportJobStatus status() {
+            long elapsedNanos = startNanos == 0 ? 0
+                    : (state.isFinished() ? finishNanos : System.nanoTime()) - startNanos;
+            long linesRead = summary != null ? summary.getLinesRead() : progress.getLinesRead();
+            long imported = summary != null ? summary.getImported() : progress.getImported();
+            long duplicates = summary != null ? summary.getDuplicates() : progress.getDuplicates();
+            long rejected = summary != null ? summary.getRejected() : progress.getRejected();
+            double linesPerSecond = elapsedNanos > 0 ? linesRead * 1e9 / elapsedNanos : 0;
+            return new ImportJobStatus(id, state, linesRead, imported, duplicates, rejected, linesPerSecond,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), error, summary);
+        }
+    }
+}
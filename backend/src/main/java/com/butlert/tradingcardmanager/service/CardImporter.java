@@ -0,0 +1,484 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.repository.CardBatchWriter;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.utils.exception.CardImportException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Chunked import pipeline shared by all card file imports.
+ * <p>
+ * The pipeline has two stages. The calling thread reads the input and cuts it into chunks of
+ * {@value #BATCH_SIZE} lines. Each chunk is parsed and validated with
+ * {@link CardParser#parseCard(String)} on a dedicated thread pool
+ * sized to the number of available cores, since parsing is CPU bound and every line is
+ * independent. The calling thread then acts as the single writer: it takes the parsed chunks
+ * back in file order, reports rejected lines with their original line numbers, checks the
+ * chunk for existing card numbers with a single query and writes the new cards with one JDBC
+ * batch insert inside its own transaction, or inside the caller's transaction if one is active.
+ * When the cards are sharded, each chunk is split by shard and every part is checked and
+ * written in a transaction on its own shard.
+ * </p>
+ * <p>
+ * A card number inserted by a concurrent writer between the check and the insert makes the
+ * unique index reject the batch. The chunk's transaction is then rolled back and the chunk is
+ * checked and written again, so the card that lost the race counts as a duplicate instead of
+ * failing the import. This needs the chunk to own its transaction; inside a caller's
+ * transaction the rejection is passed on.
+ * </p>
+ * <p>
+ * At most a few chunks per core are parsed ahead of the writer, so memory use stays bounded
+ * for inputs of any size.
+ * </p>
+ * <p>
+ * The writer counts every line it handles in {@value #LINES_METRIC}, tagged by outcome:
+ * {@code parsed} for valid lines, {@code rejected} for skipped invalid lines, {@code duplicate}
+ * for valid lines whose card number is already stored, and {@code persisted} for inserted cards.
+ * </p>
+ * <p>
+ * Rejected lines are not logged one by one, which would make console output a large share of
+ * an import of a bad file. Their reasons are counted instead and logged as one summary when the
+ * import ends, and at most every {@value #REJECTION_LOG_INTERVAL_SECONDS} seconds while a long
+ * import runs. Each rejected line is still logged at debug level.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardImporter implements DisposableBean {
+    /**
+     * Number of lines parsed together and written with a single batch insert.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Number of chunks each parser thread may run ahead of the writer.
+     */
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 2;
+
+    /**
+     * Name of the counter of handled import lines.
+     */
+    static final String LINES_METRIC = "tradingcards.import.lines";
+
+    /**
+     * Minimum number of seconds between two progress summaries of rejected lines.
+     */
+    static final long REJECTION_LOG_INTERVAL_SECONDS = 10;
+
+    /**
+     * Number of distinct rejection reasons counted per import; further reasons count as "other".
+     */
+    private static final int MAX_REJECTION_REASONS = 16;
+
+    /**
+     * Number of times a chunk is checked and written before a rejected card number fails the import.
+     */
+    static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(CardImporter.class);
+
+    private final CardRepository cardRepository;
+    private final CardBatchWriter cardBatchWriter;
+    private final CardParser cardParser;
+    private final CollectionAggregateStore collectionAggregateStore;
+    private final CardShards cardShards;
+
+    private final Counter parsedLines;
+    private final Counter rejectedLines;
+    private final Counter duplicateLines;
+    private final Counter persistedLines;
+
+    /**
+     * Thread pool running the parse and validate stage.
+     */
+    private final ExecutorService parseExecutor;
+
+    /**
+     * Maximum number of parsed chunks waiting for the writer.
+     */
+    private final int maxChunksInFlight;
+
+    /**
+     * Constructs a CardImporter with the components needed to parse, validate and store cards.
+     *
+     * @param cardRepository           repository used for the per-chunk duplicate check
+     * @param cardBatchWriter          JDBC batch writer used to insert each chunk
+     * @param cardParser               parser and validator for single import lines
+     * @param collectionAggregateStore in-memory aggregates told about every inserted chunk
+     * @param cardShards               runs the write of each chunk on the shards holding its cards
+     * @param meterRegistry            registry receiving the import line counters
+     */
+    public CardImporter(CardRepository cardRepository,
+                        CardBatchWriter cardBatchWriter,
+                        CardParser cardParser,
+                        CollectionAggregateStore collectionAggregateStore,
+                        CardShards cardShards,
+                        MeterRegistry meterRegistry) {
+        this.cardRepository = cardRepository;
+        this.cardBatchWriter = cardBatchWriter;
+        this.cardParser = cardParser;
+        this.collectionAggregateStore = collectionAggregateStore;
+        this.cardShards = cardShards;
+        this.parsedLines = linesCounter(meterRegistry, "parsed");
+        this.rejectedLines = linesCounter(meterRegistry, "rejected");
+        this.duplicateLines = linesCounter(meterRegistry, "duplicate");
+        this.persistedLines = linesCounter(meterRegistry, "persisted");
+
+        int parseThreads = Runtime.getRuntime().availableProcessors();
+        this.maxChunksInFlight = parseThreads * CHUNKS_IN_FLIGHT_PER_THREAD;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.parseExecutor = Executors.newFixedThreadPool(parseThreads, runnable -> {
+            Thread thread = new Thread(runnable, "card-import-parse-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports every line from the given reader.
+     *
+     * @param reader     the source of import lines
+     * @param maxErrors  the maximum number of line errors kept for the summary
+     * @param onInserted callback receiving each chunk of inserted cards, with generated IDs
+     * @return a summary of the import
+     * @throws IOException if the reader fails
+     */
+    public ImportSummary importLines(BufferedReader reader, int maxErrors, Consumer<List<Card>> onInserted)
+            throws IOException {
+        return importLines(reader, maxErrors, onInserted, new ImportProgress());
+    }
+
+    /**
+     * Imports every line from the given reader, publishing the counters to {@code progress}
+     * after every chunk and stopping early once it is cancelled. A cancelled import drops the
+     * chunks it has read but not written, and its summary only counts the lines it has written.
+     *
+     * @param reader     the source of import lines
+     * @param maxErrors  the maximum number of line errors kept for the summary
+     * @param onInserted callback receiving each chunk of inserted cards, with generated IDs
+     * @param progress   receives the live counters and may cancel the import
+     * @return a summary of the import
+     * @throws IOException if the reader fails
+     */
+    public ImportSummary importLines(BufferedReader reader, int maxErrors, Consumer<List<Card>> onInserted,
+                                     ImportProgress progress) throws IOException {
+        long start = System.nanoTime();
+        Tally tally = new Tally(maxErrors);
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+
+        try {
+            long lineNumber = 0;
+            long firstLineNumber = 1;
+            List<String> lines = new ArrayList<>(BATCH_SIZE);
+
+            String line;
+            while (!progress.isCancelled() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+
+                if (lines.size() >= BATCH_SIZE) {
+                    inFlight.add(submitParse(lines, firstLineNumber));
+                    lines = new ArrayList<>(BATCH_SIZE);
+                    firstLineNumber = lineNumber + 1;
+                    progress.linesRead(lineNumber);
+
+                    if (inFlight.size() >= maxChunksInFlight) {
+                        writeNext(inFlight, tally, onInserted, progress);
+                    }
+                }
+            }
+            if (!lines.isEmpty() && !progress.isCancelled()) {
+                inFlight.add(submitParse(lines, firstLineNumber));
+            }
+            progress.linesRead(lineNumber);
+            while (!inFlight.isEmpty() && !progress.isCancelled()) {
+                writeNext(inFlight, tally, onInserted, progress);
+            }
+            tally.linesRead = progress.isCancelled() ? tally.valid + tally.rejected : lineNumber;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        if (tally.rejected > 0) {
+            logger.warn("Import skipped {} of {} lines as invalid, by reason: {}",
+                    tally.rejected, tally.linesRead, tally.rejectionReasons);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new ImportSummary(tally.linesRead, tally.imported, tally.valid - tally.imported,
+                tally.rejected, tally.errors, elapsedMillis);
+    }
+
+    /**
+     * Shuts down the parse thread pool when the application context closes.
+     */
+    @Override
+    public void destroy() {
+        parseExecutor.shutdownNow();
+    }
+
+    /**
+     * Hands a chunk of raw lines to the parse stage.
+     *
+     * @param lines           the raw lines of the chunk
+     * @param firstLineNumber the 1-based line number of the first line in the chunk
+     * @return a future completing with the parsed chunk
+     */
+    private Future<ParsedChunk> submitParse(List<String> lines, long firstLineNumber) {
+        return parseExecutor.submit(() -> parseChunk(lines, firstLineNumber));
+    }
+
+    /**
+     * Parses and validates every line of a chunk. Runs on the parse thread pool.
+     *
+     * @param lines           the raw lines of the chunk
+     * @param firstLineNumber the 1-based line number of the first line in the chunk
+     * @return the valid cards and rejected lines of the chunk, in file order
+     */
+    private ParsedChunk parseChunk(List<String> lines, long firstLineNumber) {
+        ParsedChunk chunk = new ParsedChunk(lines.size());
+        long lineNumber = firstLineNumber;
+
+        for (String line : lines) {
+            try {
+                chunk.cards.add(cardParser.parseCard(line));
+            } catch (IllegalArgumentException e) {
+                chunk.rejected.add(new RejectedLine(lineNumber, line, e));
+            }
+            lineNumber++;
+        }
+        return chunk;
+    }
+
+    /**
+     * Waits for the parse stage to finish a chunk.
+     *
+     * @param future the pending chunk
+     * @return the parsed chunk
+     * @throws CardImportException if parsing failed unexpectedly or the import was interrupted
+     */
+    private ParsedChunk await(Future<ParsedChunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CardImportException("Import was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CardImportException("Failed to parse import lines: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Writes the oldest chunk in flight and publishes the counters.
+     *
+     * @param inFlight   the chunks in flight, oldest first
+     * @param tally      the running counters of the import
+     * @param onInserted callback receiving the inserted cards
+     * @param progress   receives the counters
+     */
+    private void writeNext(Deque<Future<ParsedChunk>> inFlight, Tally tally, Consumer<List<Card>> onInserted,
+                           ImportProgress progress) {
+        writeChunk(await(inFlight.poll()), tally, onInserted);
+        progress.linesWritten(tally.imported, tally.valid - tally.imported, tally.rejected);
+    }
+
+    /**
+     * Writer stage: reports the rejected lines of a parsed chunk, then writes its cards
+     * in a transaction and hands the inserted cards to the callback.
+     *
+     * @param chunk      the parsed chunk
+     * @param tally      the running counters of the import
+     * @param onInserted callback receiving the inserted cards
+     */
+    private void writeChunk(ParsedChunk chunk, Tally tally, Consumer<List<Card>> onInserted) {
+        for (RejectedLine rejected : chunk.rejected) {
+            tally.rejected++;
+            if (tally.errors.size() < tally.maxErrors) {
+                tally.errors.add(new ImportSummary.LineError(rejected.lineNumber, rejected.error.getMessage()));
+            }
+            tally.countRejection(rejected.error.getMessage());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Skipping invalid line {}: {} ({})", rejected.lineNumber, rejected.line,
+                        rejected.error.getMessage());
+            }
+        }
+        rejectedLines.increment(chunk.rejected.size());
+        if (tally.rejectedSinceLog > 0 && System.nanoTime() - tally.lastRejectionLog
+                >= TimeUnit.SECONDS.toNanos(REJECTION_LOG_INTERVAL_SECONDS)) {
+            logger.warn("Import in progress: skipped {} invalid lines so far ({} since the last report), by reason: {}",
+                    tally.rejected, tally.rejectedSinceLog, tally.rejectionReasons);
+            tally.rejectedSinceLog = 0;
+            tally.lastRejectionLog = System.nanoTime();
+        }
+
+        if (chunk.cards.isEmpty()) {
+            return;
+        }
+        tally.valid += chunk.cards.size();
+        parsedLines.increment(chunk.cards.size());
+
+        List<Card> inserted = new ArrayList<>(chunk.cards.size());
+        for (Map.Entry<String, List<Card>> shard : cardShards.partition(chunk.cards).entrySet()) {
+            inserted.addAll(writeNewCards(shard.getKey(), shard.getValue()));
+        }
+        duplicateLines.increment(chunk.cards.size() - inserted.size());
+        if (inserted.isEmpty()) {
+            return;
+        }
+        tally.imported += inserted.size();
+        persistedLines.increment(inserted.size());
+        onInserted.accept(inserted);
+    }
+
+    private static Counter linesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(LINES_METRIC)
+                .description("Import lines handled by the writer stage")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inserts the cards of one chunk that are not stored yet in a transaction on their shard,
+     * checking and writing the chunk again if a concurrent writer stored one of its card numbers
+     * between the check and the insert.
+     *
+     * @param shardKey the shard of the cards, or {@code null} for the active database
+     * @param cards    the validated cards of the current chunk on that shard
+     * @return the cards that were inserted, with their generated IDs
+     * @throws DuplicateKeyException if the chunk still loses races after {@value #MAX_WRITE_ATTEMPTS}
+     *                               attempts, or runs inside a caller's transaction
+     */
+    private List<Card> writeNewCards(String shardKey, List<Card> cards) {
+        boolean ownTransaction = shardKey != null || !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return cardShards.onShard(shardKey, false, () -> insertNewCards(cards));
+            } catch (DuplicateKeyException e) {
+                if (!ownTransaction || attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Card number stored concurrently, writing the chunk again: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Inserts the cards of one chunk that are not stored yet.
+     * Existing card numbers are looked up with a single query, and repeated card numbers
+     * inside the chunk keep only their first occurrence.
+     *
+     * @param chunk the validated cards of the current chunk
+     * @return the cards that were inserted, with their generated IDs
+     */
+    private List<Card> insertNewCards(List<Card> chunk) {
+        Map<Integer, Card> byNumber = new LinkedHashMap<>();
+        for (Card card : chunk) {
+            byNumber.putIfAbsent(card.getCardNumber(), card);
+        }
+
+        Set<Integer> existing = new HashSet<>(cardRepository.findExistingCardNumbers(byNumber.keySet()));
+        List<Card> newCards = new ArrayList<>(byNumber.size());
+        for (Card card : byNumber.values()) {
+            if (!existing.contains(card.getCardNumber())) {
+                newCards.add(card);
+            }
+        }
+
+        cardBatchWriter.insertAll(newCards);
+        collectionAggregateStore.cardsAdded(newCards);
+        return newCards;
+    }
+
+    /**
+     * Valid cards and rejected lines produced by the parse stage for one chunk.
+     */
+    private static final class ParsedChunk {
+        private final List<Card> cards;
+        private final List<RejectedLine> rejected = new ArrayList<>();
+
+        private ParsedChunk(int size) {
+            this.cards = new ArrayList<>(size);
+        }
+    }
+
+    /**
+     * A line rejected by the parse stage together with its 1-based line number.
+     */
+    private static final class RejectedLine {
+        private final long lineNumber;
+        private final String line;
+        private final IllegalArgumentException error;
+
+        private RejectedLine(long lineNumber, String line, IllegalArgumentException error) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Running counters of a single import, only touched by the writer stage.
+     */
+    private static final class Tally {
+        private final int maxErrors;
+        private final List<ImportSummary.LineError> errors = new ArrayList<>();
+        private long linesRead;
+        private long valid;
+        private long imported;
+        private long rejected;
+
+        /**
+         * Rejected lines counted by reason, the part of the error message before its first colon.
+         */
+        private final Map<String, Long> rejectionReasons = new LinkedHashMap<>();
+        private long rejectedSinceLog;
+        private long lastRejectionLog = System.nanoTime();
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void countRejection(String message) {
+            int colon = message != null ? message.indexOf(':') : -1;
+            String reason = message == null ? "unknown" : colon >= 0 ? message.substring(0, colon) : message;
+            if (!rejectionReasons.containsKey(reason) && rejectionReasons.size() >= MAX_REJECTION_REASONS) {
+                reason = "other";
+            }
+            rejectionReasons.merge(reason, 1L, Long::sum);
+            rejectedSinceLog++;
+        }
+    }
+}
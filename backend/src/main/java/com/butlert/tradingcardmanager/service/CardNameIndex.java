@@ -0,0 +1,537 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.DataSourceSwitchedEvent;
+import com.butlert.tradingcardmanager.config.DataSourceSwitchingEvent;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardSuggestion;
+import com.butlert.tradingcardmanager.repository.CardNameView;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over card names and games, serving typeahead searches without
+ * touching the database.
+ * <p>
+ * Names and games are normalized to lower case words without accents or punctuation. Every
+ * word is indexed twice: in a sorted word map, which finds the cards having a word that starts
+ * with a query word, and as padded trigrams ({@code "$cl", "clo", ..., "fe$"}), which find cards
+ * sharing most of the query's trigrams and so tolerate typos. A search reads only the postings
+ * of the query's trigrams and words and keeps the best matches in a bounded heap.
+ * </p>
+ * <p>
+ * The index is built from every shard on startup and after the database is switched. Mutations
+ * report their changes from inside their transaction, like they do to the
+ * {@link CollectionAggregateStore}; a change is applied after its transaction commits and
+ * dropped if it rolls back. Changes completed while the index is rebuilt are replayed on top
+ * of the loaded entries, so a rebuild never loses them.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardNameIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CardNameIndex.class);
+
+    /**
+     * Largest number of suggestions returned by one search.
+     */
+    static final int MAX_RESULTS = 50;
+
+    /**
+     * Share of the query's trigrams a card must contain to match without a prefix match.
+     */
+    static final double MIN_SIMILARITY = 0.5;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final char PAD = '$';
+
+    private static final Comparator<CardSuggestion> RANKING = Comparator
+            .comparingDouble(CardSuggestion::getScore)
+            .thenComparing(suggestion -> -suggestion.getCardName().length())
+            .thenComparing(suggestion -> -suggestion.getCardNumber());
+
+    private final CardRepository cardRepository;
+    private final CardShards cardShards;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> trigramPostings = new HashMap<>();
+    private final NavigableMap<String, Set<Integer>> wordPostings = new TreeMap<>();
+
+    /**
+     * Whether the entries reflect the database. Guarded by {@link #lock}.
+     */
+    private boolean valid;
+
+    /**
+     * Number of times the entries were marked stale, used to detect a switch racing a rebuild.
+     * Guarded by {@link #lock}.
+     */
+    private long staleMarks;
+
+    /**
+     * Changes completed while a rebuild loads, replayed after it; {@code null} when no rebuild
+     * runs. Guarded by {@link #lock}.
+     */
+    private List<Change> replay;
+
+    /**
+     * Constructs an empty, invalid CardNameIndex.
+     *
+     * @param cardRepository repository used to load the card names
+     * @param cardShards     runs the load on every shard
+     */
+    public CardNameIndex(CardRepository cardRepository, CardShards cardShards) {
+        this.cardRepository = cardRepository;
+        this.cardShards = cardShards;
+    }
+
+    /**
+     * Builds the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Marks the entries of the previous database stale while the switch still holds back
+     * traffic, so the next search rebuilds the index from the new database.
+     *
+     * @param event the switching event
+     */
+    @EventListener
+    public void onDataSourceSwitching(DataSourceSwitchingEvent event) {
+        lock.writeLock().lock();
+        try {
+            valid = false;
+            staleMarks++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the cards of the new database.
+     *
+     * @param event the switch event
+     */
+    @EventListener
+    public void onDataSourceSwitched(DataSourceSwitchedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index from the database. If the entries are marked stale while the load
+     * runs, the index stays invalid and the next search loads it again.
+     */
+    public synchronized void rebuild() {
+        long staleMarksBefore;
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+            staleMarksBefore = staleMarks;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<List<CardNameView>> shards;
+        try {
+            shards = cardShards.onEveryShard(cardRepository::findCardNames);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.warn("Could not build the card name index: {}", e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            trigramPostings.clear();
+            wordPostings.clear();
+            for (List<CardNameView> views : shards) {
+                for (CardNameView view : views) {
+                    put(view.getCardNumber(), view.getCardName(), view.getCardGame());
+                }
+            }
+            for (Change change : replay) {
+                apply(change);
+            }
+            replay = null;
+            valid = staleMarks == staleMarksBefore;
+            logger.info("Indexed {} card names", entries.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reports a stored card, new or updated.
+     *
+     * @param card the stored card
+     */
+    public void cardStored(Card card) {
+        cardsStored(List.of(card));
+    }
+
+    /**
+     * Reports a chunk of stored cards, new or updated.
+     *
+     * @param cards the stored cards
+     */
+    public void cardsStored(List<Card> cards) {
+        List<Change> changes = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            changes.add(new Change(card.getCardNumber(), card.getCardName(), card.getCardGame(), false));
+        }
+        report(changes);
+    }
+
+    /**
+     * Reports a deleted card.
+     *
+     * @param cardNumber the number of the deleted card
+     */
+    public void cardRemoved(int cardNumber) {
+        cardsRemoved(List.of(cardNumber));
+    }
+
+    /**
+     * Reports a chunk of deleted cards.
+     *
+     * @param cardNumbers the numbers of the deleted cards
+     */
+    public void cardsRemoved(List<Integer> cardNumbers) {
+        List<Change> changes = new ArrayList<>(cardNumbers.size());
+        for (Integer cardNumber : cardNumbers) {
+            changes.add(new Change(cardNumber, null, null, true));
+        }
+        report(changes);
+    }
+
+    /**
+     * Finds the cards best matching a partially typed query. The last query word is matched
+     * as a prefix unless the query ends with a space.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of suggestions, clamped to 1..{@value #MAX_RESULTS}
+     * @return the best matches, best first
+     */
+    public List<CardSuggestion> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        String phrase = String.join(" ", words);
+
+        Set<String> queryTrigrams = new LinkedHashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            addTrigrams(words.get(i), !(lastIsPrefix && i == words.size() - 1), queryTrigrams);
+        }
+        int maxResults = Math.min(Math.max(limit, 1), MAX_RESULTS);
+
+        if (!isValid()) {
+            rebuild();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<Integer> postings = trigramPostings.get(trigram);
+                if (postings != null) {
+                    for (Integer cardNumber : postings) {
+                        shared.merge(cardNumber, 1, Integer::sum);
+                    }
+                }
+            }
+            Set<Integer> prefixMatches = prefixMatches(words, lastIsPrefix);
+
+            Set<Integer> candidates = new HashSet<>(shared.keySet());
+            candidates.addAll(prefixMatches);
+
+            PriorityQueue<CardSuggestion> best = new PriorityQueue<>(maxResults + 1, RANKING);
+            for (Integer cardNumber : candidates) {
+                double similarity = queryTrigrams.isEmpty() ? 0
+                        : shared.getOrDefault(cardNumber, 0) / (double) queryTrigrams.size();
+                boolean prefixMatch = prefixMatches.contains(cardNumber);
+                if (!prefixMatch && similarity < MIN_SIMILARITY) {
+                    continue;
+                }
+
+                Entry entry = entries.get(cardNumber);
+                double score = similarity + (prefixMatch ? 1 : 0) + (entry.normalizedName.startsWith(phrase) ? 2 : 0);
+                best.add(new CardSuggestion(cardNumber, entry.cardName, entry.cardGame, score));
+                if (best.size() > maxResults) {
+                    best.poll();
+                }
+            }
+
+            List<CardSuggestion> suggestions = new ArrayList<>(best);
+            suggestions.sort(RANKING.reversed());
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed cards.
+     *
+     * @return the number of cards in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isValid() {
+        lock.readLock().lock();
+        try {
+            return valid;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the cards having, for every query word, a word equal to it, or starting with it
+     * for a word matched as a prefix. Must hold the lock.
+     *
+     * @param words        the normalized query words
+     * @param lastIsPrefix whether the last word is matched as a prefix
+     * @return the matching card numbers
+     */
+    private Set<Integer> prefixMatches(List<String> words, boolean lastIsPrefix) {
+        Set<Integer> matches = null;
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            Set<Integer> wordMatches = new HashSet<>();
+            if (lastIsPrefix && i == words.size() - 1) {
+                for (Set<Integer> postings : wordPostings.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                    wordMatches.addAll(postings);
+                }
+            } else {
+                wordMatches.addAll(wordPostings.getOrDefault(word, Set.of()));
+            }
+
+            if (matches == null) {
+                matches = wordMatches;
+            } else {
+                matches.retainAll(wordMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Registers changes to apply once the current transaction commits, or applies them
+     * right away if no transaction is active.
+     *
+     * @param changes the changes of one mutation
+     */
+    private void report(List<Change> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(changes, TransactionSynchronization.STATUS_COMMITTED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(changes, status);
+            }
+        });
+    }
+
+    /**
+     * Applies or drops the changes of a completed transaction.
+     *
+     * @param changes the reported changes
+     * @param status  the completion status of the transaction
+     */
+    private void complete(List<Change> changes, int status) {
+        lock.writeLock().lock();
+        try {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                for (Change change : changes) {
+                    apply(change);
+                }
+                if (replay != null) {
+                    replay.addAll(changes);
+                }
+            } else if (status == TransactionSynchronization.STATUS_UNKNOWN) {
+                valid = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores or removes the entry of one card. Must hold the write lock.
+     *
+     * @param change the card and its new name and game, or a removal
+     */
+    private void apply(Change change) {
+        if (change.removed) {
+            remove(change.cardNumber);
+        } else {
+            put(change.cardNumber, change.cardName, change.cardGame);
+        }
+    }
+
+    /**
+     * Adds or replaces the entry of a card. Must hold the write lock.
+     */
+    private void put(int cardNumber, String cardName, String cardGame) {
+        remove(cardNumber);
+
+        List<String> nameWords = words(cardName);
+        Set<String> words = new HashSet<>(nameWords);
+        words.addAll(words(cardGame));
+        Set<String> trigrams = new HashSet<>();
+        for (String word : words) {
+            addTrigrams(word, true, trigrams);
+        }
+
+        Entry entry = new Entry(cardName, cardGame, String.join(" ", nameWords), words, trigrams);
+        entries.put(cardNumber, entry);
+        for (String word : entry.words) {
+            wordPostings.computeIfAbsent(word, key -> new HashSet<>()).add(cardNumber);
+        }
+        for (String trigram : entry.trigrams) {
+            trigramPostings.computeIfAbsent(trigram, key -> new HashSet<>()).add(cardNumber);
+        }
+    }
+
+    /**
+     * Removes the entry of a card, if it is indexed. Must hold the write lock.
+     */
+    private void remove(int cardNumber) {
+        Entry entry = entries.remove(cardNumber);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words) {
+            removePosting(wordPostings, word, cardNumber);
+        }
+        for (String trigram : entry.trigrams) {
+            removePosting(trigramPostings, trigram, cardNumber);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> postings, String key, int cardNumber) {
+        Set<Integer> cardNumbers = postings.get(key);
+        if (cardNumbers != null && cardNumbers.remove(cardNumber) && cardNumbers.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    /**
+     * Splits text into lower case words without accents or punctuation.
+     *
+     * @param text the text, may be {@code null}
+     * @return the words, in order
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String word : NON_WORD.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Adds the trigrams of a word padded at its start and, if the word is complete, at its end.
+     *
+     * @param word     the normalized word
+     * @param complete whether the word is complete rather than a typed prefix
+     * @param trigrams the set receiving the trigrams
+     */
+    static void addTrigrams(String word, boolean complete, Set<String> trigrams) {
+        String padded = PAD + word + (complete ? String.valueOf(PAD) : "");
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    /**
+     * Indexed form of one card.
+     */
+    private static final class Entry {
+        private final String cardName;
+        private final String cardGame;
+        private final String normalizedName;
+        private final Set<String> words;
+        private final Set<String> trigrams;
+
+        private Entry(String cardName, String cardGame, String normalizedName, Set<String> words, Set<String> trigrams) {
+            this.cardName = cardName;
+            this.cardGame = cardGame;
+            this.normalizedName = normalizedName;
+            this.words = words;
+            this.trigrams = trigrams;
+        }
+    }
+
+    /**
+     * A stored card with its new name and game, or a removed card.
+     */
+    private static final class Change {
+        private final int cardNumber;
+        private final String cardName;
+        private final String cardGame;
+        private final boolean removed;
+
+        private Change(int cardNumber, String cardName, String cardGame, boolean removed) {
+            this.cardNumber = cardNumber;
+            this.cardName = cardName;
+            this.cardGame = cardGame;
+            this.removed = removed;
+        }
+    }
+}
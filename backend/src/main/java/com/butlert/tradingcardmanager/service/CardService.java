@@ -2,8 +2,18 @@ package com.butlert.tradingcardmanager.service;
 
 import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.model.CardDeleteRequest;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.model.CardPage;
+import com.butlert.tradingcardmanager.model.CardSearchCriteria;
+import com.butlert.tradingcardmanager.model.CardSuggestion;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.model.UpsertSummary;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +54,51 @@ public interface CardService {
      */
     List<Card> getAllCards();
 
+    /**
+     * Retrieves one page of cards using keyset pagination.
+     *
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @param size      the maximum number of cards in the page
+     * @param sort      the card property to sort by; ignored when a cursor is given
+     * @param direction the sort direction, "asc" or "desc"; ignored when a cursor is given
+     * @return the page of cards and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor, sort field or direction is invalid
+     */
+    CardPage getCardPage(String cursor, int size, String sort, String direction);
+
+    /**
+     * Retrieves one page of the cards matching a search, using keyset pagination.
+     * The same criteria must be sent with every page of a search.
+     *
+     * @param criteria  the search filters; unset filters match every card
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @param size      the maximum number of cards in the page
+     * @param sort      the card property to sort by; ignored when a cursor is given
+     * @param direction the sort direction, "asc" or "desc"; ignored when a cursor is given
+     * @return the page of matching cards and the cursor of the next page
+     * @throws IllegalArgumentException if a filter, the cursor, sort field or direction is invalid
+     */
+    CardPage searchCards(CardSearchCriteria criteria, String cursor, int size, String sort, String direction);
+
+    /**
+     * Suggests the cards best matching a partially typed name or game, tolerating typos.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of suggestions
+     * @return the best matches, best first
+     */
+    List<CardSuggestion> suggestCards(String query, int limit);
+
+    /**
+     * Streams the whole collection to the given output in the requested format.
+     *
+     * @param outputStream the destination stream; it is flushed but not closed
+     * @param format       the export format
+     * @return the number of exported cards
+     * @throws IOException if writing to the output fails
+     */
+    long exportCards(OutputStream outputStream, CardExportFormat format) throws IOException;
+
     /**
      * Retrieves a card by its card number.
      *
@@ -52,6 +107,21 @@ public interface CardService {
      */
     Card findByCardId(int cardId);
 
+    /**
+     * Retrieves a card by its card number as JSON, served from the card cache when possible.
+     *
+     * @param cardId the card number to find
+     * @return the card as JSON, or {@code null} if it does not exist
+     */
+    byte[] findCardJsonByCardId(int cardId);
+
+    /**
+     * Returns the hit and miss counters of the card cache.
+     *
+     * @return a map of cache counters
+     */
+    Map<String, Object> getCardCacheStatistics();
+
     /**
      * Calculates statistics across the entire card collection.
      *
@@ -74,6 +144,34 @@ public interface CardService {
      */
     List<Card> addAllCardsFromFile(MultipartFile file);
 
+    /**
+     * Imports cards from a raw stream of import lines, persisting them in bounded batches.
+     *
+     * @param inputStream the stream of import lines
+     * @param maxErrors   the maximum number of line errors included in the summary
+     * @return a summary with counts, the first line errors and the elapsed time
+     */
+    ImportSummary importCardsFromStream(InputStream inputStream, int maxErrors);
+
+    /**
+     * Imports cards from a raw stream of import lines, publishing its progress as it runs.
+     *
+     * @param inputStream the stream of import lines
+     * @param maxErrors   the maximum number of line errors included in the summary
+     * @param progress    receives the live counters and may cancel the import
+     * @return a summary of the lines written before the import finished or was cancelled
+     */
+    ImportSummary importCardsFromStream(InputStream inputStream, int maxErrors, ImportProgress progress);
+
+    /**
+     * Deletes every card selected by a list of card numbers, or by a card number range and filter.
+     *
+     * @param request the cards to delete
+     * @return the number of deleted cards
+     * @throws IllegalArgumentException if the request selects no cards or a filter value is invalid
+     */
+    long deleteCards(CardDeleteRequest request);
+
     /**
      * Updates an existing card using the given card number and updated DTO data.
      *
@@ -82,5 +180,14 @@ public interface CardService {
      * @return an {@link Optional} containing the updated {@link Card}, or empty if not found
      */
     Optional<Card> updateCard(int cardNumber, CardDTO cardDTO);
-}
 
+    /**
+     * Inserts or updates many cards by card number in a single transaction.
+     * Cards whose stored values already match are left untouched.
+     *
+     * @param cardDTOs the cards to write, each card number at most once
+     * @return the number of created, updated and unchanged cards and the outcome of every card
+     * @throws IllegalArgumentException if a card is invalid or a card number is repeated
+     */
+    UpsertSummary upsertCards(List<CardDTO> cardDTOs);
+}
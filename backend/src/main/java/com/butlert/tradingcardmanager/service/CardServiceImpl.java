@@ -3,27 +3,56 @@ package com.butlert.tradingcardmanager.service;
 import com.butlert.tradingcardmanager.mapper.CardMapper;
 import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.model.CardDeleteRequest;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.model.CardPage;
 import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.model.CardSearchCriteria;
+import com.butlert.tradingcardmanager.model.CardSuggestion;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.model.UpsertSummary;
+import com.butlert.tradingcardmanager.repository.CardBatchWriter;
 import com.butlert.tradingcardmanager.repository.CardRepository;
-import com.butlert.tradingcardmanager.utils.CardDateUtil;
-import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.repository.CardSpecifications;
 import com.butlert.tradingcardmanager.utils.ReadTextFile;
+import com.butlert.tradingcardmanager.utils.exception.CardImportException;
 import com.butlert.tradingcardmanager.utils.validation.CardValidator;
 import com.butlert.tradingcardmanager.utils.validation.ValidatorResult;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of the {@link CardService} interface containing business logic
@@ -31,6 +60,14 @@ import java.util.Optional;
  * <p>
  * This service handles validation, mapping, statistics, and value calculations,
  * and acts as the main logic layer between the controller and the repository.
+ * Methods that only read run in read-only transactions, so they are served by a
+ * read replica when the active database has one. Operations on a single card run on the
+ * shard that owns its card number, and collection-wide reads are gathered from every shard;
+ * {@link CardShards} opens the transactions of those methods.
+ * </p>
+ * <p>
+ * Every public method is timed by the {@code tradingcards.card.service} timer, tagged with
+ * the method name.
  * </p>
  *
  * <p><b>Author:</b> Timothy Butler<br>
@@ -39,16 +76,68 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed(value = "tradingcards.card.service", description = "Card service method calls")
 public class CardServiceImpl implements CardService {
+    /**
+     * Largest page size accepted by {@link #getCardPage(String, int, String, String)}.
+     */
+    static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Number of cards locked and written together by a bulk upsert.
+     */
+    static final int UPSERT_CHUNK_SIZE = 500;
+
+    /**
+     * Number of times the cards of a shard are locked and written before a new card number
+     * stored by a concurrent writer fails the upsert.
+     */
+    static final int MAX_UPSERT_ATTEMPTS = 3;
+
+    /**
+     * Number of cards removed by one statement of a bulk delete.
+     */
+    static final int DELETE_CHUNK_SIZE = 500;
+
     /**
      * Repository interface for performing CRUD operations on cards.
      */
     private final CardRepository cardRepository;
 
     /**
-     * Utility for parsing text input into card DTOs.
+     * JDBC writer inserting single cards against the unique index on {@code card_number}.
+     */
+    private final CardBatchWriter cardBatchWriter;
+
+    /**
+     * Chunked import pipeline used for file and stream imports.
      */
-    private final CardParser cardParser;
+    private final CardImporter cardImporter;
+
+    /**
+     * In-memory aggregates backing the statistics and value calculations.
+     */
+    private final CollectionAggregateStore collectionAggregateStore;
+
+    /**
+     * Runs card data access on the shard, or database, holding the cards.
+     */
+    private final CardShards cardShards;
+
+    /**
+     * Cache of single cards, invalidated by every mutation.
+     */
+    private final CardCache cardCache;
+
+    /**
+     * In-memory index of card names and games serving typeahead searches.
+     */
+    private final CardNameIndex cardNameIndex;
+
+    /**
+     * Streams the collection for exports.
+     */
+    private final CardExporter cardExporter;
 
     /**
      * Utility for reading raw text file content.
@@ -70,17 +159,35 @@ public class CardServiceImpl implements CardService {
      * Constructs a CardServiceImpl with all required dependencies for card operations.
      *
      * @param cardRepository           the repository used to access card data
-     * @param cardParser               utility for parsing cards from raw input
+     * @param cardBatchWriter          JDBC writer used to insert single cards
+     * @param cardImporter             chunked pipeline used for file imports
+     * @param collectionAggregateStore in-memory aggregates kept up to date by every mutation
+     * @param cardShards               runs card data access on the shard holding the cards
+     * @param cardCache                cache of single cards served by {@link #findCardJsonByCardId(int)}
+     * @param cardNameIndex            typeahead index kept up to date by every mutation
+     * @param cardExporter             streams the collection for exports
      * @param readTextFile             utility for reading text file contents
      * @param cardValidator            validates card data before persistence
      * @param resourceHandlerMapping   Spring MVC handler mapping, injected by qualifier
      */
     public CardServiceImpl(CardRepository cardRepository,
-                           CardParser cardParser,
+                           CardBatchWriter cardBatchWriter,
+                           CardImporter cardImporter,
+                           CollectionAggregateStore collectionAggregateStore,
+                           CardShards cardShards,
+                           CardCache cardCache,
+                           CardNameIndex cardNameIndex,
+                           CardExporter cardExporter,
                            ReadTextFile readTextFile,
                            CardValidator cardValidator, @Qualifier("resourceHandlerMapping") HandlerMapping resourceHandlerMapping) {
         this.cardRepository = cardRepository;
-        this.cardParser = cardParser;
+        this.cardBatchWriter = cardBatchWriter;
+        this.cardImporter = cardImporter;
+        this.collectionAggregateStore = collectionAggregateStore;
+        this.cardShards = cardShards;
+        this.cardCache = cardCache;
+        this.cardNameIndex = cardNameIndex;
+        this.cardExporter = cardExporter;
         this.readTextFile = readTextFile;
         this.cardValidator = cardValidator;
         this.resourceHandlerMapping = resourceHandlerMapping;
@@ -88,27 +195,40 @@ public class CardServiceImpl implements CardService {
 
     /**
      * Adds a new card to the repository if it does not already exist.
-     * Validates the card before saving.
+     * Validates the card before saving, including the bean validation constraints on
+     * {@link Card}, since the insert does not pass through Hibernate. The card is written with a
+     * single insert, and the unique index on {@code card_number} rejects it if the card number is
+     * already stored, so concurrent adds of the same card cannot both succeed.
      *
      * @param cardDTO the card data to add
      * @return an {@link Optional} containing the created {@link CardDTO}, or empty if the card already exists
      * @throws IllegalArgumentException if validation fails
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<CardDTO> addCard(CardDTO cardDTO) {
         Card card = CardMapper.toEntity(cardDTO);
         ValidatorResult result = cardValidator.validateCard(card);
+        if (result.isValid()) {
+            result = cardValidator.validateConstraints(card);
+        }
 
         if (!result.isValid()) {
             throw new IllegalArgumentException("Validation failed: " + result.getMessage());
         }
 
-        if (cardRepository.existsByCardNumber(cardDTO.getCardNumber())) {
-            return Optional.empty();
-        }
+        return cardShards.onShardOf(card.getCardNumber(), false, () -> {
+            try {
+                cardBatchWriter.insert(card);
+            } catch (DuplicateKeyException e) {
+                return Optional.empty();
+            }
 
-        Card saved = cardRepository.save(card);
-        return Optional.of(CardMapper.toDto(saved));
+            collectionAggregateStore.cardAdded(card);
+            cardCache.invalidate(card.getCardNumber());
+            cardNameIndex.cardStored(card);
+            return Optional.of(CardMapper.toDto(card));
+        });
     }
 
     /**
@@ -118,8 +238,163 @@ public class CardServiceImpl implements CardService {
      * @return true if the card was deleted, false if it did not exist
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean deleteCard(int cardId) {
-        return cardRepository.deleteByCardNumber(cardId) > 0;
+        return cardShards.onShardOf(cardId, false, () -> {
+            Optional<Card> existingCard = cardRepository.findByCardNumber(cardId);
+            boolean deleted = cardRepository.deleteByCardNumber(cardId) > 0;
+
+            if (deleted) {
+                cardCache.invalidate(cardId);
+                cardNameIndex.cardRemoved(cardId);
+                if (existingCard.isPresent()) {
+                    collectionAggregateStore.cardRemoved(existingCard.get());
+                } else {
+                    collectionAggregateStore.invalidate();
+                }
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Deletes every card selected by a list of card numbers, or by a card number range and filter.
+     * <p>
+     * Cards are deleted in chunks of {@value #DELETE_CHUNK_SIZE}, each in its own short transaction
+     * on the shard holding them. One query loads and locks the selected cards of the chunk, and one
+     * set-based {@code DELETE ... WHERE card_number IN (...)} removes exactly those cards, so the
+     * removed cards can be reported to the aggregate store and evicted from the cache. Chunks
+     * committed before a failure stay deleted.
+     * </p>
+     *
+     * @param request the cards to delete
+     * @return the number of deleted cards
+     * @throws IllegalArgumentException if the request selects no cards or a filter value is invalid
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteCards(CardDeleteRequest request) {
+        boolean filtered = request.getFromCardNumber() != null || request.getToCardNumber() != null
+                || !isBlank(request.getCardGame()) || !isBlank(request.getRarity())
+                || !isBlank(request.getPurchasedFrom()) || !isBlank(request.getPurchasedTo());
+
+        if (request.getCardNumbers() != null) {
+            if (filtered) {
+                throw new IllegalArgumentException("Card numbers cannot be combined with a range or filter.");
+            }
+            Set<Integer> cardNumbers = new LinkedHashSet<>();
+            for (Integer cardNumber : request.getCardNumbers()) {
+                if (cardNumber == null) {
+                    throw new IllegalArgumentException("Card numbers cannot be null.");
+                }
+                cardNumbers.add(cardNumber);
+            }
+            return deleteCardNumbers(cardNumbers);
+        }
+
+        if (!filtered) {
+            throw new IllegalArgumentException("No cards selected: give card numbers, a card number range or a filter.");
+        }
+        if (request.getFromCardNumber() != null && request.getToCardNumber() != null
+                && request.getFromCardNumber() > request.getToCardNumber()) {
+            throw new IllegalArgumentException("fromCardNumber must not be greater than toCardNumber.");
+        }
+
+        String cardGame = isBlank(request.getCardGame()) ? null : request.getCardGame();
+        CardRarity rarity = parseRarity(request.getRarity());
+        LocalDate purchasedFrom = parseDate(request.getPurchasedFrom());
+        LocalDate purchasedTo = parseDate(request.getPurchasedTo());
+
+        long deleted = 0;
+        for (String shardKey : cardShards.getShardKeys()) {
+            int chunkDeleted;
+            do {
+                chunkDeleted = cardShards.onShard(shardKey, false, () -> deleteLocked(cardRepository.lockMatching(
+                        request.getFromCardNumber(), request.getToCardNumber(), cardGame, rarity,
+                        purchasedFrom, purchasedTo, Limit.of(DELETE_CHUNK_SIZE))));
+                deleted += chunkDeleted;
+            } while (chunkDeleted == DELETE_CHUNK_SIZE);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes the cards with the given card numbers, chunk by chunk on the shard holding them.
+     *
+     * @param cardNumbers the distinct card numbers to delete
+     * @return the number of deleted cards
+     */
+    private long deleteCardNumbers(Collection<Integer> cardNumbers) {
+        long deleted = 0;
+        for (Map.Entry<String, List<Integer>> shard : cardShards.partitionCardNumbers(cardNumbers).entrySet()) {
+            List<Integer> shardCardNumbers = shard.getValue();
+            for (int from = 0; from < shardCardNumbers.size(); from += DELETE_CHUNK_SIZE) {
+                List<Integer> chunk = shardCardNumbers.subList(from, Math.min(shardCardNumbers.size(), from + DELETE_CHUNK_SIZE));
+                deleted += cardShards.onShard(shard.getKey(), false,
+                        () -> deleteLocked(cardRepository.lockByCardNumbers(chunk)));
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes cards whose rows are locked by the current transaction with one set-based statement.
+     *
+     * @param cards the locked cards
+     * @return the number of deleted cards
+     */
+    private int deleteLocked(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+
+        List<Integer> cardNumbers = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            cardNumbers.add(card.getCardNumber());
+        }
+
+        int deleted = cardRepository.deleteByCardNumbers(cardNumbers);
+        collectionAggregateStore.cardsRemoved(cards);
+        cardCache.invalidateAll(cardNumbers);
+        cardNameIndex.cardsRemoved(cardNumbers);
+        return deleted;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static CardRarity parseRarity(String rarity) {
+        if (isBlank(rarity)) {
+            return null;
+        }
+        try {
+            return CardRarity.valueOf(rarity.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid Rarity: " + rarity);
+        }
+    }
+
+    private static BigDecimal parsePrice(String price) {
+        if (isBlank(price)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid purchase price format");
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (isBlank(date)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format (expected yyyy-MM-dd)");
+        }
     }
 
     /**
@@ -131,6 +406,7 @@ public class CardServiceImpl implements CardService {
      * @throws IllegalArgumentException if validation fails or input is invalid
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Card> updateCard(int cardNumber, CardDTO cardDTO) {
         Card updatedCard;
 
@@ -146,132 +422,548 @@ public class CardServiceImpl implements CardService {
             throw new IllegalArgumentException("Validation failed: " + result.getMessage());
         }
 
-        Optional<Card> existingCard = cardRepository.findByCardNumber(cardNumber);
-        if (existingCard.isEmpty()) {
-            return Optional.empty();
+        return cardShards.onShardOf(cardNumber, false, () -> {
+            Optional<Card> existingCard = cardRepository.findByCardNumber(cardNumber);
+            if (existingCard.isEmpty()) {
+                return Optional.empty();
+            }
+
+            Card cardToUpdate = existingCard.get();
+            CollectionAggregateStore.Change before = collectionAggregateStore.snapshot(cardToUpdate);
+
+            cardToUpdate.setCardGame(updatedCard.getCardGame());
+            cardToUpdate.setCardName(updatedCard.getCardName());
+            cardToUpdate.setRarity(updatedCard.getRarity());
+            cardToUpdate.setDatePurchased(updatedCard.getDatePurchased());
+            cardToUpdate.setDateSetPublished(updatedCard.getDateSetPublished());
+            cardToUpdate.setPurchasePrice(updatedCard.getPurchasePrice());
+            cardToUpdate.setFoiled(updatedCard.isFoiled());
+
+            Card saved = cardRepository.save(cardToUpdate);
+            collectionAggregateStore.cardUpdated(before, saved);
+            cardCache.invalidate(cardNumber);
+            cardNameIndex.cardStored(saved);
+            return Optional.of(saved);
+        });
+    }
+
+    /**
+     * Inserts or updates many cards by card number.
+     * <p>
+     * Every card is validated before anything is written, including the bean validation
+     * constraints on {@link Card}, which the JDBC upserts do not check. Invalid cards are reported
+     * as {@link UpsertSummary.Status#INVALID} with the reason and are not written.
+     * </p>
+     * <p>
+     * Per chunk of {@value #UPSERT_CHUNK_SIZE} cards, the stored versions are read and locked with
+     * one query, which decides whether each card is created, updated or unchanged. Created cards
+     * are written with one batch insert and updated cards with one batch of native upserts. The
+     * read cannot be folded into the upsert: neither the MySQL nor the H2 upsert returns the
+     * previous values, which the reported status and the in-memory aggregates depend on. All
+     * cards of a shard are written in one transaction.
+     * </p>
+     * <p>
+     * The lock only covers stored rows, so a concurrent writer can store a card number this
+     * upsert found missing. The unique index on {@code card_number} then rejects the insert,
+     * the shard's transaction is rolled back together with its reported changes, and the cards
+     * of the shard are locked and classified again, so the card counts as updated or unchanged.
+     * </p>
+     *
+     * @param cardDTOs the cards to write, each card number at most once
+     * @return the number of created, updated, unchanged and invalid cards and the outcome of every card
+     * @throws IllegalArgumentException if a card number is repeated
+     * @throws DuplicateKeyException    if a shard still loses races after {@value #MAX_UPSERT_ATTEMPTS} attempts
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UpsertSummary upsertCards(List<CardDTO> cardDTOs) {
+        Map<Integer, Card> cards = new LinkedHashMap<>();
+        Map<Integer, String> invalid = new HashMap<>();
+        Set<Integer> cardNumbers = new LinkedHashSet<>();
+        for (CardDTO cardDTO : cardDTOs) {
+            int cardNumber = cardDTO.getCardNumber();
+            if (!cardNumbers.add(cardNumber)) {
+                throw new IllegalArgumentException("Card number " + cardNumber + " appears more than once");
+            }
+
+            Card card;
+            try {
+                card = CardMapper.toEntity(cardDTO);
+            } catch (IllegalArgumentException e) {
+                invalid.put(cardNumber, "Invalid data: " + e.getMessage());
+                continue;
+            }
+
+            ValidatorResult result = cardValidator.validateCard(card);
+            if (result.isValid()) {
+                result = cardValidator.validateConstraints(card);
+            }
+
+            if (!result.isValid()) {
+                invalid.put(cardNumber, "Validation failed: " + result.getMessage());
+                continue;
+            }
+            cards.put(cardNumber, card);
+        }
+
+        Map<Integer, UpsertSummary.Status> statuses = new HashMap<>();
+        for (Map.Entry<String, List<Card>> shard : cardShards.partition(cards.values()).entrySet()) {
+            statuses.putAll(writeUpsertShard(shard.getKey(), shard.getValue()));
         }
 
-        Card cardToUpdate = existingCard.get();
+        List<UpsertSummary.CardResult> results = new ArrayList<>(cardNumbers.size());
+        for (Integer cardNumber : cardNumbers) {
+            String error = invalid.get(cardNumber);
+            results.add(error != null
+                    ? new UpsertSummary.CardResult(cardNumber, UpsertSummary.Status.INVALID, error)
+                    : new UpsertSummary.CardResult(cardNumber, statuses.get(cardNumber)));
+        }
+        return new UpsertSummary(results);
+    }
 
-        cardToUpdate.setCardGame(updatedCard.getCardGame());
-        cardToUpdate.setCardName(updatedCard.getCardName());
-        cardToUpdate.setRarity(updatedCard.getRarity());
-        cardToUpdate.setDatePurchased(updatedCard.getDatePurchased());
-        cardToUpdate.setDateSetPublished(updatedCard.getDateSetPublished());
-        cardToUpdate.setPurchasePrice(updatedCard.getPurchasePrice());
-        cardToUpdate.setFoiled(updatedCard.isFoiled());
+    /**
+     * Upserts the cards of one shard in a transaction on the shard, locking and writing them
+     * again if a concurrent writer stored one of the new card numbers first.
+     *
+     * @param shardKey the shard of the cards, or {@code null} for the active database
+     * @param cards    the cards of the shard, with distinct card numbers
+     * @return the outcome of every card, keyed by card number
+     * @throws DuplicateKeyException if the shard still loses races after {@value #MAX_UPSERT_ATTEMPTS} attempts
+     */
+    private Map<Integer, UpsertSummary.Status> writeUpsertShard(String shardKey, List<Card> cards) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return cardShards.onShard(shardKey, false, () -> upsertShard(cards));
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_UPSERT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Upserts the cards of one shard inside the shard's transaction.
+     *
+     * @param cards the cards of the shard, with distinct card numbers
+     * @return the outcome of every card, keyed by card number
+     */
+    private Map<Integer, UpsertSummary.Status> upsertShard(List<Card> cards) {
+        Map<Integer, UpsertSummary.Status> statuses = new HashMap<>();
+        for (int from = 0; from < cards.size(); from += UPSERT_CHUNK_SIZE) {
+            List<Card> chunk = cards.subList(from, Math.min(cards.size(), from + UPSERT_CHUNK_SIZE));
+            List<Integer> cardNumbers = new ArrayList<>(chunk.size());
+            for (Card card : chunk) {
+                cardNumbers.add(card.getCardNumber());
+            }
+
+            Map<Integer, Card> stored = new HashMap<>();
+            for (Card card : cardRepository.lockByCardNumbers(cardNumbers)) {
+                stored.put(card.getCardNumber(), card);
+            }
 
-        return Optional.of(cardRepository.save(cardToUpdate));
+            List<Card> created = new ArrayList<>();
+            List<Card> updated = new ArrayList<>();
+            for (Card card : chunk) {
+                Card existing = stored.get(card.getCardNumber());
+                if (existing == null) {
+                    statuses.put(card.getCardNumber(), UpsertSummary.Status.CREATED);
+                    collectionAggregateStore.cardAdded(card);
+                    created.add(card);
+                } else if (sameValues(existing, card)) {
+                    statuses.put(card.getCardNumber(), UpsertSummary.Status.UNCHANGED);
+                } else {
+                    statuses.put(card.getCardNumber(), UpsertSummary.Status.UPDATED);
+                    collectionAggregateStore.cardUpdated(collectionAggregateStore.snapshot(existing), card);
+                    updated.add(card);
+                }
+            }
+
+            cardBatchWriter.insertAll(created);
+            cardBatchWriter.upsertAll(updated);
+            List<Card> written = new ArrayList<>(created);
+            written.addAll(updated);
+            cardsWritten(written);
+        }
+        return statuses;
     }
 
     /**
-     * Retrieves all cards stored in the repository.
+     * Checks whether two cards hold the same values. Prices are compared by value, so a
+     * stored {@code 1.50} matches a sent {@code 1.5}.
+     *
+     * @param stored the stored card
+     * @param card   the sent card
+     * @return true if writing the sent card would not change the stored one
+     */
+    private static boolean sameValues(Card stored, Card card) {
+        BigDecimal storedPrice = stored.getPurchasePrice();
+        BigDecimal price = card.getPurchasePrice();
+        boolean samePrice = storedPrice == null || price == null
+                ? storedPrice == price
+                : storedPrice.compareTo(price) == 0;
+
+        return samePrice
+                && stored.isFoiled() == card.isFoiled()
+                && Objects.equals(stored.getCardGame(), card.getCardGame())
+                && Objects.equals(stored.getCardName(), card.getCardName())
+                && stored.getRarity() == card.getRarity()
+                && Objects.equals(stored.getDatePurchased(), card.getDatePurchased())
+                && Objects.equals(stored.getDateSetPublished(), card.getDateSetPublished());
+    }
+
+    /**
+     * Retrieves all cards stored in the repository, reading every shard in parallel.
      *
      * @return a list of all {@link Card} entities
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Card> getAllCards() {
-        return cardRepository.findAll();
+        List<Card> cards = new ArrayList<>();
+        cardShards.onEveryShard(cardRepository::findAll).forEach(cards::addAll);
+        return cards;
     }
 
     /**
-     * Finds a card by its card number.
+     * Retrieves one page of cards using keyset pagination.
+     * <p>
+     * Cards are ordered by the requested property with the ID as tie-breaker, and each page
+     * starts strictly after the last card of the previous one, so the database reads only the
+     * rows of the page regardless of how deep the client has scrolled. When a cursor is given,
+     * its own sort field and direction are used so the ordering stays stable across pages.
+     * When the cards are sharded, every shard reads one page from its own position in parallel
+     * and the pages are merged; see {@link ShardedCardCursor}.
+     * </p>
      *
-     * @param cardId the card number to search
-     * @return the matching {@link Card}, or null if not found
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @param size      the maximum number of cards in the page, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @param sort      the card property to sort by; ignored when a cursor is given
+     * @param direction the sort direction, "asc" or "desc"; ignored when a cursor is given
+     * @return the page of cards and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor, sort field or direction is invalid
      */
     @Override
-    public Card findByCardId(int cardId) {
-        return cardRepository.findByCardNumber(cardId).orElse(null);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CardPage getCardPage(String cursor, int size, String sort, String direction) {
+        return readPage(null, cursor, size, sort, direction);
     }
 
     /**
-     * Calculates statistics on the card collection, including:
-     * - Total spent
-     * - Total cards
-     * - Foiled card count
-     * - Percentage of foiled cards
+     * Retrieves one page of the cards matching a search, using keyset pagination.
+     * <p>
+     * The filters are combined into one {@link Specification}, so filtering, ordering and the
+     * page limit all happen in the database, which can serve them from the indexes declared
+     * on {@link Card}. Pages are read as in {@link #getCardPage(String, int, String, String)}.
+     * </p>
      *
-     * @return a map containing statistical keys and their corresponding values
+     * @param criteria  the search filters; unset filters match every card
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @param size      the maximum number of cards in the page, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @param sort      the card property to sort by; ignored when a cursor is given
+     * @param direction the sort direction, "asc" or "desc"; ignored when a cursor is given
+     * @return the page of matching cards and the cursor of the next page
+     * @throws IllegalArgumentException if a filter, the cursor, sort field or direction is invalid
      */
     @Override
-    public Map<String, Object> calculateCollectionStatistics() {
-        List<Card> cards = cardRepository.findAll();
-        BigDecimal totalSpend = BigDecimal.ZERO;
-        int foilCount = 0;
-        int totalCards = cards.size();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CardPage searchCards(CardSearchCriteria criteria, String cursor, int size, String sort, String direction) {
+        return readPage(toSpecification(criteria), cursor, size, sort, direction);
+    }
 
-        for (Card card : cards) {
-            if (card.isFoiled()) {
-                foilCount++;
-            }
-            if (card.getPurchasePrice() != null) {
-                totalSpend = totalSpend.add(card.getPurchasePrice());
-            }
+    /**
+     * Reads one page of cards, restricted by a specification if one is given.
+     *
+     * @param specification the filter of the cards, or {@code null} for every card
+     * @param cursor        the cursor returned with the previous page, or null for the first page
+     * @param size          the maximum number of cards in the page, clamped to 1..{@value #MAX_PAGE_SIZE}
+     * @param sort          the card property to sort by; ignored when a cursor is given
+     * @param direction     the sort direction; ignored when a cursor is given
+     * @return the page of cards and the cursor of the next page
+     */
+    private CardPage readPage(Specification<Card> specification, String cursor, int size, String sort, String direction) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        if (cardShards.isSharded()) {
+            return readShardedPage(specification, cursor, pageSize, sort, direction);
+        }
+
+        CardCursor.SortField sortField;
+        Sort.Direction sortDirection;
+        ScrollPosition position;
+
+        if (cursor != null && !cursor.isBlank()) {
+            CardCursor decoded = CardCursor.decode(cursor);
+            sortField = decoded.getSortField();
+            sortDirection = decoded.getDirection();
+            position = decoded.toScrollPosition();
+        } else {
+            sortField = CardCursor.SortField.fromParameter(sort);
+            sortDirection = Sort.Direction.fromString(direction);
+            position = ScrollPosition.keyset();
         }
 
-        double percentFoiled = cards.isEmpty() ? 0.0 : (foilCount * 100.0) / totalCards;
+        Sort order = sortField.toSort(sortDirection);
+        Window<Card> window = cardShards.onShard(null, true,
+                () -> findWindow(specification, position, order, pageSize));
 
-        return Map.of(
-                "totalSpent", totalSpend,
-                "totalCards", totalCards,
-                "totalFoiled", foilCount,
-                "percentFoiled", percentFoiled
-        );
+        List<Card> items = window.getContent();
+        String nextCursor = window.hasNext() && !items.isEmpty()
+                ? CardCursor.after(sortField, sortDirection, items.get(items.size() - 1)).encode()
+                : null;
+        return new CardPage(items, nextCursor);
     }
 
     /**
-     * Calculates the total market and owner value of all cards in the collection.
-     * Value adjustments are based on rarity and time since purchase/publication.
+     * Reads one page from every shard, each from its own position, and merges them.
+     * <p>
+     * The shard pages are merged by repeatedly taking the first remaining card that sorts
+     * lowest, so the page holds a leading run of every shard's page and each shard resumes
+     * right after the last card it contributed.
+     * </p>
      *
-     * @return a map containing "marketValue" and "ownerValue" totals
+     * @param specification the filter of the cards, or {@code null} for every card
+     * @param cursor        the cursor returned with the previous page, or null for the first page
+     * @param pageSize      the maximum number of cards in the page
+     * @param sort          the card property to sort by; ignored when a cursor is given
+     * @param direction     the sort direction; ignored when a cursor is given
+     * @return the page of cards and the cursor of the next page
      */
-    @Override
-    public Map<String, BigDecimal> calculateCollectionValues() {
-        List<Card> cards = cardRepository.findAll();
-        CardDateUtil cardDateUtil = new CardDateUtil();
+    private CardPage readShardedPage(Specification<Card> specification, String cursor, int pageSize, String sort,
+                                     String direction) {
+        List<String> shardKeys = cardShards.getShardKeys();
+        ShardedCardCursor start = cursor != null && !cursor.isBlank()
+                ? ShardedCardCursor.decode(cursor, shardKeys.size())
+                : ShardedCardCursor.start(CardCursor.SortField.fromParameter(sort), Sort.Direction.fromString(direction),
+                        shardKeys.size());
+        Sort order = start.getSortField().toSort(start.getDirection());
 
-        BigDecimal totalMarketValue = BigDecimal.ZERO;
-        BigDecimal totalOwnerValue = BigDecimal.ZERO;
+        List<Window<Card>> windows = cardShards.onEveryShardWithKey(shardKey -> {
+            int shard = shardKeys.indexOf(shardKey);
+            return start.isExhausted(shard)
+                    ? Window.from(List.<Card>of(), ScrollPosition::offset, false)
+                    : findWindow(specification, start.toScrollPosition(shard), order, pageSize);
+        });
 
-        for (Card card : cards) {
-            BigDecimal basePrice = card.getPurchasePrice();
-            if (basePrice == null) continue;
+        Comparator<Card> comparator = start.getSortField().comparator(start.getDirection());
+        int[] taken = new int[windows.size()];
+        List<Card> items = new ArrayList<>(pageSize);
+        while (items.size() < pageSize) {
+            int next = -1;
+            for (int shard = 0; shard < windows.size(); shard++) {
+                List<Card> content = windows.get(shard).getContent();
+                if (taken[shard] < content.size() && (next < 0 || comparator.compare(content.get(taken[shard]),
+                        windows.get(next).getContent().get(taken[next])) < 0)) {
+                    next = shard;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            items.add(windows.get(next).getContent().get(taken[next]++));
+        }
 
-            CardRarity rarity = card.getRarity();
+        ShardedCardCursor end = start;
+        for (int shard = 0; shard < windows.size(); shard++) {
+            Window<Card> window = windows.get(shard);
+            List<Card> content = window.getContent();
+            end = end.advance(shard, taken[shard] > 0 ? content.get(taken[shard] - 1) : null,
+                    taken[shard] == content.size() && !window.hasNext());
+        }
+        return new CardPage(items, end.hasMore() ? end.encode() : null);
+    }
 
-            long marketIntervals = cardDateUtil.calculateDayInterval(card.getDateSetPublished());
-            long ownerIntervals = cardDateUtil.calculateDayInterval(card.getDatePurchased());
+    /**
+     * Reads the cards after a keyset position from the current database.
+     *
+     * @param specification the filter of the cards, or {@code null} for every card
+     * @param position      where the page starts
+     * @param order         the order of the cards, ending with a unique tie-breaker
+     * @param pageSize      the maximum number of cards
+     * @return the cards and whether more follow
+     */
+    private Window<Card> findWindow(Specification<Card> specification, ScrollPosition position, Sort order, int pageSize) {
+        return specification == null
+                ? cardRepository.findBy(position, order, Limit.of(pageSize))
+                : cardRepository.findBy(specification, query -> query.sortBy(order).limit(pageSize).scroll(position));
+    }
 
-            double marketRate = rarity.getMarketRate();
-            double ownerRate = rarity.getOwnerRate();
+    /**
+     * Combines the filters of a search into one specification.
+     *
+     * @param criteria the search filters
+     * @return the specification, or {@code null} if no filter is set
+     * @throws IllegalArgumentException if a filter value is invalid or a range is reversed
+     */
+    private static Specification<Card> toSpecification(CardSearchCriteria criteria) {
+        BigDecimal minPrice = parsePrice(criteria.getMinPrice());
+        BigDecimal maxPrice = parsePrice(criteria.getMaxPrice());
+        LocalDate purchasedFrom = parseDate(criteria.getPurchasedFrom());
+        LocalDate purchasedTo = parseDate(criteria.getPurchasedTo());
+        LocalDate publishedFrom = parseDate(criteria.getPublishedFrom());
+        LocalDate publishedTo = parseDate(criteria.getPublishedTo());
 
-            BigDecimal marketMultiplier = BigDecimal.valueOf(Math.pow(1 + marketRate, marketIntervals));
-            BigDecimal ownerMultiplier = BigDecimal.valueOf(Math.pow(1 + ownerRate, ownerIntervals));
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice.");
+        }
+        if (purchasedFrom != null && purchasedTo != null && purchasedFrom.isAfter(purchasedTo)) {
+            throw new IllegalArgumentException("purchasedFrom must not be after purchasedTo.");
+        }
+        if (publishedFrom != null && publishedTo != null && publishedFrom.isAfter(publishedTo)) {
+            throw new IllegalArgumentException("publishedFrom must not be after publishedTo.");
+        }
 
-            BigDecimal marketValue = basePrice.multiply(marketMultiplier);
-            BigDecimal ownerValue = basePrice.multiply(ownerMultiplier);
+        List<Specification<Card>> filters = new ArrayList<>();
+        if (!isBlank(criteria.getCardGame())) {
+            filters.add(CardSpecifications.hasCardGame(criteria.getCardGame().trim()));
+        }
+        if (!isBlank(criteria.getCardName())) {
+            filters.add(CardSpecifications.cardNameStartsWith(criteria.getCardName().trim()));
+        }
+        if (!isBlank(criteria.getRarity())) {
+            filters.add(CardSpecifications.hasRarity(parseRarity(criteria.getRarity())));
+        }
+        if (criteria.getFoiled() != null) {
+            filters.add(CardSpecifications.isFoiled(criteria.getFoiled()));
+        }
+        if (minPrice != null || maxPrice != null) {
+            filters.add(CardSpecifications.purchasePriceBetween(minPrice, maxPrice));
+        }
+        if (purchasedFrom != null || purchasedTo != null) {
+            filters.add(CardSpecifications.purchasedBetween(purchasedFrom, purchasedTo));
+        }
+        if (publishedFrom != null || publishedTo != null) {
+            filters.add(CardSpecifications.publishedBetween(publishedFrom, publishedTo));
+        }
+        return filters.isEmpty() ? null : Specification.allOf(filters);
+    }
 
-            if (rarity == CardRarity.COMMON) {
-                BigDecimal floor = new BigDecimal("0.20");
-                if (marketValue.compareTo(floor) < 0) marketValue = floor;
-                if (ownerValue.compareTo(floor) < 0) ownerValue = floor;
+    /**
+     * Streams the whole collection to the given output in the requested format.
+     * <p>
+     * Runs in a read-only transaction that keeps the database cursor open while the
+     * {@link CardExporter} writes and detaches one card at a time. When the cards are sharded,
+     * the shards are exported one after the other, each in its own transaction, so the output
+     * is grouped by shard and ordered by ID within each shard.
+     * </p>
+     *
+     * @param outputStream the destination stream; it is flushed but not closed
+     * @param format       the export format
+     * @return the number of exported cards
+     * @throws IOException if writing to the output fails
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportCards(OutputStream outputStream, CardExportFormat format) throws IOException {
+        long exported = 0;
+        boolean header = true;
+        for (String shardKey : cardShards.getShardKeys()) {
+            boolean withHeader = header;
+            try {
+                exported += cardShards.onShard(shardKey, true, () -> {
+                    try {
+                        return cardExporter.export(outputStream, format, withHeader);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
+            header = false;
+        }
+        return exported;
+    }
+
+    /**
+     * Finds a card by its card number.
+     *
+     * @param cardId the card number to search
+     * @return the matching {@link Card}, or null if not found
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Card findByCardId(int cardId) {
+        return cardShards.onShardOf(cardId, true, () -> cardRepository.findByCardNumber(cardId).orElse(null));
+    }
 
-            totalMarketValue = totalMarketValue.add(marketValue);
-            totalOwnerValue = totalOwnerValue.add(ownerValue);
+    /**
+     * Finds a card by its card number and returns it as JSON. Cards are read through the
+     * {@link CardCache}, so repeated lookups of the same card do not query the database.
+     *
+     * @param cardId the card number to search
+     * @return the matching card as JSON, or null if not found
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public byte[] findCardJsonByCardId(int cardId) {
+        return cardCache.get(cardId, () -> findByCardId(cardId));
+    }
 
-        }
+    /**
+     * Returns the hit and miss counters of the card cache.
+     *
+     * @return the cache size, hit and miss counts, hit rate and eviction count
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getCardCacheStatistics() {
+        return cardCache.statistics();
+    }
+
+    /**
+     * Suggests the cards best matching a partially typed name or game. Served entirely from
+     * the in-memory {@link CardNameIndex}, so it tolerates typos and does not touch the database.
+     *
+     * @param query the typed text
+     * @param limit the maximum number of suggestions
+     * @return the best matches, best first
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CardSuggestion> suggestCards(String query, int limit) {
+        return cardNameIndex.search(query, limit);
+    }
+
+    /**
+     * Calculates statistics on the card collection, including:
+     * - Total spent
+     * - Total cards
+     * - Foiled card count
+     * - Percentage of foiled cards
+     * <p>
+     * The totals are read from the {@link CollectionAggregateStore}, which is kept up to date
+     * by every mutation and falls back to a single aggregate query when it needs a rebuild.
+     * </p>
+     *
+     * @return a map containing statistical keys and their corresponding values
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> calculateCollectionStatistics() {
+        return collectionAggregateStore.statistics();
+    }
 
-        return Map.of(
-                "marketValue", totalMarketValue,
-                "ownerValue", totalOwnerValue
-        );
+    /**
+     * Calculates the total market and owner value of all cards in the collection.
+     * Value adjustments are based on rarity and time since purchase/publication.
+     * The value is computed by the {@link CardValuationEngine} from the valuation buckets
+     * of the {@link CollectionAggregateStore}, so no cards are loaded.
+     *
+     * @return a map containing "marketValue" and "ownerValue" totals
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, BigDecimal> calculateCollectionValues() {
+        return collectionAggregateStore.values();
     }
 
     /**
      * Imports multiple cards from a provided text file.
-     * Each line is parsed and validated; valid cards are saved and added to the system.
+     * <p>
+     * Lines are parsed and validated by the {@link CardImporter}, which checks each chunk of
+     * cards for existing card numbers with a single query and writes the new cards with one
+     * JDBC batch insert. Invalid lines are reported and skipped; duplicate cards are skipped silently.
+     * </p>
      *
      * @param file the uploaded file containing card data
      * @return a list of successfully imported {@link Card} entities
@@ -282,26 +974,67 @@ public class CardServiceImpl implements CardService {
         List<Card> importedCards = new ArrayList<>();
 
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                try {
-                    Optional<CardDTO> tempDto = cardParser.parseLine(line);
-
-                    if (tempDto.isPresent()) {
-                        Optional<CardDTO> savedDto = addCard(tempDto.get());
-                        savedDto
-                                .map(CardMapper::toEntity)
-                                .ifPresent(importedCards::add);
-                    }
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Skipping invalid line: " + line);
-                    System.out.println("Reason: " + e);
-                }
-            }
+            cardImporter.importLines(reader, 0, cards -> {
+                cardsWritten(cards);
+                importedCards.addAll(cards);
+            });
         } catch (Exception e) {
             throw new RuntimeException("Failed to read uploaded file", e);
         }
 
         return importedCards;
     }
+
+    /**
+     * Imports cards from a raw stream of import lines without keeping the imported cards in memory.
+     * <p>
+     * Runs outside of a surrounding transaction so that every chunk written by the
+     * {@link CardImporter} is committed on its own and memory use stays flat for any input size.
+     * </p>
+     *
+     * @param inputStream the stream of UTF-8 encoded import lines
+     * @param maxErrors   the maximum number of line errors included in the summary
+     * @return a summary of the import
+     * @throws CardImportException if the stream cannot be read
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportSummary importCardsFromStream(InputStream inputStream, int maxErrors) {
+        return importCardsFromStream(inputStream, maxErrors, new ImportProgress());
+    }
+
+    /**
+     * Imports cards from a raw stream of import lines, publishing its progress as it runs.
+     * Used by background import jobs, which poll and cancel the import through {@code progress}.
+     *
+     * @param inputStream the stream of UTF-8 encoded import lines
+     * @param maxErrors   the maximum number of line errors included in the summary
+     * @param progress    receives the live counters and may cancel the import
+     * @return a summary of the lines written before the import finished or was cancelled
+     * @throws CardImportException if the stream cannot be read
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportSummary importCardsFromStream(InputStream inputStream, int maxErrors, ImportProgress progress) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            return cardImporter.importLines(reader, maxErrors, this::cardsWritten, progress);
+        } catch (IOException e) {
+            throw new CardImportException("Failed to read import stream: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Invalidates the cached entries of imported or upserted cards and reports them to the
+     * card name index.
+     *
+     * @param cards the cards written by one import or upsert chunk
+     */
+    private void cardsWritten(List<Card> cards) {
+        List<Integer> cardNumbers = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            cardNumbers.add(card.getCardNumber());
+        }
+        cardCache.invalidateAll(cardNumbers);
+        cardNameIndex.cardsStored(cards);
+    }
 }
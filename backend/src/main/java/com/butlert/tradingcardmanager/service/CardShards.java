@@ -0,0 +1,223 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.DynamicDataSource;
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.model.Card;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs card data access on the database that holds the cards.
+ * <p>
+ * Work on a single card runs in a transaction on the shard owning its card number. Work on the
+ * whole collection runs once per shard, in parallel, each in a read-only transaction on its shard,
+ * and the caller merges the results. Without shards, both kinds of work run once in a transaction
+ * on the active database, joining the caller's transaction if there is one.
+ * </p>
+ * <p>
+ * A shard transaction is always a new transaction with the shard set as the thread's routing key
+ * for its duration, so it never joins a caller's transaction on another database.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardShards implements DisposableBean {
+
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate shardReadWrite;
+    private final TransactionTemplate shardReadOnly;
+
+    /**
+     * Runs the per-shard work of scatter-gather reads; {@code null} when unsharded.
+     */
+    private final ExecutorService gatherExecutor;
+
+    /**
+     * Constructs CardShards.
+     *
+     * @param shardRouter        maps card numbers to shards
+     * @param transactionManager transaction manager used for every unit of work
+     */
+    public CardShards(ShardRouter shardRouter, PlatformTransactionManager transactionManager) {
+        this.shardRouter = shardRouter;
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.shardReadWrite = new TransactionTemplate(transactionManager);
+        this.shardReadWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadOnly = new TransactionTemplate(transactionManager);
+        this.shardReadOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadOnly.setReadOnly(true);
+
+        if (shardRouter.isSharded()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.gatherExecutor = Executors.newFixedThreadPool(shardRouter.getShardKeys().size(), runnable -> {
+                Thread thread = new Thread(runnable, "card-shard-gather-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.gatherExecutor = null;
+        }
+    }
+
+    /**
+     * Runs work in a transaction on the database holding a card.
+     *
+     * @param cardNumber the card number
+     * @param readOnly   whether the work only reads
+     * @param work       the work to run
+     * @param <T>        the result type
+     * @return the result of the work
+     */
+    public <T> T onShardOf(int cardNumber, boolean readOnly, Supplier<T> work) {
+        return onShard(shardRouter.shardFor(cardNumber), readOnly, work);
+    }
+
+    /**
+     * Runs read-only work on every shard in parallel, or once on the active database when unsharded.
+     *
+     * @param work the work to run
+     * @param <T>  the result type
+     * @return the results in shard order
+     * @throws IllegalStateException if the thread is interrupted while waiting for the shards
+     */
+    public <T> List<T> onEveryShard(Supplier<T> work) {
+        if (gatherExecutor == null) {
+            return List.of(onShard(null, true, work));
+        }
+        return onEveryShardWithKey(shardKey -> work.get());
+    }
+
+    /**
+     * Runs read-only work that depends on the shard, such as where a listing resumes, on every
+     * shard in parallel, or once on the active database when unsharded.
+     *
+     * @param work the work to run, given the shard key, or {@code null} when unsharded
+     * @param <T>  the result type
+     * @return the results in shard order
+     * @throws IllegalStateException if the thread is interrupted while waiting for the shards
+     */
+    public <T> List<T> onEveryShardWithKey(Function<String, T> work) {
+        if (gatherExecutor == null) {
+            return Collections.singletonList(onShard(null, true, () -> work.apply(null)));
+        }
+
+        List<Future<T>> futures = new ArrayList<>();
+        for (String shardKey : shardRouter.getShardKeys()) {
+            futures.add(gatherExecutor.submit(() -> onShard(shardKey, true, () -> work.apply(shardKey))));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to read a shard: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    /**
+     * Groups cards by the database that holds them.
+     *
+     * @param cards the cards
+     * @return the cards keyed by shard key, in their original order; a single {@code null} key when unsharded
+     */
+    public Map<String, List<Card>> partition(Collection<Card> cards) {
+        Map<String, List<Card>> partitions = new LinkedHashMap<>();
+        for (Card card : cards) {
+            partitions.computeIfAbsent(shardRouter.shardFor(card.getCardNumber()), key -> new ArrayList<>()).add(card);
+        }
+        return partitions;
+    }
+
+    /**
+     * Groups card numbers by the database that holds them.
+     *
+     * @param cardNumbers the card numbers
+     * @return the card numbers keyed by shard key, in their original order; a single {@code null} key when unsharded
+     */
+    public Map<String, List<Integer>> partitionCardNumbers(Collection<Integer> cardNumbers) {
+        Map<String, List<Integer>> partitions = new LinkedHashMap<>();
+        for (Integer cardNumber : cardNumbers) {
+            partitions.computeIfAbsent(shardRouter.shardFor(cardNumber), key -> new ArrayList<>()).add(cardNumber);
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns whether the cards are spread over several shards.
+     *
+     * @return true if a shard router with shards is configured
+     */
+    public boolean isSharded() {
+        return shardRouter.isSharded();
+    }
+
+    /**
+     * Returns the keys of the databases holding cards, for work that writes to every shard.
+     *
+     * @return the shard keys in shard order; a single {@code null} key when unsharded
+     */
+    public List<String> getShardKeys() {
+        return shardRouter.isSharded() ? shardRouter.getShardKeys() : Collections.singletonList(null);
+    }
+
+    /**
+     * Runs work in a transaction on a shard.
+     *
+     * @param shardKey the shard key, or {@code null} for the active database
+     * @param readOnly whether the work only reads
+     * @param work     the work to run
+     * @param <T>      the result type
+     * @return the result of the work
+     */
+    public <T> T onShard(String shardKey, boolean readOnly, Supplier<T> work) {
+        if (shardKey == null) {
+            return (readOnly ? this.readOnly : readWrite).execute(status -> work.get());
+        }
+
+        try (DynamicDataSource.Scope scope = DynamicDataSource.withKey(shardKey)) {
+            return (readOnly ? shardReadOnly : shardReadWrite).execute(status -> work.get());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (gatherExecutor != null) {
+            gatherExecutor.shutdownNow();
+        }
+    }
+}
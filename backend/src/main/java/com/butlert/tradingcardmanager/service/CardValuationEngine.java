@@ -0,0 +1,261 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.repository.ValuationGroupView;
+import com.butlert.tradingcardmanager.utils.CardDateUtil;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Computes the market and owner value of the whole collection from grouped card data.
+ * <p>
+ * The value of a card is {@code price * (1 + rate)^intervals}, where the rate depends on the
+ * rarity and the intervals are the full 30-day periods since the set was published (market
+ * value) or since the card was purchased (owner value). Cards sharing a rarity and both
+ * interval counts share the same multipliers, so the engine sums their prices first and
+ * multiplies once per group. The database does the first level of grouping by rarity and
+ * dates; the engine then merges the rows that fall into the same intervals.
+ * </p>
+ * <p>
+ * Multipliers are computed exactly like the original per-card loop, with
+ * {@code BigDecimal.valueOf(Math.pow(1 + rate, intervals))}, and looked up in per-rarity tables.
+ * Because {@link BigDecimal} addition and multiplication are exact, multiplying a sum of prices
+ * gives the same total, including its scale, as multiplying every price on its own.
+ * Common cards are the exception: their per-card value floor is not linear, so they are
+ * grouped by price as well and each group is valued as one card times the group size.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CardValuationEngine {
+    /**
+     * Minimum market and owner value of a single common card.
+     */
+    static final BigDecimal COMMON_FLOOR = new BigDecimal("0.20");
+
+    /**
+     * Largest interval count kept in the precomputed multiplier tables, roughly 100 years.
+     * Multipliers outside the table are computed on demand.
+     */
+    private static final int TABLE_SIZE = 1218;
+
+    private final CardDateUtil cardDateUtil;
+
+    /**
+     * Precomputed market multipliers per rarity, indexed by interval count.
+     */
+    private final Map<CardRarity, BigDecimal[]> marketMultipliers = new EnumMap<>(CardRarity.class);
+
+    /**
+     * Precomputed owner multipliers per rarity, indexed by interval count.
+     */
+    private final Map<CardRarity, BigDecimal[]> ownerMultipliers = new EnumMap<>(CardRarity.class);
+
+    /**
+     * Constructs a CardValuationEngine and precomputes the multiplier tables of every rarity.
+     *
+     * @param cardDateUtil utility used to turn dates into 30-day interval counts
+     */
+    public CardValuationEngine(CardDateUtil cardDateUtil) {
+        this.cardDateUtil = cardDateUtil;
+
+        for (CardRarity rarity : CardRarity.values()) {
+            marketMultipliers.put(rarity, multiplierTable(rarity.getMarketRate()));
+            ownerMultipliers.put(rarity, multiplierTable(rarity.getOwnerRate()));
+        }
+    }
+
+    /**
+     * Calculates the total market and owner value of already grouped cards.
+     *
+     * @param groups       rows of non-common cards, each holding the sum of its prices
+     * @param commonGroups rows of common cards, each holding the price of every card in the row
+     * @param today        the reference date for the interval counts
+     * @return a map containing "marketValue" and "ownerValue" totals
+     */
+    public Map<String, BigDecimal> calculateValues(Collection<? extends ValuationGroupView> groups,
+                                                   Collection<? extends ValuationGroupView> commonGroups,
+                                                   LocalDate today) {
+        Totals totals = new Totals();
+        valueLinearGroups(groups, today, totals);
+        valueCommonGroups(commonGroups, today, totals);
+        return totals.toMap();
+    }
+
+    /**
+     * Values groups whose value is linear in their summed price.
+     * Rows are merged per rarity and interval counts before multiplying.
+     *
+     * @param groups the grouped rows, each holding the sum of its prices
+     * @param today  the reference date for the interval counts
+     * @param totals the running totals
+     */
+    private void valueLinearGroups(Collection<? extends ValuationGroupView> groups, LocalDate today, Totals totals) {
+        Map<IntervalKey, BigDecimal> priceByIntervals = new HashMap<>();
+        for (ValuationGroupView group : groups) {
+            IntervalKey key = new IntervalKey(group.getRarity(),
+                    cardDateUtil.calculateDayInterval(group.getDateSetPublished(), today),
+                    cardDateUtil.calculateDayInterval(group.getDatePurchased(), today));
+            priceByIntervals.merge(key, group.getPurchasePrice(), BigDecimal::add);
+        }
+
+        for (Map.Entry<IntervalKey, BigDecimal> entry : priceByIntervals.entrySet()) {
+            IntervalKey key = entry.getKey();
+            BigDecimal price = entry.getValue();
+            totals.market = totals.market.add(price.multiply(marketMultiplier(key.rarity, key.marketIntervals)));
+            totals.owner = totals.owner.add(price.multiply(ownerMultiplier(key.rarity, key.ownerIntervals)));
+        }
+    }
+
+    /**
+     * Values common card groups, applying the value floor to a single card of each group
+     * and scaling the result by the group size.
+     *
+     * @param groups the grouped rows, each holding the price of every card in the group
+     * @param today  the reference date for the interval counts
+     * @param totals the running totals
+     */
+    private void valueCommonGroups(Collection<? extends ValuationGroupView> groups, LocalDate today, Totals totals) {
+        for (ValuationGroupView group : groups) {
+            long marketIntervals = cardDateUtil.calculateDayInterval(group.getDateSetPublished(), today);
+            long ownerIntervals = cardDateUtil.calculateDayInterval(group.getDatePurchased(), today);
+            BigDecimal count = BigDecimal.valueOf(group.getCardCount());
+
+            BigDecimal marketValue = floor(group.getPurchasePrice().multiply(marketMultiplier(group.getRarity(), marketIntervals)));
+            BigDecimal ownerValue = floor(group.getPurchasePrice().multiply(ownerMultiplier(group.getRarity(), ownerIntervals)));
+
+            totals.market = totals.market.add(marketValue.multiply(count));
+            totals.owner = totals.owner.add(ownerValue.multiply(count));
+        }
+    }
+
+    /**
+     * Returns the market multiplier for a rarity and interval count.
+     *
+     * @param rarity    the card rarity
+     * @param intervals the number of 30-day intervals since the set was published
+     * @return the multiplier
+     */
+    BigDecimal marketMultiplier(CardRarity rarity, long intervals) {
+        return lookup(marketMultipliers.get(rarity), rarity.getMarketRate(), intervals);
+    }
+
+    /**
+     * Returns the owner multiplier for a rarity and interval count.
+     *
+     * @param rarity    the card rarity
+     * @param intervals the number of 30-day intervals since the card was purchased
+     * @return the multiplier
+     */
+    BigDecimal ownerMultiplier(CardRarity rarity, long intervals) {
+        return lookup(ownerMultipliers.get(rarity), rarity.getOwnerRate(), intervals);
+    }
+
+    /**
+     * Raises a single common card value to the floor.
+     *
+     * @param value the value of one card
+     * @return the value, or the floor if the value is below it
+     */
+    private static BigDecimal floor(BigDecimal value) {
+        return value.compareTo(COMMON_FLOOR) < 0 ? COMMON_FLOOR : value;
+    }
+
+    /**
+     * Builds the multiplier table for one rate.
+     *
+     * @param rate the monthly adjustment rate
+     * @return the multipliers for interval counts {@code 0} to {@code TABLE_SIZE - 1}
+     */
+    private static BigDecimal[] multiplierTable(double rate) {
+        BigDecimal[] table = new BigDecimal[TABLE_SIZE];
+        for (int intervals = 0; intervals < TABLE_SIZE; intervals++) {
+            table[intervals] = multiplier(rate, intervals);
+        }
+        return table;
+    }
+
+    /**
+     * Reads a multiplier from a table, computing it if the interval count is outside the table.
+     *
+     * @param table     the precomputed multipliers of the rate
+     * @param rate      the monthly adjustment rate
+     * @param intervals the interval count
+     * @return the multiplier
+     */
+    private static BigDecimal lookup(BigDecimal[] table, double rate, long intervals) {
+        if (intervals >= 0 && intervals < table.length) {
+            return table[(int) intervals];
+        }
+        return multiplier(rate, intervals);
+    }
+
+    /**
+     * Computes a multiplier exactly as the original per-card valuation did.
+     *
+     * @param rate      the monthly adjustment rate
+     * @param intervals the interval count
+     * @return {@code (1 + rate)^intervals} as a BigDecimal
+     */
+    private static BigDecimal multiplier(double rate, long intervals) {
+        return BigDecimal.valueOf(Math.pow(1 + rate, intervals));
+    }
+
+    /**
+     * Rarity and interval counts shared by cards that have the same multipliers.
+     */
+    private static final class IntervalKey {
+        private final CardRarity rarity;
+        private final long marketIntervals;
+        private final long ownerIntervals;
+
+        private IntervalKey(CardRarity rarity, long marketIntervals, long ownerIntervals) {
+            this.rarity = rarity;
+            this.marketIntervals = marketIntervals;
+            this.ownerIntervals = ownerIntervals;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IntervalKey other)) {
+                return false;
+            }
+            return rarity == other.rarity
+                    && marketIntervals == other.marketIntervals
+                    && ownerIntervals == other.ownerIntervals;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rarity, marketIntervals, ownerIntervals);
+        }
+    }
+
+    /**
+     * Running market and owner totals of one valuation.
+     */
+    private static final class Totals {
+        private BigDecimal market = BigDecimal.ZERO;
+        private BigDecimal owner = BigDecimal.ZERO;
+
+        private Map<String, BigDecimal> toMap() {
+            return Map.of(
+                    "marketValue", market,
+                    "ownerValue", owner
+            );
+        }
+    }
+}
@@ -0,0 +1,602 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.DataSourceSwitchedEvent;
+import com.butlert.tradingcardmanager.config.DataSourceSwitchingEvent;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.repository.CollectionStatisticsView;
+import com.butlert.tradingcardmanager.repository.ValuationGroupView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory aggregates of the card collection backing the statistics and value endpoints.
+ * <p>
+ * The store keeps the card count, foil count and total spent, plus the valuation buckets used
+ * by the {@link CardValuationEngine}: summed prices per rarity and date pair, and card counts per
+ * date pair and price for common cards. Buckets are keyed by dates rather than interval counts
+ * because intervals move with the calendar; turning buckets into intervals happens on read, so
+ * statistics are O(1) and values are O(#buckets).
+ * </p>
+ * <p>
+ * Every mutation in {@link CardServiceImpl} and {@link CardImporter} reports its change to the
+ * store from inside its transaction. The change is applied after the transaction commits and
+ * dropped if it rolls back. The store is rebuilt from the database with the aggregate queries
+ * of {@link CardRepository} on startup and after the database is switched, and can be
+ * invalidated by operations that change many rows at once. A switch invalidates it before
+ * traffic resumes on the new database. While invalid, reads run the
+ * aggregate queries directly and use their result to rebuild the store. When the cards are
+ * sharded, the queries run on every shard in parallel and their results are summed.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+@Component
+public class CollectionAggregateStore {
+    private static final Logger logger = LoggerFactory.getLogger(CollectionAggregateStore.class);
+
+    /**
+     * Scale of the {@code purchase_price} column. Prices are normalized to it so in-memory
+     * totals carry the same scale as totals read from the database.
+     */
+    private static final int PRICE_SCALE = 2;
+
+    private final CardRepository cardRepository;
+    private final CardValuationEngine cardValuationEngine;
+    private final CardShards cardShards;
+
+    /**
+     * Whether the aggregates below reflect the database.
+     */
+    private boolean valid;
+
+    /**
+     * Number of reported changes whose transaction has not completed yet.
+     */
+    private int changesInFlight;
+
+    /**
+     * Number of changes reported and invalidations since startup, used to detect changes
+     * racing a rebuild.
+     */
+    private long changesStarted;
+
+    private long totalCards;
+    private long foiledCards;
+    private long pricedCards;
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+    private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+    private final Map<BucketKey, Bucket> commonBuckets = new HashMap<>();
+
+    /**
+     * Constructs an empty, invalid CollectionAggregateStore.
+     *
+     * @param cardRepository      repository used to rebuild the aggregates
+     * @param cardValuationEngine engine turning valuation buckets into collection values
+     * @param cardShards          runs the aggregate queries on every shard
+     */
+    public CollectionAggregateStore(CardRepository cardRepository, CardValuationEngine cardValuationEngine,
+                                    CardShards cardShards) {
+        this.cardRepository = cardRepository;
+        this.cardValuationEngine = cardValuationEngine;
+        this.cardShards = cardShards;
+    }
+
+    /**
+     * Loads the aggregates once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Discards the aggregates of the previous database while the switch still holds back
+     * traffic, so reads query the new database until the store is rebuilt.
+     *
+     * @param event the switching event
+     */
+    @EventListener
+    public void onDataSourceSwitching(DataSourceSwitchingEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Loads the aggregates of the new database.
+     *
+     * @param event the switch event
+     */
+    @EventListener
+    public void onDataSourceSwitched(DataSourceSwitchedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Marks the aggregates as stale. Used after changes that are not reported card by card;
+     * the next read rebuilds the store from the database. A rebuild already loading does not
+     * install its result.
+     */
+    public synchronized void invalidate() {
+        valid = false;
+        changesStarted++;
+    }
+
+    /**
+     * Returns the collection statistics with the same keys and value types as
+     * {@link CardService#calculateCollectionStatistics()}.
+     *
+     * @return a map containing statistical keys and their corresponding values
+     */
+    public Map<String, Object> statistics() {
+        synchronized (this) {
+            if (valid) {
+                return statisticsMap(totalCards, foiledCards, pricedCards > 0 ? totalSpent : BigDecimal.ZERO);
+            }
+        }
+
+        Snapshot snapshot = load();
+        CollectionStatisticsView statistics = snapshot.statistics;
+        return statisticsMap(statistics.getTotalCards(),
+                statistics.getTotalFoiled() != null ? statistics.getTotalFoiled() : 0,
+                statistics.getTotalSpent() != null ? statistics.getTotalSpent() : BigDecimal.ZERO);
+    }
+
+    /**
+     * Returns the market and owner value of the collection.
+     *
+     * @return a map containing "marketValue" and "ownerValue" totals
+     */
+    public Map<String, BigDecimal> values() {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            if (valid) {
+                return cardValuationEngine.calculateValues(buckets.values(), commonBuckets.values(), today);
+            }
+        }
+
+        Snapshot snapshot = load();
+        return cardValuationEngine.calculateValues(snapshot.groups, snapshot.commonGroups, today);
+    }
+
+    /**
+     * Reports a newly stored card.
+     *
+     * @param card the stored card
+     */
+    public void cardAdded(Card card) {
+        report(List.of(Change.of(card, 1)));
+    }
+
+    /**
+     * Reports a chunk of newly stored cards.
+     *
+     * @param cards the stored cards
+     */
+    public void cardsAdded(List<Card> cards) {
+        List<Change> changes = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            changes.add(Change.of(card, 1));
+        }
+        report(changes);
+    }
+
+    /**
+     * Reports a deleted card.
+     *
+     * @param card the card as it was stored before the deletion
+     */
+    public void cardRemoved(Card card) {
+        report(List.of(Change.of(card, -1)));
+    }
+
+    /**
+     * Reports a chunk of deleted cards.
+     *
+     * @param cards the cards as they were stored before the deletion
+     */
+    public void cardsRemoved(List<Card> cards) {
+        List<Change> changes = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            changes.add(Change.of(card, -1));
+        }
+        report(changes);
+    }
+
+    /**
+     * Reports an updated card. The old values must be captured before the entity is modified.
+     *
+     * @param before a snapshot of the card before the update, from {@link #snapshot(Card)}
+     * @param after  the card after the update
+     */
+    public void cardUpdated(Change before, Card after) {
+        report(List.of(before.negate(), Change.of(after, 1)));
+    }
+
+    /**
+     * Captures the aggregated fields of a card before it is modified.
+     *
+     * @param card the card about to change
+     * @return the snapshot to pass to {@link #cardUpdated(Change, Card)}
+     */
+    public Change snapshot(Card card) {
+        return Change.of(card, 1);
+    }
+
+    /**
+     * Reloads the aggregates from the database.
+     */
+    public void rebuild() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            logger.warn("Could not load collection aggregates: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registers changes to apply once the current transaction commits, or applies them
+     * right away if no transaction is active.
+     *
+     * @param changes the changes of one mutation
+     */
+    private void report(List<Change> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                changesStarted++;
+                applyAll(changes);
+            }
+            return;
+        }
+
+        synchronized (this) {
+            changesStarted++;
+            changesInFlight++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(changes, status);
+            }
+        });
+    }
+
+    /**
+     * Applies or drops the changes of a completed transaction.
+     *
+     * @param changes the reported changes
+     * @param status  the completion status of the transaction
+     */
+    private synchronized void complete(List<Change> changes, int status) {
+        changesInFlight--;
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            applyAll(changes);
+        } else if (status == TransactionSynchronization.STATUS_UNKNOWN) {
+            valid = false;
+        }
+    }
+
+    /**
+     * Applies changes to the aggregates if they are valid. Must hold the lock.
+     *
+     * @param changes the changes to apply
+     */
+    private void applyAll(List<Change> changes) {
+        if (!valid) {
+            return;
+        }
+        for (Change change : changes) {
+            apply(change);
+        }
+    }
+
+    /**
+     * Adds or removes one card from the aggregates. Must hold the lock.
+     *
+     * @param change the card fields and the direction of the change
+     */
+    private void apply(Change change) {
+        long sign = change.sign;
+        totalCards += sign;
+        if (change.foiled) {
+            foiledCards += sign;
+        }
+        if (change.price == null) {
+            return;
+        }
+
+        pricedCards += sign;
+        totalSpent = sign > 0 ? totalSpent.add(change.price) : totalSpent.subtract(change.price);
+
+        if (change.rarity == null) {
+            return;
+        }
+        boolean common = change.rarity == CardRarity.COMMON;
+        BucketKey key = new BucketKey(change.rarity, change.dateSetPublished, change.datePurchased,
+                common ? change.price : null);
+        Map<BucketKey, Bucket> target = common ? commonBuckets : buckets;
+
+        Bucket bucket = target.computeIfAbsent(key, Bucket::new);
+        bucket.cardCount += sign;
+        if (!common) {
+            bucket.purchasePrice = sign > 0 ? bucket.purchasePrice.add(change.price) : bucket.purchasePrice.subtract(change.price);
+        }
+        if (bucket.cardCount <= 0) {
+            target.remove(key);
+        }
+    }
+
+    /**
+     * Runs the aggregate queries on every shard and installs their combined result, unless a
+     * change was reported while the queries ran.
+     *
+     * @return the query results
+     */
+    private Snapshot load() {
+        long startedBefore;
+        synchronized (this) {
+            startedBefore = changesStarted;
+        }
+
+        Snapshot snapshot = Snapshot.combine(cardShards.onEveryShard(() -> new Snapshot(
+                cardRepository.aggregateCollectionStatistics(),
+                cardRepository.findValuationGroups(), cardRepository.findCommonValuationGroups())));
+
+        synchronized (this) {
+            if (changesInFlight == 0 && changesStarted == startedBefore) {
+                install(snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the aggregates with freshly loaded ones and marks the store valid. Must hold the lock.
+     *
+     * @param snapshot the query results
+     */
+    private void install(Snapshot snapshot) {
+        CollectionStatisticsView statistics = snapshot.statistics;
+        totalCards = statistics.getTotalCards();
+        foiledCards = statistics.getTotalFoiled() != null ? statistics.getTotalFoiled() : 0;
+        pricedCards = statistics.getPricedCards();
+        totalSpent = statistics.getTotalSpent() != null ? statistics.getTotalSpent() : BigDecimal.ZERO;
+
+        buckets.clear();
+        commonBuckets.clear();
+        for (ValuationGroupView group : snapshot.groups) {
+            Bucket bucket = buckets.computeIfAbsent(new BucketKey(group.getRarity(), group.getDateSetPublished(),
+                    group.getDatePurchased(), null), Bucket::new);
+            bucket.purchasePrice = bucket.purchasePrice.add(group.getPurchasePrice());
+            bucket.cardCount += group.getCardCount();
+        }
+        for (ValuationGroupView group : snapshot.commonGroups) {
+            Bucket bucket = commonBuckets.computeIfAbsent(new BucketKey(group.getRarity(), group.getDateSetPublished(),
+                    group.getDatePurchased(), group.getPurchasePrice()), Bucket::new);
+            bucket.cardCount += group.getCardCount();
+        }
+        valid = true;
+    }
+
+    /**
+     * Builds the statistics map returned to clients.
+     */
+    private static Map<String, Object> statisticsMap(long totalCards, long foiledCards, BigDecimal totalSpent) {
+        int cards = (int) totalCards;
+        int foiled = (int) foiledCards;
+        double percentFoiled = cards == 0 ? 0.0 : (foiled * 100.0) / cards;
+
+        return Map.of(
+                "totalSpent", totalSpent,
+                "totalCards", cards,
+                "totalFoiled", foiled,
+                "percentFoiled", percentFoiled
+        );
+    }
+
+    /**
+     * The aggregated fields of one card and whether it is added or removed.
+     */
+    public static final class Change {
+        private final CardRarity rarity;
+        private final LocalDate dateSetPublished;
+        private final LocalDate datePurchased;
+        private final BigDecimal price;
+        private final boolean foiled;
+        private final int sign;
+
+        private Change(CardRarity rarity, LocalDate dateSetPublished, LocalDate datePurchased,
+                       BigDecimal price, boolean foiled, int sign) {
+            this.rarity = rarity;
+            this.dateSetPublished = dateSetPublished;
+            this.datePurchased = datePurchased;
+            this.price = price;
+            this.foiled = foiled;
+            this.sign = sign;
+        }
+
+        private static Change of(Card card, int sign) {
+            BigDecimal price = card.getPurchasePrice() != null
+                    ? card.getPurchasePrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+                    : null;
+            return new Change(card.getRarity(), card.getDateSetPublished(), card.getDatePurchased(),
+                    price, card.isFoiled(), sign);
+        }
+
+        private Change negate() {
+            return new Change(rarity, dateSetPublished, datePurchased, price, foiled, -sign);
+        }
+    }
+
+    /**
+     * Identifies a valuation bucket. The price is only part of the key for common cards.
+     */
+    private static final class BucketKey {
+        private final CardRarity rarity;
+        private final LocalDate dateSetPublished;
+        private final LocalDate datePurchased;
+        private final BigDecimal price;
+
+        private BucketKey(CardRarity rarity, LocalDate dateSetPublished, LocalDate datePurchased, BigDecimal price) {
+            this.rarity = rarity;
+            this.dateSetPublished = dateSetPublished;
+            this.datePurchased = datePurchased;
+            this.price = price;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey other)) {
+                return false;
+            }
+            return rarity == other.rarity
+                    && Objects.equals(dateSetPublished, other.dateSetPublished)
+                    && Objects.equals(datePurchased, other.datePurchased)
+                    && Objects.equals(price, other.price);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rarity, dateSetPublished, datePurchased, price);
+        }
+    }
+
+    /**
+     * A valuation bucket, handed to the {@link CardValuationEngine} as a grouped row.
+     */
+    private static final class Bucket implements ValuationGroupView {
+        private final BucketKey key;
+        private BigDecimal purchasePrice;
+        private long cardCount;
+
+        private Bucket(BucketKey key) {
+            this.key = key;
+            this.purchasePrice = key.price != null ? key.price : BigDecimal.ZERO;
+        }
+
+        @Override
+        public CardRarity getRarity() {
+            return key.rarity;
+        }
+
+        @Override
+        public LocalDate getDateSetPublished() {
+            return key.dateSetPublished;
+        }
+
+        @Override
+        public LocalDate getDatePurchased() {
+            return key.datePurchased;
+        }
+
+        @Override
+        public BigDecimal getPurchasePrice() {
+            return purchasePrice;
+        }
+
+        @Override
+        public long getCardCount() {
+            return cardCount;
+        }
+    }
+
+    /**
+     * Results of the aggregate queries.
+     */
+    private static final class Snapshot {
+        private final CollectionStatisticsView statistics;
+        private final List<ValuationGroupView> groups;
+        private final List<ValuationGroupView> commonGroups;
+
+        private Snapshot(CollectionStatisticsView statistics, List<ValuationGroupView> groups,
+                         List<ValuationGroupView> commonGroups) {
+            this.statistics = statistics;
+            this.groups = groups;
+            this.commonGroups = commonGroups;
+        }
+
+        /**
+         * Combines the results of every shard. Groups are concatenated; groups of different
+         * shards with the same key are summed when the snapshot is installed.
+         *
+         * @param shards the results of each shard
+         * @return the combined results
+         */
+        private static Snapshot combine(List<Snapshot> shards) {
+            if (shards.size() == 1) {
+                return shards.get(0);
+            }
+
+            Totals totals = new Totals();
+            List<ValuationGroupView> groups = new ArrayList<>();
+            List<ValuationGroupView> commonGroups = new ArrayList<>();
+            for (Snapshot shard : shards) {
+                totals.add(shard.statistics);
+                groups.addAll(shard.groups);
+                commonGroups.addAll(shard.commonGroups);
+            }
+            return new Snapshot(totals, groups, commonGroups);
+        }
+    }
+
+    /**
+     * Collection statistics summed over several shards, with the same null conventions as the
+     * aggregate query.
+     */
+    private static final class Totals implements CollectionStatisticsView {
+        private long totalCards;
+        private BigDecimal totalSpent;
+        private long pricedCards;
+        private Long totalFoiled;
+
+        private void add(CollectionStatisticsView shard) {
+            totalCards += shard.getTotalCards();
+            pricedCards += shard.getPricedCards();
+            if (shard.getTotalSpent() != null) {
+                totalSpent = totalSpent != null ? totalSpent.add(shard.getTotalSpent()) : shard.getTotalSpent();
+            }
+            if (shard.getTotalFoiled() != null) {
+                totalFoiled = (totalFoiled != null ? totalFoiled : 0) + shard.getTotalFoiled();
+            }
+        }
+
+        @Override
+        public long getTotalCards() {
+            return totalCards;
+        }
+
+        @Override
+        public BigDecimal getTotalSpent() {
+            return totalSpent;
+        }
+
+        @Override
+        public long getPricedCards() {
+            return pricedCards;
+        }
+
+        @Override
+        public Long getTotalFoiled() {
+            return totalFoiled;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.butlert.tradingcardmanager.service;
+
+/**
+ * Live counters and cancellation flag of one running import.
+ * <p>
+ * The {@link CardImporter} updates the counters from the importing thread after every chunk,
+ * and checks the flag before reading each line, so other threads can watch an import and stop
+ * it. Chunks written before a cancellation stay committed.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+public class ImportProgress {
+    private volatile long linesRead;
+    private volatile long imported;
+    private volatile long duplicates;
+    private volatile long rejected;
+    private volatile boolean cancelled;
+
+    public ImportProgress() {
+
+    }
+
+    /**
+     * Asks the import to stop after the chunk it is writing.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Records the number of lines read so far. Called by the importing thread only.
+     *
+     * @param linesRead the lines read from the input
+     */
+    void linesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    /**
+     * Records how the lines written so far were classified. Called by the importing thread only.
+     *
+     * @param imported   the cards inserted
+     * @param duplicates the valid cards skipped because their card number already existed
+     * @param rejected   the lines that failed parsing or validation
+     */
+    void linesWritten(long imported, long duplicates, long rejected) {
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+    }
+}
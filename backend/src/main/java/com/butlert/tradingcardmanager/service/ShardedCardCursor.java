@@ -0,0 +1,161 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Keyset positions of a card listing gathered from every shard, encoded as one opaque token.
+ * <p>
+ * A single {@link CardCursor} cannot resume every shard: IDs repeat across shards, and each
+ * database sorts text by its own collation. This cursor therefore holds one position per shard:
+ * the {@link CardCursor} of the last card of that shard the client received, nothing if none
+ * was received yet, or a mark that the shard has no cards left. Every shard resumes strictly
+ * after its own last card, so no card is skipped or repeated however the pages are merged.
+ * The token joins the shard positions with dots, in shard order; neither an empty position nor
+ * the {@code ~} mark of an exhausted shard can occur in a {@link CardCursor} token.
+ * </p>
+ *
+ * <p><b>Author:</b> Timothy Butler<br>
+ * <b>Course:</b> CEN 3024 - Software Development 1<br>
+ * <b>Date:</b> October 18, 2026</p>
+ */
+final class ShardedCardCursor {
+    private static final String SEPARATOR = ".";
+    private static final String EXHAUSTED = "~";
+
+    private final CardCursor.SortField sortField;
+    private final Sort.Direction direction;
+
+    /**
+     * Position per shard: empty to start at the first card, {@link #EXHAUSTED}, or a
+     * {@link CardCursor} token.
+     */
+    private final String[] positions;
+
+    private ShardedCardCursor(CardCursor.SortField sortField, Sort.Direction direction, String[] positions) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.positions = positions;
+    }
+
+    /**
+     * Creates the cursor of a first page, starting every shard at its first card.
+     *
+     * @param sortField  the sort field of the listing
+     * @param direction  the sort direction of the listing
+     * @param shardCount the number of shards
+     * @return the cursor
+     */
+    static ShardedCardCursor start(CardCursor.SortField sortField, Sort.Direction direction, int shardCount) {
+        String[] positions = new String[shardCount];
+        Arrays.fill(positions, "");
+        return new ShardedCardCursor(sortField, direction, positions);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token      the cursor token sent by the client
+     * @param shardCount the number of shards
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed or was issued for another shard layout
+     */
+    static ShardedCardCursor decode(String token, int shardCount) {
+        String[] positions = token.split(Pattern.quote(SEPARATOR), -1);
+        if (positions.length != shardCount) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+
+        CardCursor.SortField sortField = null;
+        Sort.Direction direction = null;
+        for (String position : positions) {
+            if (position.isEmpty() || position.equals(EXHAUSTED)) {
+                continue;
+            }
+            CardCursor decoded = CardCursor.decode(position);
+            if (sortField == null) {
+                sortField = decoded.getSortField();
+                direction = decoded.getDirection();
+            } else if (sortField != decoded.getSortField() || direction != decoded.getDirection()) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+        }
+        if (sortField == null) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        return new ShardedCardCursor(sortField, direction, positions);
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the token
+     */
+    String encode() {
+        return String.join(SEPARATOR, positions);
+    }
+
+    /**
+     * Returns whether a shard has no cards left to read.
+     *
+     * @param shard the shard index
+     * @return true if the shard is exhausted
+     */
+    boolean isExhausted(int shard) {
+        return positions[shard].equals(EXHAUSTED);
+    }
+
+    /**
+     * Returns whether any shard may still have cards to read.
+     *
+     * @return true if at least one shard is not exhausted
+     */
+    boolean hasMore() {
+        for (String position : positions) {
+            if (!position.equals(EXHAUSTED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the Spring Data keyset position where a shard resumes.
+     *
+     * @param shard the shard index
+     * @return the scroll position
+     */
+    ScrollPosition toScrollPosition(int shard) {
+        return positions[shard].isEmpty() ? ScrollPosition.keyset() : CardCursor.decode(positions[shard]).toScrollPosition();
+    }
+
+    /**
+     * Returns the cursor after a page was merged from the shards.
+     *
+     * @param shard     the shard index
+     * @param lastCard  the last card of the shard in the page, or {@code null} if the page has none
+     * @param exhausted whether the shard has no cards left after the page
+     * @return a copy of this cursor with the new position of the shard
+     */
+    ShardedCardCursor advance(int shard, Card lastCard, boolean exhausted) {
+        String[] advanced = positions.clone();
+        if (exhausted) {
+            advanced[shard] = EXHAUSTED;
+        } else if (lastCard != null) {
+            advanced[shard] = CardCursor.after(sortField, direction, lastCard).encode();
+        }
+        return new ShardedCardCursor(sortField, direction, advanced);
+    }
+
+    CardCursor.SortField getSortField() {
+        return sortField;
+    }
+
+    Sort.Direction getDirection() {
+        return direction;
+    }
+}
@@ -51,7 +51,21 @@ public class CardDateUtil {
      * @return the number of full 30-day intervals since the publish date
      */
     public long calculateDayInterval(LocalDate publishDate) {
-        long days = calculateDaysSincePublished(publishDate);
+        return calculateDayInterval(publishDate, LocalDate.now());
+    }
+
+    /**
+     * Calculates how many complete 30-day intervals lie between the given date and a fixed reference date.
+     * <p>
+     * Lets callers that value many cards at once read the clock a single time.
+     * </p>
+     *
+     * @param publishDate the date the card set was published or the card was purchased
+     * @param today       the reference date the intervals are counted up to
+     * @return the number of full 30-day intervals between the two dates
+     */
+    public long calculateDayInterval(LocalDate publishDate, LocalDate today) {
+        long days = ChronoUnit.DAYS.between(publishDate, today);
         return days / DAY_INTERVAL;
     }
 }
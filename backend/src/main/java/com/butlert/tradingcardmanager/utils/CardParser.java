@@ -1,5 +1,7 @@
 package com.butlert.tradingcardmanager.utils;
 
+import com.butlert.tradingcardmanager.mapper.CardMapper;
+import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardDTO;
 import com.butlert.tradingcardmanager.model.CardRarity;
 import com.butlert.tradingcardmanager.utils.validation.CardValidator;
@@ -8,6 +10,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -23,12 +28,33 @@ import java.util.Optional;
  * cardNumber - cardGame - cardName - rarity - datePurchased - dateSetPublished - purchasePrice - isFoiled
  * </pre>
  *
+ * <p>Imports use {@link #parseCard(String)}, which scans the delimiters by index and parses every
+ * field in place instead of splitting, trimming and validating copies of each field.</p>
+ *
  * @author Timothy Butler
  * @version 1.0
  * @since June 18, 2025
  */
 @Component
 public class CardParser {
+    /** Delimiter between the fields of an import line. */
+    private static final String DELIMITER = " - ";
+
+    /** Highest card number accepted by {@link CardValidator#validateCardNumber(String)}, exclusive. */
+    private static final int MAX_CARD_NUMBER = 999999;
+
+    /** Highest purchase price accepted by {@link CardValidator#validatePurchasePrice(String)}, in cents. */
+    private static final long MAX_PRICE_CENTS = 100_000_000L;
+
+    /** Cached rarity constants, since {@code CardRarity.values()} copies the array on every call. */
+    private static final CardRarity[] RARITIES = CardRarity.values();
+
+    /** Earliest date accepted for purchase and set publication dates. */
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+
+    /** Today and the latest accepted date (five years from today), refreshed once per day. */
+    private volatile LatestDate latestDate;
+
     private final DateParser dateParser;
     private final CardValidator cardValidator;
 
@@ -123,5 +149,344 @@ public class CardParser {
                 isFoiled
         ));
     }
-}
 
+    /**
+     * Parses and fully validates a single line of text into a {@link Card} entity.
+     *
+     * <p>Produces the same card, and rejects lines with the same messages, as
+     * {@link #parseLine(String)} followed by {@link CardMapper#toEntity(CardDTO)} and
+     * {@link CardValidator#validateCard(Card)}. Well-formed lines are handled by a fast path that
+     * locates the {@code " - "} delimiters by index and parses numbers, dates, prices and flags
+     * directly from the line, so the only objects created are the card itself, its two text
+     * fields, its dates and its price. Any line the fast path does not accept is handed to the
+     * regular parsing and validation steps, which produce the exact error message.</p>
+     *
+     * <p>Cards must also satisfy the bean validation constraints declared on {@link Card}, such as
+     * a positive price and a purchase date that is not in the future, since imported cards are
+     * written with JDBC batches that Hibernate does not validate. The fast path checks these
+     * constraints directly; the regular path runs the bean validator and reports its messages.</p>
+     *
+     * @param line a string representing a line from the import file
+     * @return the parsed and validated card
+     * @throws IllegalArgumentException if the line format is incorrect or any field fails validation
+     */
+    public Card parseCard(String line) {
+        Card card = parseCardFast(line);
+        if (card == null) {
+            Optional<CardDTO> cardDTO = parseLine(line);
+            if (cardDTO.isEmpty()) {
+                throw new IllegalArgumentException("Line could not be parsed: " + line);
+            }
+            card = CardMapper.toEntity(cardDTO.get());
+            ValidatorResult result = cardValidator.validateCard(card);
+            if (!result.isValid()) {
+                throw new IllegalArgumentException("Validation failed: " + result.getMessage());
+            }
+            ValidatorResult constraints = cardValidator.validateConstraints(card);
+            if (!constraints.isValid()) {
+                throw new IllegalArgumentException("Validation failed: " + constraints.getMessage());
+            }
+        }
+        return card;
+    }
+
+    /**
+     * Fast path of {@link #parseCard(String)}. Each field is located and parsed in turn; the
+     * bounds of a field are packed into a single {@code long} so no intermediate objects are needed.
+     * A card it returns satisfies the constraints declared on {@link Card}: a positive card number,
+     * non-blank game and name, dates not in the future (the set date is not after the purchase
+     * date) and a positive price.
+     *
+     * @param line the import line
+     * @return the parsed card, or null if the line needs the regular parsing path
+     */
+    private Card parseCardFast(String line) {
+        long field = locateField(line, 0, false);
+        int cardNumber = field < 0 ? -1 : parseCardNumber(line, fieldStart(field), fieldEnd(field));
+        if (cardNumber <= 0 || cardNumber >= MAX_CARD_NUMBER) {
+            return null;
+        }
+
+        long game = locateField(line, nextFieldStart(line, field), false);
+        if (game < 0 || !isLettersAndSpaces(line, fieldStart(game), fieldEnd(game))) {
+            return null;
+        }
+
+        long name = locateField(line, nextFieldStart(line, game), false);
+        if (name < 0 || !isLettersAndSpaces(line, fieldStart(name), fieldEnd(name))) {
+            return null;
+        }
+
+        field = locateField(line, nextFieldStart(line, name), false);
+        CardRarity rarity = field < 0 ? null : parseRarity(line, fieldStart(field), fieldEnd(field));
+        if (rarity == null) {
+            return null;
+        }
+
+        field = locateField(line, nextFieldStart(line, field), false);
+        LocalDate datePurchased = field < 0 ? null : parseDate(line, fieldStart(field), fieldEnd(field));
+        if (datePurchased == null) {
+            return null;
+        }
+
+        field = locateField(line, nextFieldStart(line, field), false);
+        LocalDate dateSetPublished = field < 0 ? null : parseDate(line, fieldStart(field), fieldEnd(field));
+        if (dateSetPublished == null || datePurchased.isBefore(dateSetPublished)
+                || datePurchased.isAfter(today())) {
+            return null;
+        }
+
+        field = locateField(line, nextFieldStart(line, field), false);
+        BigDecimal purchasePrice = field < 0 ? null : parsePrice(line, fieldStart(field), fieldEnd(field));
+        if (purchasePrice == null || purchasePrice.signum() <= 0) {
+            return null;
+        }
+
+        field = locateField(line, nextFieldStart(line, field), true);
+        int foiled = field < 0 ? -1 : parseFoiled(line, fieldStart(field), fieldEnd(field));
+        if (foiled < 0) {
+            return null;
+        }
+
+        return new Card(cardNumber,
+                line.substring(fieldStart(game), fieldEnd(game)),
+                line.substring(fieldStart(name), fieldEnd(name)),
+                rarity, datePurchased, dateSetPublished, purchasePrice, foiled == 1);
+    }
+
+    /**
+     * Locates the field starting at {@code from} and trims it.
+     *
+     * @param line the import line
+     * @param from the index the field starts at, or -1 if there is no such field
+     * @param last true for the eighth field, which runs to the end of the line
+     * @return the trimmed start and end index packed as {@code start << 32 | end},
+     *         or -1 if the field is missing, empty or followed by further fields
+     */
+    private static long locateField(String line, int from, boolean last) {
+        if (from < 0) {
+            return -1;
+        }
+        int next = line.indexOf(DELIMITER, from);
+        if (last ? next >= 0 : next < 0) {
+            return -1;
+        }
+
+        int start = from;
+        int end = last ? line.length() : next;
+        while (start < end && line.charAt(start) <= ' ') start++;
+        while (end > start && line.charAt(end - 1) <= ' ') end--;
+        if (start == end) {
+            return -1;
+        }
+        return ((long) start << 32) | end;
+    }
+
+    /**
+     * Returns the index at which the field after the given one starts.
+     *
+     * @param line  the import line
+     * @param field a field located by {@link #locateField(String, int, boolean)}
+     * @return the start index of the next field, or -1 if there is none
+     */
+    private static int nextFieldStart(String line, long field) {
+        int delimiter = line.indexOf(DELIMITER, fieldEnd(field));
+        return delimiter < 0 ? -1 : delimiter + DELIMITER.length();
+    }
+
+    private static int fieldStart(long field) {
+        return (int) (field >>> 32);
+    }
+
+    private static int fieldEnd(long field) {
+        return (int) field;
+    }
+
+    /**
+     * Parses an unsigned decimal card number of at most six digits.
+     *
+     * @return the card number, or -1 if the field is not a plain six-digit number
+     */
+    private static int parseCardNumber(String line, int start, int end) {
+        if (end - start > 6) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Checks that a field contains only ASCII letters and spaces.
+     */
+    private static boolean isLettersAndSpaces(String line, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c != ' ' && (c < 'A' || c > 'Z') && (c < 'a' || c > 'z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches a field against the rarity names, ignoring ASCII case.
+     *
+     * @return the matching rarity, or null if none matches
+     */
+    private static CardRarity parseRarity(String line, int start, int end) {
+        for (CardRarity rarity : RARITIES) {
+            String name = rarity.name();
+            if (name.length() == end - start && line.regionMatches(true, start, name, 0, name.length())) {
+                return rarity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a {@code yyyy-MM-dd} date and checks it against the accepted date range.
+     *
+     * @return the date, or null if the field is not a valid date inside the accepted range
+     */
+    private LocalDate parseDate(String line, int start, int end) {
+        if (end - start != 10 || line.charAt(start + 4) != '-' || line.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = parseDigits(line, start, start + 4);
+        int month = parseDigits(line, start + 5, start + 7);
+        int day = parseDigits(line, start + 8, start + 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+
+        LocalDate date = LocalDate.of(year, month, day);
+        if (date.isBefore(EARLIEST_DATE) || date.isAfter(latestDate())) {
+            return null;
+        }
+        return date;
+    }
+
+    /**
+     * Parses a non-negative price with at most two decimal places and no more than 1,000,000.
+     *
+     * @return the price with the same scale as written, or null if the field is not such a price
+     */
+    private static BigDecimal parsePrice(String line, int start, int end) {
+        if (end - start > 12) {
+            return null;
+        }
+        long unscaled = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            unscaled = unscaled * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+
+        if (scale > 2 || line.charAt(start) == '.' || line.charAt(end - 1) == '.') {
+            return null;
+        }
+        scale = Math.max(scale, 0);
+        long cents = scale == 2 ? unscaled : scale == 1 ? unscaled * 10 : unscaled * 100;
+        if (cents > MAX_PRICE_CENTS) {
+            return null;
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Parses {@code true} or {@code false}, ignoring ASCII case.
+     *
+     * @return 1 for true, 0 for false, or -1 if the field is neither
+     */
+    private static int parseFoiled(String line, int start, int end) {
+        int length = end - start;
+        if (length == 4 && line.regionMatches(true, start, "true", 0, 4)) {
+            return 1;
+        }
+        if (length == 5 && line.regionMatches(true, start, "false", 0, 5)) {
+            return 0;
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a run of ASCII digits.
+     *
+     * @return the value, or -1 if the range contains a non-digit
+     */
+    private static int parseDigits(String line, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the latest accepted date, five years from today, recomputing it once the day changes.
+     *
+     * @return the latest accepted date
+     */
+    private LocalDate latestDate() {
+        return currentDates().date;
+    }
+
+    /**
+     * Returns today's date, the latest date a card may have been purchased on.
+     *
+     * @return today's date
+     */
+    private LocalDate today() {
+        return currentDates().today;
+    }
+
+    private LatestDate currentDates() {
+        LatestDate current = latestDate;
+        long now = System.currentTimeMillis();
+        if (current == null || now >= current.validUntilMillis) {
+            LocalDate today = LocalDate.now();
+            long validUntil = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            current = new LatestDate(today, today.plusYears(5), validUntil);
+            latestDate = current;
+        }
+        return current;
+    }
+
+    /**
+     * Today's and the latest accepted date together with the time until which they stay valid.
+     */
+    private static final class LatestDate {
+        private final LocalDate today;
+        private final LocalDate date;
+        private final long validUntilMillis;
+
+        private LatestDate(LocalDate today, LocalDate date, long validUntilMillis) {
+            this.today = today;
+            this.date = date;
+            this.validUntilMillis = validUntilMillis;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.butlert.tradingcardmanager.utils.validation;
 
 import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardRarity;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Validates the fields of a {@link Card} object to ensure data integrity before processing or persistence.
@@ -20,23 +25,33 @@ import java.time.format.DateTimeParseException;
  *   <li>Purchase price formatting and limits</li>
  *   <li>Date boundaries and consistency between dates</li>
  *   <li>Boolean parsing for "foiled" status</li>
+ *   <li>The bean validation constraints declared on {@link Card}</li>
  * </ul>
  *
+ * <p>Cards are written with plain JDBC batches, which do not pass through Hibernate's bean
+ * validation, so the constraints on {@link Card} are checked here before any write.</p>
+ *
  * <p>Used as a shared component for input validation across services and utilities.</p>
  */
 @Component
 public class CardValidator {
 
     /**
-     * Default constructor for {@link CardValidator}.
-     * <p>
-     * Since this class is managed by Spring as a {@code @Component},
-     * explicit construction is typically handled by the Spring container.
-     * This constructor exists for clarity and potential future extension.
-     * </p>
+     * Orders constraint violations by property, so their messages are reported in a stable order.
      */
-    public CardValidator() {
+    private static final Comparator<ConstraintViolation<Card>> BY_PROPERTY =
+            Comparator.comparing((ConstraintViolation<Card> violation) -> violation.getPropertyPath().toString())
+                    .thenComparing(ConstraintViolation::getMessage);
+
+    private final Validator beanValidator;
 
+    /**
+     * Constructs a CardValidator.
+     *
+     * @param beanValidator the validator checking the bean validation constraints declared on {@link Card}
+     */
+    public CardValidator(Validator beanValidator) {
+        this.beanValidator = beanValidator;
     }
 
     /**
@@ -96,6 +111,24 @@ public class CardValidator {
         return ValidatorResult.fail(errors.toString().trim());
     }
 
+    /**
+     * Checks the bean validation constraints declared on {@link Card}, such as a positive purchase
+     * price and a purchase date that is not in the future.
+     *
+     * @param card the card to check
+     * @return a {@link ValidatorResult} listing each violated constraint as {@code "<field> <message>."}
+     */
+    public ValidatorResult validateConstraints(Card card) {
+        Set<ConstraintViolation<Card>> violations = beanValidator.validate(card);
+        if (violations.isEmpty()) {
+            return ValidatorResult.success();
+        }
+        return ValidatorResult.fail(violations.stream()
+                .sorted(BY_PROPERTY)
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage() + ".")
+                .collect(Collectors.joining(" ")));
+    }
+
     /**
      * Validates the card number to ensure it is a positive integer and within a 6-digit range.
      *
@@ -0,0 +1,67 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardNumberIndexTest {
+
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = ConnectionPools.create("index", "jdbc:h2:mem:card_number_index;MODE=MYSQL", "sa", "", "org.h2.Driver",
+                new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        execute("CREATE TABLE card (id BIGINT AUTO_INCREMENT PRIMARY KEY, card_number INT NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testEnsure_createsIndexOnceAndEnforcesUniqueness() throws SQLException {
+        execute("INSERT INTO card (card_number) VALUES (1), (2)");
+
+        assertTrue(CardNumberIndex.ensure(dataSource));
+        assertFalse(CardNumberIndex.ensure(dataSource));
+        assertThrows(SQLException.class, () -> execute("INSERT INTO card (card_number) VALUES (1)"));
+    }
+
+    @Test
+    void testEnsure_reportsDuplicatesWithoutCreatingIndex() throws SQLException {
+        execute("INSERT INTO card (card_number) VALUES (1), (7), (7), (9), (9), (9)");
+
+        DuplicateCardNumbersException e = assertThrows(DuplicateCardNumbersException.class,
+                () -> CardNumberIndex.ensure(dataSource));
+
+        assertEquals(Map.of(7, 2L, 9, 3L), e.getDuplicates());
+        assertTrue(e.getMessage().contains("7 (2 rows), 9 (3 rows)"));
+        execute("INSERT INTO card (card_number) VALUES (1)");
+    }
+
+    @Test
+    void testEnsure_skipsMissingTable() throws SQLException {
+        execute("DROP TABLE card");
+
+        assertFalse(CardNumberIndex.ensure(dataSource));
+        assertEquals(Map.of(), CardNumberIndex.findDuplicates(dataSource));
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
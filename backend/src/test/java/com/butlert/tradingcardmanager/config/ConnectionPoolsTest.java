@@ -0,0 +1,87 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionPoolSettings settings = new ConnectionPoolSettings();
+        settings.setMaximumPoolSize(4);
+        settings.setMinimumIdle(1);
+        pool = ConnectionPools.create("test", "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver", settings,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testMetrics_reportsBorrowedConnections() throws Exception {
+        try (Connection ignored = pool.getConnection()) {
+            Map<String, Object> metrics = ConnectionPools.metrics(Map.of("test", pool)).get("test");
+
+            assertEquals(1, metrics.get("activeConnections"));
+            assertEquals(4, metrics.get("maximumPoolSize"));
+            assertEquals(1, metrics.get("minimumIdle"));
+        }
+    }
+
+    @Test
+    void testCreate_publishesPoolMetricsTaggedWithPoolName() throws Exception {
+        try (Connection ignored = pool.getConnection()) {
+            assertEquals(1.0, meterRegistry.get("hikaricp.connections.active").tag("pool", pool.getPoolName()).gauge().value());
+            assertEquals(4.0, meterRegistry.get("hikaricp.connections.max").tag("pool", pool.getPoolName()).gauge().value());
+            assertEquals(1, meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer().count());
+        }
+    }
+
+    @Test
+    void testAwaitIdleAndClose_waitsForBorrowedConnection() throws Exception {
+        Connection borrowed = pool.getConnection();
+        Thread drainer = new Thread(() -> ConnectionPools.awaitIdleAndClose(pool, 10_000));
+        drainer.start();
+
+        drainer.join(300);
+        assertFalse(pool.isClosed());
+        assertFalse(borrowed.isClosed());
+
+        borrowed.close();
+        drainer.join(5_000);
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    void testAwaitIdleAndClose_closesAfterTimeout() throws Exception {
+        Connection borrowed = pool.getConnection();
+
+        ConnectionPools.awaitIdleAndClose(pool, 200);
+
+        assertTrue(pool.isClosed());
+        borrowed.close();
+    }
+
+    @Test
+    void testCreate_rejectsInvalidSettings() {
+        ConnectionPoolSettings settings = new ConnectionPoolSettings();
+        settings.setMaximumPoolSize(0);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                ConnectionPools.create("bad", "jdbc:h2:mem:badpool", "sa", "", "org.h2.Driver", settings, meterRegistry));
+    }
+}
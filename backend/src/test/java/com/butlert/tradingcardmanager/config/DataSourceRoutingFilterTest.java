@@ -0,0 +1,165 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceRoutingFilterTest {
+
+    private static final int REQUESTS = 4000;
+
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+    private final DataSourceRoutingFilter filter = new DataSourceRoutingFilter();
+    private DynamicDataSource routingDs;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (String key : List.of("primary", "secondary")) {
+            HikariDataSource pool = ConnectionPools.create(key, "jdbc:h2:mem:routing_" + key + ";DB_CLOSE_DELAY=-1",
+                    "sa", "", "org.h2.Driver", new ConnectionPoolSettings(), new SimpleMeterRegistry());
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(20))");
+                statement.execute("DELETE FROM whoami");
+                statement.execute("INSERT INTO whoami VALUES ('" + key + "')");
+            }
+            pools.put(key, pool);
+        }
+        routingDs = new DynamicDataSource(new SimpleMeterRegistry());
+        routingDs.setTargetDataSources(Map.copyOf(pools));
+        routingDs.afterPropertiesSet();
+        DynamicDataSource.setGlobalKey("primary");
+    }
+
+    @AfterEach
+    void tearDown() {
+        DynamicDataSource.clear();
+        DynamicDataSource.setGlobalKey("h2");
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void testFilter_pooledThreads_keyLeftByARequestNeverReachesTheNext() throws Exception {
+        try (ExecutorService workers = Executors.newFixedThreadPool(8)) {
+            assertEquals(0, runRequests(workers));
+        }
+    }
+
+    @Test
+    void testFilter_virtualThreads_keyLeftByARequestNeverReachesTheNext() throws Exception {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertEquals(0, runRequests(workers));
+        }
+    }
+
+    @Test
+    void testTaskDecorator_taskRoutesBySubmittingThreadKeyOnly() throws Exception {
+        RoutingContextTaskDecorator decorator = new RoutingContextTaskDecorator();
+        AtomicInteger misrouted = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>();
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                String key = i % 2 == 0 ? null : "secondary";
+                String expected = key != null ? key : "primary";
+                try (DynamicDataSource.Scope scope = DynamicDataSource.withKey(key)) {
+                    tasks.add(workers.submit(decorator.decorate(() -> {
+                        if (!expected.equals(activeDatabase())) {
+                            misrouted.incrementAndGet();
+                        }
+                        DynamicDataSource.setCurrentKey("secondary");
+                    })));
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        assertEquals(0, misrouted.get());
+        assertNull(DynamicDataSource.getCurrentKey());
+    }
+
+    @Test
+    void testWithKey_restoresPreviousKeyAndReadOnlyMark() {
+        DynamicDataSource.setCurrentKey("secondary");
+        DynamicDataSource.setReadOnly(true);
+
+        try (DynamicDataSource.Scope outer = DynamicDataSource.withKey(null)) {
+            assertNull(DynamicDataSource.getCurrentKey());
+            assertFalse(DynamicDataSource.setReadOnly(false));
+            try (DynamicDataSource.Scope inner = DynamicDataSource.withKey("primary")) {
+                assertEquals("primary", DynamicDataSource.getCurrentKey());
+            }
+            assertNull(DynamicDataSource.getCurrentKey());
+        }
+
+        assertEquals("secondary", DynamicDataSource.getCurrentKey());
+        assertTrue(DynamicDataSource.setReadOnly(false));
+    }
+
+    /**
+     * Sends requests through the filter on the given workers. Odd requests route to the secondary
+     * and leave their key set, as a handler that forgets to clear it would; even requests set
+     * nothing and must reach the primary.
+     *
+     * @return the number of requests that read from the wrong database
+     */
+    private int runRequests(ExecutorService workers) throws Exception {
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            boolean leaky = i % 2 == 1;
+            requests.add(() -> {
+                String[] database = new String[1];
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/cards"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            if (leaky) {
+                                DynamicDataSource.setCurrentKey("secondary");
+                            }
+                            database[0] = activeDatabase();
+                        });
+                return database[0].equals(leaky ? "secondary" : "primary")
+                        && DynamicDataSource.getCurrentKey() == null;
+            });
+        }
+
+        int misrouted = 0;
+        for (Future<Boolean> result : workers.invokeAll(requests)) {
+            if (!result.get()) {
+                misrouted++;
+            }
+        }
+        return misrouted;
+    }
+
+    private String activeDatabase() {
+        try (Connection connection = routingDs.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM whoami")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.butlert.tradingcardmanager.config;
+
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceSwitcherTest {
+
+    private HikariDataSource oldPool;
+    private HikariDataSource newPool;
+    private DynamicDataSource routingDs;
+    private LocalContainerEntityManagerFactoryBean emfBean;
+    private GatedJpaTransactionManager transactionManager;
+    private DataSourceSwitcher switcher;
+    private final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        oldPool = ConnectionPools.create("old", "jdbc:h2:mem:switch_old;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver",
+                new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        newPool = ConnectionPools.create("new", "jdbc:h2:mem:switch_new;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver",
+                new ConnectionPoolSettings(), new SimpleMeterRegistry());
+
+        routingDs = new DynamicDataSource();
+        routingDs.setTargetDataSources(Map.of("old", oldPool));
+        routingDs.afterPropertiesSet();
+        DynamicDataSource.setGlobalKey("old");
+
+        emfBean = DataSourceConfig.entityManagerFactoryBean(routingDs, "update");
+        emfBean.afterPropertiesSet();
+        transactionManager = new GatedJpaTransactionManager(emfBean.getObject());
+        switcher = new DataSourceSwitcher(routingDs, emfBean, transactionManager, new ReplicaLagMonitor(routingDs, dataSource -> 0L),
+                events::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DynamicDataSource.setGlobalKey("h2");
+        emfBean.destroy();
+        oldPool.close();
+        newPool.close();
+    }
+
+    @Test
+    void testSwitchTo_underLoad_noTransactionFails() throws Exception {
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(emfBean.getObject());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger completed = new AtomicInteger();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread worker = new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                entityManager.createNativeQuery("select count(*) from card").getSingleResult());
+                        completed.incrementAndGet();
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        Thread.sleep(100);
+        DataSourceSwitcher.SwitchReport report = switcher.switchTo("new", newPool);
+        int completedAtSwitch = completed.get();
+        Thread.sleep(100);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(List.of(), failures);
+        assertTrue(completed.get() > completedAtSwitch);
+        assertEquals("new", DynamicDataSource.getGlobalKey());
+        assertSame(newPool, routingDs.getResolvedDataSources().get("new"));
+        assertTrue(report.getPauseMs() >= report.getDrainMs());
+        try (Connection connection = newPool.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, "CARD", null)) {
+            assertTrue(tables.next());
+        }
+    }
+
+    @Test
+    void testSwitchTo_publishesSwitchingEventBeforeTransactionsResume() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch begun = new CountDownLatch(1);
+        AtomicBoolean heldBackAtEvent = new AtomicBoolean();
+        List<Thread> requests = new ArrayList<>();
+        switcher = new DataSourceSwitcher(routingDs, emfBean, transactionManager, new ReplicaLagMonitor(routingDs, dataSource -> 0L),
+                event -> {
+                    events.add(event);
+                    Thread request = new Thread(() -> transactionTemplate.executeWithoutResult(status -> begun.countDown()));
+                    request.start();
+                    requests.add(request);
+                    try {
+                        heldBackAtEvent.set(!begun.await(200, TimeUnit.MILLISECONDS)
+                                && "new".equals(DynamicDataSource.getGlobalKey()));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        switcher.switchTo("new", newPool);
+
+        assertEquals(1, events.size());
+        DataSourceSwitchingEvent event = assertInstanceOf(DataSourceSwitchingEvent.class, events.get(0));
+        assertEquals("new", event.getDataSourceKey());
+        assertTrue(heldBackAtEvent.get());
+        assertTrue(begun.await(5, TimeUnit.SECONDS));
+        requests.get(0).join();
+    }
+
+    @Test
+    void testSwitchTo_withReplicas_routesReadOnlyTransactionsToReplicas() throws Exception {
+        HikariDataSource replicaA = ConnectionPools.create("replica", "jdbc:h2:mem:switch_replica_a;DB_CLOSE_DELAY=-1",
+                "sa", "", "org.h2.Driver", new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        HikariDataSource replicaB = ConnectionPools.create("replica", "jdbc:h2:mem:switch_replica_b;DB_CLOSE_DELAY=-1",
+                "sa", "", "org.h2.Driver", new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+
+        try {
+            switcher.switchTo("new", newPool, new ReplicaSet(replicas, 5));
+
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                    transactionManager.getEntityManagerFactory());
+            TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            TransactionTemplate newReadWrite = new TransactionTemplate(transactionManager);
+            newReadWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+            Set<Object> readDatabases = new HashSet<>();
+            for (int i = 0; i < 4; i++) {
+                readDatabases.add(readOnly.execute(status ->
+                        entityManager.createNativeQuery("select database()").getSingleResult()));
+            }
+            Object writeDatabase = readWrite.execute(status ->
+                    entityManager.createNativeQuery("select database()").getSingleResult());
+            Object nestedWriteDatabase = readOnly.execute(status -> newReadWrite.execute(inner ->
+                    entityManager.createNativeQuery("select database()").getSingleResult()));
+
+            assertEquals(Set.of("SWITCH_REPLICA_A", "SWITCH_REPLICA_B"), readDatabases);
+            assertEquals("SWITCH_NEW", writeDatabase);
+            assertEquals("SWITCH_NEW", nestedWriteDatabase);
+        } finally {
+            replicaA.close();
+            replicaB.close();
+        }
+    }
+
+    @Test
+    void testQuiesce_waitsForTransactionInFlight() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Thread inFlight = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        inFlight.start();
+        started.await();
+
+        assertEquals(1, transactionManager.getTransactionsInFlight());
+        assertFalse(transactionManager.quiesce(100));
+
+        finish.countDown();
+        inFlight.join();
+        assertTrue(transactionManager.quiesce(1000));
+        transactionManager.resume();
+    }
+}
@@ -0,0 +1,100 @@
+package com.butlert.tradingcardmanager.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DynamicDataSourceTest {
+
+    private final DataSource h2 = mock(DataSource.class);
+    private final DataSource mysql = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        DynamicDataSource.clear();
+        DynamicDataSource.setGlobalKey("h2");
+    }
+
+    @Test
+    void testGetConnection_recordsAcquisitionPerDatasourceKey() throws Exception {
+        when(h2.getConnection()).thenReturn(mock(Connection.class));
+        when(mysql.getConnection()).thenThrow(new SQLException("refused"));
+        DynamicDataSource routing = dynamicDataSource();
+
+        routing.getConnection();
+        routing.getConnection();
+        DynamicDataSource.setCurrentKey("mysql");
+        assertThrows(SQLException.class, routing::getConnection);
+
+        assertEquals(2, acquireTimer("h2").count());
+        assertEquals(1, acquireTimer("mysql").count());
+    }
+
+    @Test
+    void testGetConnection_unknownKey_failsWithoutRecording() {
+        DynamicDataSource routing = dynamicDataSource();
+        DynamicDataSource.setCurrentKey("missing");
+
+        assertThrows(IllegalStateException.class, routing::getConnection);
+        assertNull(meterRegistry.find(DynamicDataSource.CONNECTION_ACQUIRE_METRIC).timer());
+    }
+
+    @Test
+    void testGetConnection_virtualThreads_routeByTheirOwnKey() throws Exception {
+        Connection h2Connection = mock(Connection.class);
+        Connection mysqlConnection = mock(Connection.class);
+        when(h2.getConnection()).thenReturn(h2Connection);
+        when(mysql.getConnection()).thenReturn(mysqlConnection);
+        DynamicDataSource routing = dynamicDataSource();
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = i % 2 == 0 ? "h2" : "mysql";
+            Connection expected = i % 2 == 0 ? h2Connection : mysqlConnection;
+            tasks.add(() -> {
+                DynamicDataSource.setCurrentKey(key);
+                try {
+                    Thread.sleep(1);
+                    return routing.getConnection() == expected && key.equals(DynamicDataSource.getCurrentKey());
+                } finally {
+                    DynamicDataSource.clear();
+                }
+            });
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        }
+        assertEquals(500, acquireTimer("h2").count());
+        assertEquals(500, acquireTimer("mysql").count());
+    }
+
+    private DynamicDataSource dynamicDataSource() {
+        DynamicDataSource routing = new DynamicDataSource(meterRegistry);
+        routing.setTargetDataSources(Map.of("h2", h2, "mysql", mysql));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private Timer acquireTimer(String key) {
+        return meterRegistry.get(DynamicDataSource.CONNECTION_ACQUIRE_METRIC).tag("datasource", key).timer();
+    }
+}
@@ -0,0 +1,56 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaSetTest {
+
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+
+    @Test
+    void testChoose_balancesRoundRobin() {
+        ReplicaSet replicas = replicaSet();
+        replicas.refresh(dataSource -> 0L);
+
+        assertEquals("first", replicas.choose());
+        assertEquals("second", replicas.choose());
+        assertEquals("first", replicas.choose());
+    }
+
+    @Test
+    void testChoose_skipsLaggingStoppedAndUnreachableReplicas() {
+        ReplicaSet replicas = replicaSet();
+
+        replicas.refresh(dataSource -> dataSource == first ? 30L : 1L);
+        assertEquals("second", replicas.choose());
+        assertEquals("second", replicas.choose());
+
+        replicas.refresh(dataSource -> dataSource == first ? 0L : null);
+        assertEquals("first", replicas.choose());
+
+        replicas.refresh(dataSource -> {
+            throw new SQLException("unreachable");
+        });
+        assertNull(replicas.choose());
+    }
+
+    @Test
+    void testChoose_unprobedReplicasReceiveNoReads() {
+        assertNull(replicaSet().choose());
+    }
+
+    private ReplicaSet replicaSet() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        dataSources.put("first", first);
+        dataSources.put("second", second);
+        return new ReplicaSet(dataSources, 5);
+    }
+}
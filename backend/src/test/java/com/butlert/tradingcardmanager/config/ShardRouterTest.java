@@ -0,0 +1,66 @@
+package com.butlert.tradingcardmanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShardRouterTest {
+
+    @Test
+    void testShardFor_hash_spreadsPatternedCardNumbersEvenly() {
+        ShardRouter router = new ShardRouter(ShardRouter.Strategy.HASH, shards(4), null);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(router.shardFor(i * 4), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 9_000 && count < 11_000, "shard holds " + count));
+        assertEquals(router.shardFor(1234), router.shardFor(1234));
+    }
+
+    @Test
+    void testShardFor_range_usesExclusiveUpperBounds() {
+        ShardRouter router = new ShardRouter(ShardRouter.Strategy.RANGE, shards(3), new int[]{1000, 5000});
+
+        assertEquals("shard-0", router.shardFor(-5));
+        assertEquals("shard-0", router.shardFor(999));
+        assertEquals("shard-1", router.shardFor(1000));
+        assertEquals("shard-1", router.shardFor(4999));
+        assertEquals("shard-2", router.shardFor(5000));
+        assertEquals("shard-2", router.shardFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testConstructor_range_rejectsBoundsNotMatchingShards() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardRouter(ShardRouter.Strategy.RANGE, shards(3), new int[]{1000}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardRouter(ShardRouter.Strategy.RANGE, shards(3), new int[]{5000, 1000}));
+    }
+
+    @Test
+    void testUnsharded_hasNoShards() {
+        ShardRouter router = ShardRouter.unsharded();
+
+        assertFalse(router.isSharded());
+        assertNull(router.shardFor(42));
+        assertThrows(IllegalArgumentException.class, () -> ShardRouter.Strategy.fromParameter("modulo"));
+        assertEquals(ShardRouter.Strategy.RANGE, ShardRouter.Strategy.fromParameter(" Range "));
+    }
+
+    private Map<String, DataSource> shards(int count) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            shards.put("shard-" + i, mock(DataSource.class));
+        }
+        return shards;
+    }
+}
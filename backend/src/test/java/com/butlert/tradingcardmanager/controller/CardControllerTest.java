@@ -3,23 +3,37 @@ package com.butlert.tradingcardmanager.controller;
 import com.butlert.tradingcardmanager.controller.CardController;
 import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.model.CardDeleteRequest;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.model.CardPage;
+import com.butlert.tradingcardmanager.model.CardSearchCriteria;
+import com.butlert.tradingcardmanager.model.CardSuggestion;
+import com.butlert.tradingcardmanager.model.ImportJobStatus;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.model.UpsertSummary;
+import com.butlert.tradingcardmanager.service.CardImportJobs;
 import com.butlert.tradingcardmanager.service.CardService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +46,7 @@ class CardControllerTest {
     @Autowired private ObjectMapper objectMapper;
 
     @MockBean private CardService cardService;
+    @MockBean private CardImportJobs cardImportJobs;
 
     private CardDTO validDTO;
     private Card validCard;
@@ -83,6 +98,21 @@ class CardControllerTest {
                 .andExpect(jsonPath("$.error").value("Validation failed"));
     }
 
+    @Test
+    void testAddCard_violatesCardConstraints_badRequest() throws Exception {
+        CardDTO invalidDTO = new CardDTO(123, "Test Card", "Magic", "RARE", "0",
+                LocalDate.now().plusYears(3).toString(), LocalDate.now().toString(), true);
+        String message = "Validation failed: datePurchased must be a date in the past or in the present. "
+                + "purchasePrice must be greater than 0.";
+        when(cardService.addCard(any(CardDTO.class))).thenThrow(new IllegalArgumentException(message));
+
+        mockMvc.perform(post("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalidDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(message));
+    }
+
     @Test
     void testDeleteCard_success() throws Exception {
         when(cardService.deleteCard(123)).thenReturn(true);
@@ -100,6 +130,121 @@ class CardControllerTest {
                 .andExpect(jsonPath("$.error").value("Card not found"));
     }
 
+    @Test
+    void testDeleteCards_returnsDeletedCount() throws Exception {
+        when(cardService.deleteCards(any(CardDeleteRequest.class))).thenReturn(3L);
+
+        mockMvc.perform(delete("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromCardNumber\":1,\"toCardNumber\":3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+    }
+
+    @Test
+    void testDeleteCards_noSelection_badRequest() throws Exception {
+        when(cardService.deleteCards(any(CardDeleteRequest.class)))
+                .thenThrow(new IllegalArgumentException("No cards selected"));
+
+        mockMvc.perform(delete("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("No cards selected"));
+    }
+
+    @Test
+    void testSearchCards_bindsFiltersFromQueryParameters() throws Exception {
+        ArgumentCaptor<CardSearchCriteria> criteria = ArgumentCaptor.forClass(CardSearchCriteria.class);
+        when(cardService.searchCards(criteria.capture(), eq(null), eq(20), eq("purchasePrice"), eq("desc")))
+                .thenReturn(new CardPage(List.of(validCard), "next"));
+
+        mockMvc.perform(get("/api/cards/search")
+                        .param("cardGame", "Magic")
+                        .param("cardName", "Test")
+                        .param("rarity", "rare")
+                        .param("foiled", "true")
+                        .param("minPrice", "1")
+                        .param("purchasedTo", "2025-01-01")
+                        .param("size", "20")
+                        .param("sort", "purchasePrice")
+                        .param("direction", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].cardNumber").value(123))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        assertEquals("Magic", criteria.getValue().getCardGame());
+        assertEquals("Test", criteria.getValue().getCardName());
+        assertEquals("rare", criteria.getValue().getRarity());
+        assertEquals(Boolean.TRUE, criteria.getValue().getFoiled());
+        assertEquals("1", criteria.getValue().getMinPrice());
+        assertEquals("2025-01-01", criteria.getValue().getPurchasedTo());
+    }
+
+    @Test
+    void testSearchCards_invalidFilter_badRequest() throws Exception {
+        when(cardService.searchCards(any(CardSearchCriteria.class), any(), eq(50), eq("cardNumber"), eq("asc")))
+                .thenThrow(new IllegalArgumentException("Invalid purchase price format"));
+
+        mockMvc.perform(get("/api/cards/search").param("minPrice", "cheap"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid purchase price format"));
+    }
+
+    @Test
+    void testSuggestCards_returnsRankedSuggestions() throws Exception {
+        when(cardService.suggestCards("tset", 5))
+                .thenReturn(List.of(new CardSuggestion(123, "Test Card", "Magic", 0.75)));
+
+        mockMvc.perform(get("/api/cards/typeahead").param("q", "tset").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cardNumber").value(123))
+                .andExpect(jsonPath("$[0].cardName").value("Test Card"))
+                .andExpect(jsonPath("$[0].cardGame").value("Magic"));
+    }
+
+    @Test
+    void testStartImportJob_returnsJobIdAtOnce() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cards.txt", "text/plain", "1 - line".getBytes());
+        when(cardImportJobs.submit(any(), eq(100))).thenReturn(
+                new ImportJobStatus("job-1", ImportJobStatus.State.QUEUED, 0, 0, 0, 0, 0, 0, null, null));
+
+        mockMvc.perform(multipart("/api/cards/import/jobs").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/cards/import/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void testStartImportJob_queueFull_serviceUnavailable() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cards.txt", "text/plain", "1 - line".getBytes());
+        when(cardImportJobs.submit(any(), eq(100))).thenThrow(new RejectedExecutionException());
+
+        mockMvc.perform(multipart("/api/cards/import/jobs").file(file))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void testImportJob_pollAndCancel() throws Exception {
+        when(cardImportJobs.fetch("job-1")).thenReturn(Optional.of(
+                new ImportJobStatus("job-1", ImportJobStatus.State.RUNNING, 1000, 990, 5, 5, 2000.0, 500, null, null)));
+        when(cardImportJobs.cancel("job-1")).thenReturn(Optional.of(
+                new ImportJobStatus("job-1", ImportJobStatus.State.RUNNING, 1500, 1490, 5, 5, 2000.0, 750, null, null)));
+        when(cardImportJobs.fetch("unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/cards/import/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linesRead").value(1000))
+                .andExpect(jsonPath("$.linesPerSecond").value(2000.0));
+        mockMvc.perform(delete("/api/cards/import/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobId").value("job-1"));
+        mockMvc.perform(get("/api/cards/import/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testUpdateCard_success() throws Exception {
         when(cardService.updateCard(eq(123), any(CardDTO.class)))
@@ -112,6 +257,55 @@ class CardControllerTest {
                 .andExpect(jsonPath("$.cardNumber").value(123));
     }
 
+    @Test
+    void testUpsertCards_returnsSummary() throws Exception {
+        when(cardService.upsertCards(anyList())).thenReturn(new UpsertSummary(List.of(
+                new UpsertSummary.CardResult(123, UpsertSummary.Status.CREATED),
+                new UpsertSummary.CardResult(124, UpsertSummary.Status.UNCHANGED))));
+
+        mockMvc.perform(put("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.results[0].cardNumber").value(123))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"));
+    }
+
+    @Test
+    void testUpsertCards_invalidCard_reportedInSummary() throws Exception {
+        CardDTO invalidDTO = new CardDTO(124, "Test Card", "Magic", "RARE", "0",
+                LocalDate.now().plusYears(3).toString(), LocalDate.now().toString(), true);
+        String error = "Validation failed: datePurchased must be a date in the past or in the present. "
+                + "purchasePrice must be greater than 0.";
+        when(cardService.upsertCards(anyList())).thenReturn(new UpsertSummary(List.of(
+                new UpsertSummary.CardResult(123, UpsertSummary.Status.UPDATED),
+                new UpsertSummary.CardResult(124, UpsertSummary.Status.INVALID, error))));
+
+        mockMvc.perform(put("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDTO, invalidDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].error").value(error));
+    }
+
+    @Test
+    void testUpsertCards_invalidCard_badRequest() throws Exception {
+        when(cardService.upsertCards(anyList()))
+                .thenThrow(new IllegalArgumentException("Validation failed for card 123"));
+
+        mockMvc.perform(put("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDTO))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed for card 123"));
+    }
+
     @Test
     void testUpdateCard_notFound() throws Exception {
         when(cardService.updateCard(eq(123), any(CardDTO.class)))
@@ -125,32 +319,55 @@ class CardControllerTest {
     }
 
     @Test
-    void testGetAllCards_returnsCards() throws Exception {
-        when(cardService.getAllCards()).thenReturn(List.of(validCard));
+    void testGetAllCards_returnsFirstPage() throws Exception {
+        when(cardService.getCardPage(null, 50, "cardNumber", "asc"))
+                .thenReturn(new CardPage(List.of(validCard), "next"));
 
         mockMvc.perform(get("/api/cards"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void testGetAllCards_invalidCursor_returnsBadRequest() throws Exception {
+        when(cardService.getCardPage("bad", 20, "cardNumber", "asc"))
+                .thenThrow(new IllegalArgumentException("Invalid cursor."));
+
+        mockMvc.perform(get("/api/cards").param("cursor", "bad").param("size", "20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor."));
     }
 
     @Test
     void testGetCardById_found() throws Exception {
-        when(cardService.findByCardId(123)).thenReturn(validCard);
+        when(cardService.findCardJsonByCardId(123)).thenReturn(objectMapper.writeValueAsBytes(validCard));
 
         mockMvc.perform(get("/api/cards/get/123"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.cardNumber").value(123));
     }
 
     @Test
     void testGetCardById_notFound() throws Exception {
-        when(cardService.findByCardId(404)).thenReturn(null);
+        when(cardService.findCardJsonByCardId(404)).thenReturn(null);
 
         mockMvc.perform(get("/api/cards/get/404"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("Card not found"));
     }
 
+    @Test
+    void testGetCardCacheStatistics() throws Exception {
+        when(cardService.getCardCacheStatistics()).thenReturn(Map.of("hitCount", 3L, "missCount", 1L));
+
+        mockMvc.perform(get("/api/cards/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(3))
+                .andExpect(jsonPath("$.missCount").value(1));
+    }
+
     @Test
     void testCalculateCollectionStatistics() throws Exception {
         Map<String, Object> stats = Map.of("totalCards", 1, "totalFoiled", 1, "percentFoiled", 100.0);
@@ -189,4 +406,43 @@ class CardControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("No file uploaded"));
     }
+
+    @Test
+    void testImportCardsFromStream_returnsSummary() throws Exception {
+        ImportSummary summary = new ImportSummary(3, 2, 0, 1,
+                List.of(new ImportSummary.LineError(2, "bad line")), 5);
+        when(cardService.importCardsFromStream(any(), eq(100))).thenReturn(summary);
+
+        mockMvc.perform(post("/api/cards/import/stream")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("line1\nline2\nline3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    void testExportCards_streamsRequestedFormat() throws Exception {
+        when(cardService.exportCards(any(), eq(CardExportFormat.CSV))).thenAnswer(invocation -> {
+            invocation.getArgument(0, java.io.OutputStream.class).write("id\n".getBytes());
+            return 0L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/cards/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("cards.csv")))
+                .andExpect(content().string("id\n"));
+    }
+
+    @Test
+    void testExportCards_unsupportedFormat_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/cards/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported export format: xml"));
+    }
 }
@@ -1,7 +1,11 @@
 package com.butlert.tradingcardmanager.controller;
 
+import com.butlert.tradingcardmanager.config.DataSourceSwitcher;
 import com.butlert.tradingcardmanager.config.DynamicDataSource;
+import com.butlert.tradingcardmanager.config.GatedJpaTransactionManager;
+import com.butlert.tradingcardmanager.config.ReplicaLagMonitor;
 import com.butlert.tradingcardmanager.model.DatabaseCredentialsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -27,6 +31,9 @@ class DatabaseConnectionControllerTest {
     @Mock
     private ConfigurableApplicationContext mockAppContext;
 
+    @Mock
+    private GatedJpaTransactionManager mockTransactionManager;
+
     @InjectMocks
     private DatabaseConnectionController controller;
 
@@ -36,7 +43,10 @@ class DatabaseConnectionControllerTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        controller = new DatabaseConnectionController(mockRoutingDataSource, mockEmfBean, mockAppContext);
+        DataSourceSwitcher switcher = new DataSourceSwitcher(mockRoutingDataSource, mockEmfBean, mockTransactionManager,
+                new ReplicaLagMonitor(mockRoutingDataSource), mockAppContext);
+        controller = new DatabaseConnectionController(mockRoutingDataSource, mockEmfBean, mockAppContext, switcher,
+                new SimpleMeterRegistry());
     }
 
     @Test
@@ -55,7 +65,7 @@ class DatabaseConnectionControllerTest {
         when(mockRoutingDataSource.getResolvedDataSources()).thenReturn(Map.of());
 
         TestableDatabaseConnectionController controller = new TestableDatabaseConnectionController(
-                mockRoutingDataSource, mockEmfBean, mockAppContext, mockDataSource
+                mockRoutingDataSource, mockEmfBean, mockAppContext, null, mockDataSource
         );
 
         ResponseEntity<?> response = controller.switchToMySql(creds);
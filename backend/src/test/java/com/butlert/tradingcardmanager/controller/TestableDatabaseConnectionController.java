@@ -1,7 +1,9 @@
 package com.butlert.tradingcardmanager.controller;
 
+import com.butlert.tradingcardmanager.config.DataSourceSwitcher;
 import com.butlert.tradingcardmanager.config.DynamicDataSource;
 import com.butlert.tradingcardmanager.model.DatabaseCredentialsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
@@ -20,9 +22,10 @@ public class TestableDatabaseConnectionController extends DatabaseConnectionCont
             DataSource dynamicDataSource,
             LocalContainerEntityManagerFactoryBean emfBean,
             ConfigurableApplicationContext context,
+            DataSourceSwitcher switcher,
             DriverManagerDataSource testDataSource
     ) {
-        super(dynamicDataSource, emfBean, context);
+        super(dynamicDataSource, emfBean, context, switcher, new SimpleMeterRegistry());
         this.testDataSource = testDataSource;
     }
 
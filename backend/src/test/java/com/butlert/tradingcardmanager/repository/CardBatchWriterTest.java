@@ -0,0 +1,107 @@
+package com.butlert.tradingcardmanager.repository;
+
+import com.butlert.tradingcardmanager.config.ConnectionPools;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardBatchWriterTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CardBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = ConnectionPools.create("batch", "jdbc:h2:mem:card_batch_writer;MODE=MYSQL", "sa", "", "org.h2.Driver",
+                new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE card (id BIGINT AUTO_INCREMENT PRIMARY KEY, card_number INT NOT NULL UNIQUE, "
+                + "card_game VARCHAR(255), card_name VARCHAR(255), rarity VARCHAR(20), date_purchased DATE, "
+                + "date_set_published DATE, purchase_price DECIMAL(12, 2), foiled BOOLEAN)");
+        writer = new CardBatchWriter(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testInsertAll_assignsGeneratedKeysInBatchOrder() {
+        List<Card> cards = List.of(card(30, "Shock", "1.00"), card(10, "Opt", "2.00"), card(20, "Duress", null));
+
+        assertEquals(3, writer.insertAll(cards));
+
+        for (Card card : cards) {
+            assertNotNull(card.getId());
+            assertEquals(card.getCardNumber(), jdbcTemplate.queryForObject(
+                    "SELECT card_number FROM card WHERE id = ?", Integer.class, card.getId()));
+        }
+        assertTrue(cards.get(0).getId() < cards.get(1).getId() && cards.get(1).getId() < cards.get(2).getId());
+        assertEquals(0, writer.insertAll(List.of()));
+    }
+
+    @Test
+    void testInsert_storedCardNumber_throwsDuplicateKey() {
+        writer.insert(card(1, "Shock", "1.00"));
+
+        assertThrows(DuplicateKeyException.class, () -> writer.insert(card(1, "Opt", "2.00")));
+        assertThrows(DuplicateKeyException.class, () -> writer.insertAll(List.of(card(2, "Opt", "2.00"), card(1, "Opt", "2.00"))));
+    }
+
+    @Test
+    void testUpsertAll_updatesStoredCardNumberWithoutAddingRow() {
+        Card stored = card(1, "Shock", "1.00");
+        writer.insertAll(List.of(stored));
+
+        assertEquals(2, writer.upsertAll(List.of(card(1, "Lightning Bolt", "3.50"), card(2, "Opt", "2.00"))));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card", Integer.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT id, card_name, purchase_price FROM card WHERE card_number = 1");
+        assertEquals(stored.getId(), ((Number) row.get("ID")).longValue());
+        assertEquals("Lightning Bolt", row.get("CARD_NAME"));
+        assertEquals(0, new BigDecimal("3.50").compareTo((BigDecimal) row.get("PURCHASE_PRICE")));
+    }
+
+    @Test
+    void testMysqlUpsertSql_updatesStoredCardNumberWithoutAddingRow() {
+        writer.insertAll(List.of(card(1, "Shock", "1.00")));
+
+        jdbcTemplate.update(CardBatchWriter.MYSQL_UPSERT_SQL, 1, "Magic", "Lightning Bolt", "RARE",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), new BigDecimal("3.50"), true);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card", Integer.class));
+        assertEquals("Lightning Bolt", jdbcTemplate.queryForObject("SELECT card_name FROM card WHERE card_number = 1", String.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT foiled FROM card WHERE card_number = 1", Boolean.class));
+    }
+
+    @Test
+    void testUpsertSql_picksStatementByProductAndRejectsOthers() {
+        assertEquals(CardBatchWriter.MYSQL_UPSERT_SQL, CardBatchWriter.upsertSql("MySQL"));
+        assertEquals(CardBatchWriter.H2_UPSERT_SQL, CardBatchWriter.upsertSql("H2"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> CardBatchWriter.upsertSql("PostgreSQL"));
+        assertTrue(e.getMessage().contains("PostgreSQL"));
+    }
+
+    private static Card card(int cardNumber, String name, String price) {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        return new Card(cardNumber, "Magic", name, CardRarity.RARE, date, date,
+                price != null ? new BigDecimal(price) : null, false);
+    }
+}
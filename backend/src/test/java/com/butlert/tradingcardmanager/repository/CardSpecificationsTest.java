@@ -0,0 +1,123 @@
+package com.butlert.tradingcardmanager.repository;
+
+import com.butlert.tradingcardmanager.config.ConnectionPools;
+import com.butlert.tradingcardmanager.config.DataSourceConfig;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardSpecificationsTest {
+
+    private HikariDataSource pool;
+    private LocalContainerEntityManagerFactoryBean emfBean;
+    private TransactionTemplate transactionTemplate;
+    private CardRepository cardRepository;
+
+    @BeforeEach
+    void setUp() {
+        pool = ConnectionPools.create("search", "jdbc:h2:mem:card_search;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver",
+                new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        emfBean = DataSourceConfig.entityManagerFactoryBean(pool, "create");
+        emfBean.afterPropertiesSet();
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(emfBean.getObject()));
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(emfBean.getObject());
+        cardRepository = new JpaRepositoryFactory(entityManager).getRepository(CardRepository.class);
+
+        transactionTemplate.executeWithoutResult(status -> cardRepository.saveAll(List.of(
+                card(1, "Magic", "Black Lotus", CardRarity.LEGENDARY, "900.00", true, LocalDate.of(2024, 1, 10)),
+                card(2, "Magic", "Black Knight", CardRarity.RARE, "12.00", false, LocalDate.of(2024, 2, 10)),
+                card(3, "Magic", "Blue_Moon", CardRarity.RARE, "30.00", true, LocalDate.of(2024, 3, 10)),
+                card(4, "Pokemon", "Blastoise", CardRarity.RARE, "45.00", false, LocalDate.of(2024, 4, 10)),
+                card(5, "Magic", "Bluemoon", CardRarity.COMMON, "0.50", false, LocalDate.of(2024, 5, 10)))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emfBean.destroy();
+        pool.close();
+    }
+
+    @Test
+    void testCombinedFilters_matchInDatabase() {
+        assertEquals(List.of(2, 3), search(Specification.allOf(
+                CardSpecifications.hasCardGame("Magic"),
+                CardSpecifications.hasRarity(CardRarity.RARE))));
+        assertEquals(List.of(1, 3), search(Specification.allOf(
+                CardSpecifications.isFoiled(true),
+                CardSpecifications.purchasePriceBetween(new BigDecimal("20"), null))));
+        assertEquals(List.of(2, 3, 4), search(
+                CardSpecifications.purchasedBetween(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 4, 30))));
+    }
+
+    @Test
+    void testCardNameStartsWith_matchesWildcardsLiterally() {
+        assertEquals(List.of(1, 2), search(CardSpecifications.cardNameStartsWith("Black")));
+        assertEquals(List.of(3), search(CardSpecifications.cardNameStartsWith("Blue_")));
+        assertEquals(List.of(), search(CardSpecifications.cardNameStartsWith("%")));
+    }
+
+    @Test
+    void testScroll_pagesMatchingCardsByKeyset() {
+        Specification<Card> magic = CardSpecifications.hasCardGame("Magic");
+        Sort sort = Sort.by("cardNumber").and(Sort.by("id"));
+
+        Window<Card> first = transactionTemplate.execute(status ->
+                cardRepository.findBy(magic, query -> query.sortBy(sort).limit(3).scroll(ScrollPosition.keyset())));
+        Window<Card> second = transactionTemplate.execute(status ->
+                cardRepository.findBy(magic, query -> query.sortBy(sort).limit(3).scroll(first.positionAt(2))));
+
+        assertEquals(List.of(1, 2, 3), first.getContent().stream().map(Card::getCardNumber).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(5), second.getContent().stream().map(Card::getCardNumber).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testSchema_declaresSearchIndexes() throws Exception {
+        Set<String> indexes = new HashSet<>();
+        try (Connection connection = pool.getConnection();
+             ResultSet resultSet = connection.getMetaData().getIndexInfo(null, null, "CARD", false, false)) {
+            while (resultSet.next()) {
+                indexes.add(resultSet.getString("INDEX_NAME").toLowerCase());
+            }
+        }
+
+        assertTrue(indexes.containsAll(Set.of("idx_card_game_rarity_number", "idx_card_game_name", "idx_card_name",
+                "idx_card_rarity_price", "idx_card_date_purchased")), indexes.toString());
+    }
+
+    private List<Integer> search(Specification<Card> specification) {
+        return transactionTemplate.execute(status -> cardRepository.findAll(specification, Sort.by("cardNumber"))
+                .stream().map(Card::getCardNumber).toList());
+    }
+
+    private static Card card(int cardNumber, String game, String name, CardRarity rarity, String price,
+                             boolean foiled, LocalDate purchased) {
+        return new Card(cardNumber, game, name, rarity, purchased, LocalDate.of(2023, 1, 1), new BigDecimal(price), foiled);
+    }
+}
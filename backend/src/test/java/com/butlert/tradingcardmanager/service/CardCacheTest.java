@@ -0,0 +1,96 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardCacheTest {
+
+    private final CardCache cache = new CardCache(new ObjectMapper().findAndRegisterModules(), 100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGet_cachesLoadedCard() {
+        byte[] first = cache.get(1, loader("Shock"));
+        byte[] second = cache.get(1, loader("Opt"));
+
+        assertSame(first, second);
+        assertTrue(json(first).contains("\"cardName\":\"Shock\""));
+        assertEquals(1, loads.get());
+        assertEquals(1L, cache.statistics().get("hitCount"));
+        assertEquals(1L, cache.statistics().get("missCount"));
+    }
+
+    @Test
+    void testInvalidate_outsideTransaction_evictsAtOnce() {
+        cache.get(1, loader("Shock"));
+        cache.get(2, loader("Opt"));
+
+        cache.invalidate(1);
+
+        assertTrue(json(cache.get(1, loader("Lightning Bolt"))).contains("Lightning Bolt"));
+        assertTrue(json(cache.get(2, loader("Duress"))).contains("Opt"));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testInvalidateAll_insideTransaction_evictsAfterCompletion() {
+        cache.get(1, loader("Shock"));
+        cache.get(2, loader("Opt"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAll(List.of(1, 2));
+
+        assertTrue(json(cache.get(1, loader("Lightning Bolt"))).contains("Shock"));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertTrue(json(cache.get(1, loader("Lightning Bolt"))).contains("Lightning Bolt"));
+        assertTrue(json(cache.get(2, loader("Duress"))).contains("Duress"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testGet_missingCardIsNotCached() {
+        assertNull(cache.get(1, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+
+        assertNotNull(cache.get(1, loader("Shock")));
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<Card> loader(String name) {
+        return () -> {
+            loads.incrementAndGet();
+            LocalDate date = LocalDate.of(2024, 1, 1);
+            return new Card(1, "Magic", name, CardRarity.RARE, date, date, new BigDecimal("1.00"), false);
+        };
+    }
+
+    private static String json(byte[] card) {
+        return new String(card, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CardExporterTest {
+
+    @Mock private CardRepository cardRepository;
+    @Mock private EntityManager entityManager;
+
+    private CardExporter cardExporter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        cardExporter = new CardExporter(cardRepository, objectMapper);
+        ReflectionTestUtils.setField(cardExporter, "entityManager", entityManager);
+    }
+
+    @Test
+    void testExport_ndjsonWritesOneLinePerCardAndDetaches() throws Exception {
+        Card first = card(1L, "Plain");
+        Card second = card(2L, "Other");
+        when(cardRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = cardExporter.export(out, CardExportFormat.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"cardName\":\"Plain\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void testExport_csvQuotesTextColumns() throws Exception {
+        when(cardRepository.streamAll()).thenReturn(Stream.of(card(7L, "Say \"Hi\", World")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cardExporter.export(out, CardExportFormat.CSV);
+
+        assertEquals(CardExporter.CSV_HEADER + "\n"
+                        + "7,7,Game,\"Say \"\"Hi\"\", World\",RARE,2024-02-01,2024-01-01,10.50,true\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExport_csvWithoutHeader_writesOnlyRows() throws Exception {
+        when(cardRepository.streamAll()).thenReturn(Stream.of(card(8L, "Plain")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, cardExporter.export(out, CardExportFormat.CSV, false));
+
+        assertEquals("8,8,Game,Plain,RARE,2024-02-01,2024-01-01,10.50,true\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Card card(long id, String name) {
+        Card card = new Card();
+        card.setId(id);
+        card.setCardNumber((int) id);
+        card.setCardGame("Game");
+        card.setCardName(name);
+        card.setRarity(CardRarity.RARE);
+        card.setDatePurchased(LocalDate.of(2024, 2, 1));
+        card.setDateSetPublished(LocalDate.of(2024, 1, 1));
+        card.setPurchasePrice(new BigDecimal("10.50"));
+        card.setFoiled(true);
+        return card;
+    }
+}
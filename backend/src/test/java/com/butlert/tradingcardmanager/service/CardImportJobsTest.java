@@ -0,0 +1,199 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.RoutingContextTaskDecorator;
+import com.butlert.tradingcardmanager.model.ImportJobStatus;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class CardImportJobsTest {
+
+    private final CardService cardService = mock(CardService.class);
+    private CardImportJobs cardImportJobs;
+
+    @AfterEach
+    void tearDown() {
+        cardImportJobs.destroy();
+    }
+
+    @Test
+    void testSubmit_completedJobIsFetchedOnce() throws Exception {
+        ImportSummary summary = new ImportSummary(3, 2, 1, 0, List.of(), 5);
+        when(cardService.importCardsFromStream(any(InputStream.class), eq(10), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    InputStream input = invocation.getArgument(0);
+                    assertEquals("1\n2\n3\n", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                    return summary;
+                });
+        cardImportJobs = cardImportJobs(false);
+
+        ImportJobStatus submitted = cardImportJobs.submit(upload("1\n2\n3\n"), 10);
+        ImportJobStatus finished = awaitFinished(submitted.getJobId());
+
+        assertEquals(ImportJobStatus.State.COMPLETED, finished.getState());
+        assertSame(summary, finished.getSummary());
+        assertEquals(3, finished.getLinesRead());
+        assertEquals(2, finished.getImported());
+        assertTrue(cardImportJobs.fetch(submitted.getJobId()).isEmpty());
+    }
+
+    @Test
+    void testCancel_stopsRunningJobAndCancelsQueuedJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(cardService.importCardsFromStream(any(InputStream.class), anyInt(), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    ImportProgress progress = invocation.getArgument(2);
+                    started.countDown();
+                    while (!progress.isCancelled()) {
+                        Thread.sleep(5);
+                    }
+                    return new ImportSummary(0, 0, 0, 0, List.of(), 0);
+                });
+        cardImportJobs = cardImportJobs(false);
+
+        String running = cardImportJobs.submit(upload("1\n"), 10).getJobId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        String queued = cardImportJobs.submit(upload("2\n"), 10).getJobId();
+
+        assertEquals(ImportJobStatus.State.CANCELLED, cardImportJobs.cancel(queued).orElseThrow().getState());
+        assertEquals(ImportJobStatus.State.CANCELLED, cardImportJobs.fetch(queued).orElseThrow().getState());
+        cardImportJobs.cancel(running);
+        assertEquals(ImportJobStatus.State.CANCELLED, awaitFinished(running).getState());
+        verify(cardService, times(1)).importCardsFromStream(any(InputStream.class), anyInt(), any(ImportProgress.class));
+        assertTrue(cardImportJobs.cancel("unknown").isEmpty());
+    }
+
+    @Test
+    void testSubmit_virtualThreads_runsJobOnVirtualThread() throws Exception {
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(cardService.importCardsFromStream(any(InputStream.class), anyInt(), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    virtual.set(Thread.currentThread().isVirtual());
+                    return new ImportSummary(1, 1, 0, 0, List.of(), 0);
+                });
+        cardImportJobs = cardImportJobs(true);
+
+        ImportJobStatus finished = awaitFinished(cardImportJobs.submit(upload("1\n"), 10).getJobId());
+
+        assertEquals(ImportJobStatus.State.COMPLETED, finished.getState());
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void testSubmit_queueFull_rejectsJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(cardService.importCardsFromStream(any(InputStream.class), anyInt(), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return new ImportSummary(0, 0, 0, 0, List.of(), 0);
+                });
+        cardImportJobs = cardImportJobs(false);
+
+        cardImportJobs.submit(upload("1\n"), 10);
+        cardImportJobs.submit(upload("2\n"), 10);
+        InputStream rejected = upload("3\n");
+
+        assertThrows(RejectedExecutionException.class, () -> cardImportJobs.submit(rejected, 10));
+        assertEquals(2, rejected.available());
+        release.countDown();
+    }
+
+    @Test
+    void testDestroy_deletesUploadsOfQueuedJobs() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(cardService.importCardsFromStream(any(InputStream.class), anyInt(), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    ImportProgress progress = invocation.getArgument(2);
+                    started.countDown();
+                    while (!progress.isCancelled()) {
+                        Thread.sleep(5);
+                    }
+                    return new ImportSummary(0, 0, 0, 0, List.of(), 0);
+                });
+        cardImportJobs = cardImportJobs(false);
+        Set<Path> before = importFiles();
+
+        cardImportJobs.submit(upload("1\n"), 10);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        String queued = cardImportJobs.submit(upload("2\n"), 10).getJobId();
+        assertEquals(2, importFiles().size() - before.size());
+
+        cardImportJobs.destroy();
+
+        assertEquals(ImportJobStatus.State.CANCELLED, cardImportJobs.fetch(queued).orElseThrow().getState());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!before.containsAll(importFiles()) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(before.containsAll(importFiles()));
+    }
+
+    @Test
+    void testSubmit_failedJobReportsError() throws Exception {
+        when(cardService.importCardsFromStream(any(InputStream.class), anyInt(), any(ImportProgress.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        cardImportJobs = cardImportJobs(false);
+
+        ImportJobStatus failed = awaitFinished(cardImportJobs.submit(upload("1\n"), 10).getJobId());
+
+        assertEquals(ImportJobStatus.State.FAILED, failed.getState());
+        assertEquals("database unavailable", failed.getError());
+        assertNull(failed.getSummary());
+    }
+
+    /**
+     * Creates a registry running one job at a time with one waiting job.
+     */
+    private CardImportJobs cardImportJobs(boolean virtualThreads) {
+        return new CardImportJobs(cardService, new RoutingContextTaskDecorator(), 1, 1, Duration.ofHours(1),
+                virtualThreads);
+    }
+
+    private static Set<Path> importFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("card-import-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Polls a job until it has finished, which also fetches its result.
+     */
+    private ImportJobStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ImportJobStatus status = cardImportJobs.fetch(jobId).orElseThrow();
+            if (status.getState().isFinished()) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        fail("Import job " + jobId + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.model.ImportSummary;
+import com.butlert.tradingcardmanager.repository.CardBatchWriter;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.utils.DateParser;
+import com.butlert.tradingcardmanager.utils.validation.CardValidator;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CardImporterTest {
+
+    @Mock private CardRepository cardRepository;
+    @Mock private CardBatchWriter cardBatchWriter;
+    @Mock private CardParser cardParser;
+    @Mock private CollectionAggregateStore collectionAggregateStore;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CardImporter cardImporter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        cardImporter = new CardImporter(cardRepository, cardBatchWriter, cardParser, collectionAggregateStore,
+                new CardShards(ShardRouter.unsharded(), transactionManager), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardImporter.destroy();
+    }
+
+    @Test
+    void testImportLines_skipsExistingDuplicateAndInvalidLines() throws Exception {
+        when(cardParser.parseCard("existing")).thenReturn(card(100));
+        when(cardParser.parseCard("bad")).thenThrow(new IllegalArgumentException("bad line"));
+        when(cardParser.parseCard("fresh")).thenAnswer(invocation -> card(200));
+        when(cardRepository.findExistingCardNumbers(anyCollection())).thenReturn(List.of(100));
+
+        List<Card> inserted = new ArrayList<>();
+        ImportSummary summary = cardImporter.importLines(
+                new BufferedReader(new StringReader("existing\nbad\nfresh\nfresh")), 10, inserted::addAll);
+
+        assertEquals(4, summary.getLinesRead());
+        assertEquals(1, summary.getImported());
+        assertEquals(2, summary.getDuplicates());
+        assertEquals(1, summary.getRejected());
+        assertEquals(2, summary.getErrors().get(0).getLine());
+        assertEquals(1, inserted.size());
+        assertEquals(200, inserted.get(0).getCardNumber());
+        verify(cardRepository, times(1)).findExistingCardNumbers(anyCollection());
+        verify(cardBatchWriter).insertAll(argThat(cards -> cards.size() == 1));
+
+        assertEquals(3.0, lines("parsed"));
+        assertEquals(1.0, lines("rejected"));
+        assertEquals(2.0, lines("duplicate"));
+        assertEquals(1.0, lines("persisted"));
+    }
+
+    @Test
+    void testImportLines_cardConstraintViolations_countedAsRejected() throws Exception {
+        CardParser realParser = new CardParser(new DateParser(),
+                new CardValidator(Validation.buildDefaultValidatorFactory().getValidator()));
+        CardImporter importer = new CardImporter(cardRepository, cardBatchWriter, realParser, collectionAggregateStore,
+                new CardShards(ShardRouter.unsharded(), transactionManager), meterRegistry);
+        String nextYear = LocalDate.now().plusYears(1).toString();
+        String input = "1 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10 - true\n"
+                + "2 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 0.00 - true\n"
+                + "3 - Magic - Shock - RARE - " + nextYear + " - 2019-01-01 - 3.10 - true\n";
+
+        ImportSummary summary;
+        try {
+            summary = importer.importLines(new BufferedReader(new StringReader(input)), 10, cards -> { });
+        } finally {
+            importer.destroy();
+        }
+
+        assertEquals(1, summary.getImported());
+        assertEquals(2, summary.getRejected());
+        assertEquals(List.of(2L, 3L), summary.getErrors().stream().map(ImportSummary.LineError::getLine).toList());
+        assertTrue(summary.getErrors().get(0).getMessage().contains("purchasePrice"));
+        assertTrue(summary.getErrors().get(1).getMessage().contains("datePurchased"));
+        verify(cardBatchWriter).insertAll(argThat(cards -> cards.size() == 1 && cards.get(0).getCardNumber() == 1));
+    }
+
+    @Test
+    void testImportLines_cardNumberStoredConcurrently_writesChunkAgainAndCountsDuplicate() throws Exception {
+        when(cardParser.parseCard(anyString())).thenAnswer(invocation -> card(Integer.parseInt(invocation.getArgument(0))));
+        when(cardRepository.findExistingCardNumbers(anyCollection())).thenReturn(List.of(), List.of(2));
+        when(cardBatchWriter.insertAll(anyList()))
+                .thenThrow(new DuplicateKeyException("uk_card_card_number"))
+                .thenAnswer(invocation -> invocation.<List<Card>>getArgument(0).size());
+
+        List<Card> inserted = new ArrayList<>();
+        ImportSummary summary = cardImporter.importLines(
+                new BufferedReader(new StringReader("1\n2\n3")), 10, inserted::addAll);
+
+        assertEquals(2, summary.getImported());
+        assertEquals(1, summary.getDuplicates());
+        assertEquals(List.of(1, 3), inserted.stream().map(Card::getCardNumber).toList());
+        verify(transactionManager).rollback(any());
+        verify(collectionAggregateStore, times(1)).cardsAdded(anyList());
+    }
+
+    @Test
+    void testImportLines_cardNumbersKeepLosingRaces_failsImport() throws Exception {
+        when(cardParser.parseCard(anyString())).thenAnswer(invocation -> card(Integer.parseInt(invocation.getArgument(0))));
+        when(cardRepository.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+        when(cardBatchWriter.insertAll(anyList())).thenThrow(new DuplicateKeyException("uk_card_card_number"));
+
+        assertThrows(DuplicateKeyException.class, () -> cardImporter.importLines(
+                new BufferedReader(new StringReader("1\n2")), 10, cards -> { }));
+        verify(cardBatchWriter, times(CardImporter.MAX_WRITE_ATTEMPTS)).insertAll(anyList());
+    }
+
+    @Test
+    void testImportLines_limitsReportedErrors() throws Exception {
+        when(cardParser.parseCard(anyString())).thenThrow(new IllegalArgumentException("bad line"));
+
+        ImportSummary summary = cardImporter.importLines(
+                new BufferedReader(new StringReader("a\nb\nc")), 2, cards -> { });
+
+        assertEquals(3, summary.getRejected());
+        assertEquals(2, summary.getErrors().size());
+        verifyNoInteractions(cardBatchWriter);
+    }
+
+    @Test
+    void testImportLines_logsRejectedLinesAsOneSummaryByReason() throws Exception {
+        when(cardParser.parseCard("rarity")).thenThrow(new IllegalArgumentException("Rarity error: MYTHIC"));
+        when(cardParser.parseCard("price")).thenThrow(new IllegalArgumentException("Purchase Price error: x"));
+        Logger logger = (Logger) LoggerFactory.getLogger(CardImporter.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            cardImporter.importLines(new BufferedReader(new StringReader("rarity\nprice\nrarity")), 10, cards -> { });
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        List<ILoggingEvent> warnings = appender.list.stream().filter(event -> event.getLevel() == Level.WARN).toList();
+        assertEquals(1, warnings.size());
+        assertEquals("Import skipped 3 of 3 lines as invalid, by reason: {Rarity error=2, Purchase Price error=1}",
+                warnings.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void testImportLines_keepsLineNumbersAndOrderAcrossParallelChunks() throws Exception {
+        when(cardParser.parseCard(anyString())).thenAnswer(invocation -> {
+            String line = invocation.getArgument(0);
+            if (line.startsWith("bad")) {
+                throw new IllegalArgumentException(line);
+            }
+            return card(Integer.parseInt(line));
+        });
+        when(cardRepository.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 2500; i++) {
+            input.append(i % 700 == 0 ? "bad" + i : String.valueOf(i)).append('\n');
+        }
+
+        List<Card> inserted = new ArrayList<>();
+        ImportSummary summary = cardImporter.importLines(
+                new BufferedReader(new StringReader(input.toString())), 10, inserted::addAll);
+
+        assertEquals(2500, summary.getLinesRead());
+        assertEquals(3, summary.getRejected());
+        assertEquals(List.of(700L, 1400L, 2100L),
+                summary.getErrors().stream().map(ImportSummary.LineError::getLine).toList());
+        assertEquals(2497, inserted.size());
+        for (int i = 1; i < inserted.size(); i++) {
+            assertTrue(inserted.get(i - 1).getCardNumber() < inserted.get(i).getCardNumber());
+        }
+    }
+
+    @Test
+    void testImportLines_cancelled_stopsAfterTheWrittenChunks() throws Exception {
+        when(cardParser.parseCard(anyString())).thenAnswer(invocation -> card(Integer.parseInt(invocation.getArgument(0))));
+        when(cardRepository.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 100_000; i++) {
+            input.append(i).append('\n');
+        }
+
+        ImportProgress progress = new ImportProgress();
+        List<Card> inserted = new ArrayList<>();
+        ImportSummary summary = cardImporter.importLines(new BufferedReader(new StringReader(input.toString())), 10,
+                cards -> {
+                    inserted.addAll(cards);
+                    progress.cancel();
+                }, progress);
+
+        assertEquals(CardImporter.BATCH_SIZE, inserted.size());
+        assertEquals(CardImporter.BATCH_SIZE, summary.getImported());
+        assertEquals(CardImporter.BATCH_SIZE, summary.getLinesRead());
+        assertEquals(CardImporter.BATCH_SIZE, progress.getImported());
+        assertTrue(progress.getLinesRead() < 100_000);
+    }
+
+    private double lines(String outcome) {
+        return meterRegistry.get(CardImporter.LINES_METRIC).tag("outcome", outcome).counter().count();
+    }
+
+    private static Card card(int cardNumber) {
+        return new Card(cardNumber, "Game", "Name", CardRarity.RARE,
+                LocalDate.now(), LocalDate.now(), BigDecimal.TEN, false);
+    }
+}
@@ -0,0 +1,165 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardSuggestion;
+import com.butlert.tradingcardmanager.repository.CardNameView;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CardNameIndexTest {
+
+    @Mock private CardRepository cardRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CardNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        List<CardNameView> views = List.of(
+                view(1, "Black Lotus", "Magic"),
+                view(2, "Black Knight", "Magic"),
+                view(3, "Blastoise", "Pokemon"),
+                view(4, "Charizard", "Pokemon"),
+                view(5, "Séance", "Magic"));
+        when(cardRepository.findCardNames()).thenReturn(views);
+
+        index = new CardNameIndex(cardRepository, new CardShards(ShardRouter.unsharded(), transactionManager));
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSearch_prefixMatchesRankAboveFuzzyMatches() {
+        assertEquals(List.of(1, 2, 3), cardNumbers(index.search("blac", 10)));
+        assertEquals(List.of(2, 1), cardNumbers(index.search("Black K", 10)));
+        assertEquals(List.of(1), cardNumbers(index.search("blac", 1)));
+    }
+
+    @Test
+    void testSearch_typo_isTolerated() {
+        assertEquals(4, index.search("charizrd", 10).get(0).getCardNumber());
+        assertEquals(3, index.search("blastiose ", 10).get(0).getCardNumber());
+    }
+
+    @Test
+    void testSearch_ignoresCaseAccentsAndPunctuation() {
+        assertEquals(List.of(5), cardNumbers(index.search("SEANCE!", 10)));
+        assertEquals(2, cardNumbers(index.search("pokemon", 10)).size());
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void testMutations_updateTheIndexWithoutQueries() {
+        index.cardStored(card(6, "Blazing Archon", "Magic"));
+        index.cardStored(card(4, "Venusaur", "Pokemon"));
+        index.cardsRemoved(List.of(1));
+
+        assertEquals(List.of(3, 2, 6), cardNumbers(index.search("bla", 10)));
+        assertEquals(List.of(), cardNumbers(index.search("charizard", 10)));
+        assertEquals(List.of(4), cardNumbers(index.search("venu", 10)));
+        assertEquals(5, index.size());
+        verify(cardRepository, times(1)).findCardNames();
+    }
+
+    @Test
+    void testRolledBackTransaction_isNotApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.cardStored(card(6, "Blazing Archon", "Magic"));
+        index.cardRemoved(4);
+
+        assertEquals(5, index.size());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(5, index.size());
+        assertEquals(List.of(4), cardNumbers(index.search("chari", 10)));
+    }
+
+    @Test
+    void testSwitching_nextSearchIndexesNewDatabase() {
+        List<CardNameView> newDatabase = List.of(view(7, "Blue-Eyes White Dragon", "Yu-Gi-Oh"));
+        index.onDataSourceSwitching(null);
+        when(cardRepository.findCardNames()).thenReturn(newDatabase);
+
+        assertEquals(List.of(7), cardNumbers(index.search("bl", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testSwitching_duringRebuild_indexStaysStale() {
+        List<CardNameView> oldDatabase = List.of(view(1, "Black Lotus", "Magic"));
+        List<CardNameView> newDatabase = List.of(view(7, "Blue-Eyes White Dragon", "Yu-Gi-Oh"));
+        when(cardRepository.findCardNames()).thenAnswer(invocation -> {
+            index.onDataSourceSwitching(null);
+            return oldDatabase;
+        }).thenReturn(newDatabase);
+
+        index.rebuild();
+
+        assertEquals(List.of(7), cardNumbers(index.search("bl", 10)));
+        verify(cardRepository, times(3)).findCardNames();
+    }
+
+    @Test
+    void testRebuild_sharded_indexesEveryShard() {
+        List<CardNameView> first = List.of(view(1, "Black Lotus", "Magic"));
+        List<CardNameView> second = List.of(view(2, "Blastoise", "Pokemon"));
+        when(cardRepository.findCardNames()).thenReturn(first, second);
+
+        ShardRouter shardRouter = new ShardRouter(ShardRouter.Strategy.HASH,
+                Map.of("shard-0", mock(DataSource.class), "shard-1", mock(DataSource.class)), null);
+        CardShards cardShards = new CardShards(shardRouter, transactionManager);
+        try {
+            CardNameIndex sharded = new CardNameIndex(cardRepository, cardShards);
+            sharded.rebuild();
+
+            assertEquals(2, sharded.size());
+            assertEquals(List.of(2, 1), cardNumbers(sharded.search("bl", 10)));
+        } finally {
+            cardShards.destroy();
+        }
+    }
+
+    private static List<Integer> cardNumbers(List<CardSuggestion> suggestions) {
+        return suggestions.stream().map(CardSuggestion::getCardNumber).toList();
+    }
+
+    private static CardNameView view(int cardNumber, String cardName, String cardGame) {
+        CardNameView view = mock(CardNameView.class);
+        when(view.getCardNumber()).thenReturn(cardNumber);
+        when(view.getCardName()).thenReturn(cardName);
+        when(view.getCardGame()).thenReturn(cardGame);
+        return view;
+    }
+
+    private static Card card(int cardNumber, String cardName, String cardGame) {
+        Card card = new Card();
+        card.setCardNumber(cardNumber);
+        card.setCardName(cardName);
+        card.setCardGame(cardGame);
+        return card;
+    }
+}
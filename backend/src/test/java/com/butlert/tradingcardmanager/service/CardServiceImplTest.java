@@ -1,20 +1,55 @@
 package com.butlert.tradingcardmanager.service;
 
+import com.butlert.tradingcardmanager.config.ConnectionPools;
+import com.butlert.tradingcardmanager.config.DynamicDataSource;
+import com.butlert.tradingcardmanager.config.ShardRouter;
 import com.butlert.tradingcardmanager.mapper.CardMapper;
 import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.model.CardDeleteRequest;
+import com.butlert.tradingcardmanager.model.CardExportFormat;
+import com.butlert.tradingcardmanager.model.CardPage;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.model.CardSearchCriteria;
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.butlert.tradingcardmanager.model.UpsertSummary;
+import com.butlert.tradingcardmanager.repository.CardBatchWriter;
 import com.butlert.tradingcardmanager.repository.CardRepository;
-import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.repository.CollectionStatisticsView;
 import com.butlert.tradingcardmanager.utils.ReadTextFile;
 import com.butlert.tradingcardmanager.utils.validation.CardValidator;
 import com.butlert.tradingcardmanager.utils.validation.ValidatorResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.servlet.HandlerMapping;
 
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,17 +57,29 @@ import static org.mockito.Mockito.*;
 class CardServiceImplTest {
 
     @Mock private CardRepository cardRepository;
-    @Mock private CardParser cardParser;
+    @Mock private CardBatchWriter cardBatchWriter;
+    @Mock private CardImporter cardImporter;
+    @Mock private CardExporter cardExporter;
+    @Mock private CardValuationEngine cardValuationEngine;
     @Mock private ReadTextFile readTextFile;
     @Mock private CardValidator cardValidator;
     @Mock private HandlerMapping handlerMapping;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CollectionAggregateStore collectionAggregateStore;
+    private CardCache cardCache;
+    private CardNameIndex cardNameIndex;
 
     @InjectMocks private CardServiceImpl cardService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        cardService = new CardServiceImpl(cardRepository, cardParser, readTextFile, cardValidator, handlerMapping);
+        CardShards cardShards = new CardShards(ShardRouter.unsharded(), transactionManager);
+        collectionAggregateStore = new CollectionAggregateStore(cardRepository, cardValuationEngine, cardShards);
+        cardCache = new CardCache(new ObjectMapper().findAndRegisterModules(), 100, Duration.ofMinutes(10));
+        cardNameIndex = new CardNameIndex(cardRepository, cardShards);
+        cardService = new CardServiceImpl(cardRepository, cardBatchWriter, cardImporter, collectionAggregateStore, cardShards, cardCache, cardNameIndex, cardExporter, readTextFile, cardValidator, handlerMapping);
     }
 
     @Test
@@ -41,14 +88,14 @@ class CardServiceImplTest {
         Card card = CardMapper.toEntity(dto);
 
         when(cardValidator.validateCard(card)).thenReturn(ValidatorResult.success());
-        when(cardRepository.existsByCardNumber(dto.getCardNumber())).thenReturn(false);
-        when(cardRepository.save(any(Card.class))).thenReturn(card);
+        when(cardValidator.validateConstraints(card)).thenReturn(ValidatorResult.success());
 
         Optional<CardDTO> result = cardService.addCard(dto);
 
         assertTrue(result.isPresent());
         assertEquals(dto.getCardNumber(), result.get().getCardNumber());
-        verify(cardRepository).save(any(Card.class));
+        verify(cardBatchWriter).insert(any(Card.class));
+        verify(cardRepository, never()).existsByCardNumber(anyInt());
     }
 
     @Test
@@ -57,12 +104,12 @@ class CardServiceImplTest {
         Card card = CardMapper.toEntity(dto);
 
         when(cardValidator.validateCard(card)).thenReturn(ValidatorResult.success());
-        when(cardRepository.existsByCardNumber(dto.getCardNumber())).thenReturn(true);
+        when(cardValidator.validateConstraints(card)).thenReturn(ValidatorResult.success());
+        doThrow(new DuplicateKeyException("uk_card_card_number")).when(cardBatchWriter).insert(any(Card.class));
 
         Optional<CardDTO> result = cardService.addCard(dto);
 
         assertTrue(result.isEmpty());
-        verify(cardRepository, never()).save(any());
     }
 
     @Test
@@ -79,6 +126,150 @@ class CardServiceImplTest {
         assertTrue(ex.getMessage().contains("Validation failed"));
     }
 
+    @Test
+    void testAddCard_violatesCardConstraints_throwsWithoutWriting() {
+        CardValidator realValidator = new CardValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        CardDTO dto = new CardDTO(123, "Name", "Game", "RARE", "0", LocalDate.now().plusYears(1).toString(), LocalDate.now().toString(), true);
+        Card card = CardMapper.toEntity(dto);
+
+        when(cardValidator.validateCard(card)).thenReturn(ValidatorResult.success());
+        when(cardValidator.validateConstraints(card)).thenAnswer(invocation -> realValidator.validateConstraints(card));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> cardService.addCard(dto));
+
+        assertTrue(ex.getMessage().contains("datePurchased must be a date in the past or in the present."));
+        assertTrue(ex.getMessage().contains("purchasePrice must be greater than 0."));
+        verify(cardBatchWriter, never()).insert(any(Card.class));
+    }
+
+    @Test
+    void testUpsertCards_reportsCreatedUpdatedAndUnchanged() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        CardDTO same = new CardDTO(1, "Name", "Game", "RARE", "10", date.toString(), date.toString(), true);
+        CardDTO changed = new CardDTO(2, "Name", "Game", "RARE", "12", date.toString(), date.toString(), true);
+        CardDTO added = new CardDTO(3, "Name", "Game", "RARE", "5", date.toString(), date.toString(), false);
+
+        when(cardValidator.validateCard(any(Card.class))).thenReturn(ValidatorResult.success());
+        when(cardValidator.validateConstraints(any(Card.class))).thenReturn(ValidatorResult.success());
+        when(cardRepository.lockByCardNumbers(List.of(1, 2, 3))).thenReturn(List.of(
+                new Card(1, "Game", "Name", CardRarity.RARE, date, date, new BigDecimal("10.00"), true),
+                new Card(2, "Game", "Name", CardRarity.RARE, date, date, new BigDecimal("10.00"), true)));
+
+        UpsertSummary summary = cardService.upsertCards(List.of(same, changed, added));
+
+        assertEquals(1, summary.getCreated());
+        assertEquals(1, summary.getUpdated());
+        assertEquals(1, summary.getUnchanged());
+        assertEquals(List.of(UpsertSummary.Status.UNCHANGED, UpsertSummary.Status.UPDATED, UpsertSummary.Status.CREATED),
+                summary.getResults().stream().map(UpsertSummary.CardResult::getStatus).toList());
+
+        ArgumentCaptor<List<Card>> inserted = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Card>> upserted = ArgumentCaptor.forClass(List.class);
+        verify(cardBatchWriter).insertAll(inserted.capture());
+        verify(cardBatchWriter).upsertAll(upserted.capture());
+        assertEquals(List.of(3), inserted.getValue().stream().map(Card::getCardNumber).toList());
+        assertEquals(List.of(2), upserted.getValue().stream().map(Card::getCardNumber).toList());
+    }
+
+    @Test
+    void testUpsertCards_invalidCards_reportedAndNotWritten() {
+        CardValidator realValidator = new CardValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        CardDTO valid = new CardDTO(1, "Name", "Game", "RARE", "10", date.toString(), date.toString(), true);
+        CardDTO zeroPrice = new CardDTO(2, "Name", "Game", "RARE", "0", date.toString(), date.toString(), true);
+        CardDTO futurePurchase = new CardDTO(3, "Name", "Game", "RARE", "5", LocalDate.now().plusYears(1).toString(), date.toString(), true);
+        CardDTO badDate = new CardDTO(4, "Name", "Game", "RARE", "5", "not-a-date", date.toString(), true);
+
+        when(cardValidator.validateCard(any(Card.class))).thenReturn(ValidatorResult.success());
+        when(cardValidator.validateConstraints(any(Card.class)))
+                .thenAnswer(invocation -> realValidator.validateConstraints(invocation.getArgument(0)));
+
+        UpsertSummary summary = cardService.upsertCards(List.of(valid, zeroPrice, futurePurchase, badDate));
+
+        assertEquals(1, summary.getCreated());
+        assertEquals(3, summary.getInvalid());
+        assertEquals(List.of(UpsertSummary.Status.CREATED, UpsertSummary.Status.INVALID, UpsertSummary.Status.INVALID,
+                        UpsertSummary.Status.INVALID),
+                summary.getResults().stream().map(UpsertSummary.CardResult::getStatus).toList());
+        assertNull(summary.getResults().get(0).getError());
+        assertTrue(summary.getResults().get(1).getError().contains("purchasePrice must be greater than 0."));
+        assertTrue(summary.getResults().get(2).getError().contains("datePurchased must be a date in the past or in the present."));
+        assertTrue(summary.getResults().get(3).getError().startsWith("Invalid data: "));
+
+        verify(cardRepository).lockByCardNumbers(List.of(1));
+        ArgumentCaptor<List<Card>> written = ArgumentCaptor.forClass(List.class);
+        verify(cardBatchWriter).insertAll(written.capture());
+        assertEquals(List.of(1), written.getValue().stream().map(Card::getCardNumber).toList());
+    }
+
+    @Test
+    void testUpsertCards_repeatedCardNumber_writesNothing() {
+        CardDTO dto = new CardDTO(1, "Name", "Game", "RARE", "10", LocalDate.now().toString(), LocalDate.now().toString(), true);
+        when(cardValidator.validateCard(any(Card.class))).thenReturn(ValidatorResult.success());
+        when(cardValidator.validateConstraints(any(Card.class))).thenReturn(ValidatorResult.success());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> cardService.upsertCards(List.of(dto, dto)));
+
+        assertTrue(ex.getMessage().contains("more than once"));
+        verifyNoInteractions(cardBatchWriter);
+    }
+
+    @Test
+    void testUpsertCards_sameNewCardConcurrently_createsItOnceAndCountsItOnce() throws Exception {
+        HikariDataSource dataSource = ConnectionPools.create("upsert", "jdbc:h2:mem:concurrent_upsert;MODE=MYSQL",
+                "sa", "", "org.h2.Driver", new ConnectionPoolSettings(), new SimpleMeterRegistry());
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE card (id BIGINT AUTO_INCREMENT PRIMARY KEY, card_number INT NOT NULL UNIQUE, "
+                    + "card_game VARCHAR(255), card_name VARCHAR(255), rarity VARCHAR(20), date_purchased DATE, "
+                    + "date_set_published DATE, purchase_price DECIMAL(12, 2), foiled BOOLEAN)");
+
+            // Both upserts lock the missing card before either inserts it, as the row lock cannot stop them.
+            CyclicBarrier bothLocked = new CyclicBarrier(2);
+            AtomicInteger locks = new AtomicInteger();
+            when(cardRepository.lockByCardNumbers(List.of(7))).thenAnswer(invocation -> {
+                List<Card> stored = jdbcTemplate.query("SELECT card_number, card_game, card_name, rarity, date_purchased, "
+                        + "date_set_published, purchase_price, foiled FROM card WHERE card_number = 7 FOR UPDATE",
+                        (rs, row) -> new Card(rs.getInt(1), rs.getString(2), rs.getString(3), CardRarity.valueOf(rs.getString(4)),
+                                rs.getDate(5).toLocalDate(), rs.getDate(6).toLocalDate(), rs.getBigDecimal(7), rs.getBoolean(8)));
+                if (locks.incrementAndGet() <= 2) {
+                    bothLocked.await(10, TimeUnit.SECONDS);
+                }
+                return stored;
+            });
+            when(cardRepository.aggregateCollectionStatistics()).thenReturn(mock(CollectionStatisticsView.class));
+            when(cardValidator.validateCard(any(Card.class))).thenReturn(ValidatorResult.success());
+            when(cardValidator.validateConstraints(any(Card.class))).thenReturn(ValidatorResult.success());
+
+            CardShards cardShards = new CardShards(ShardRouter.unsharded(), new DataSourceTransactionManager(dataSource));
+            CollectionAggregateStore store = new CollectionAggregateStore(cardRepository, cardValuationEngine, cardShards);
+            store.rebuild();
+            CardServiceImpl service = new CardServiceImpl(cardRepository, new CardBatchWriter(dataSource), cardImporter,
+                    store, cardShards, cardCache, new CardNameIndex(cardRepository, cardShards), cardExporter, readTextFile,
+                    cardValidator, handlerMapping);
+
+            String date = LocalDate.of(2024, 1, 1).toString();
+            List<Callable<UpsertSummary>> upserts = List.of(
+                    () -> service.upsertCards(List.of(new CardDTO(7, "Name", "Game", "RARE", "10", date, date, true))),
+                    () -> service.upsertCards(List.of(new CardDTO(7, "Name", "Game", "RARE", "12", date, date, true))));
+            Set<UpsertSummary.Status> statuses = new HashSet<>();
+            try (ExecutorService writers = Executors.newFixedThreadPool(2)) {
+                for (Future<UpsertSummary> summary : writers.invokeAll(upserts)) {
+                    statuses.add(summary.get().getResults().get(0).getStatus());
+                }
+            }
+
+            assertEquals(Set.of(UpsertSummary.Status.CREATED, UpsertSummary.Status.UPDATED), statuses);
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card", Integer.class));
+            assertEquals(1, store.statistics().get("totalCards"));
+            assertEquals(jdbcTemplate.queryForObject("SELECT purchase_price FROM card", BigDecimal.class),
+                    store.statistics().get("totalSpent"));
+        } finally {
+            dataSource.close();
+        }
+    }
+
     @Test
     void testDeleteCard_successful() {
         when(cardRepository.deleteByCardNumber(123)).thenReturn(1);
@@ -93,6 +284,57 @@ class CardServiceImplTest {
         assertFalse(result);
     }
 
+    @Test
+    void testDeleteCards_byCardNumbers_deletesOnlyStoredCards() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        CardDeleteRequest request = new CardDeleteRequest();
+        request.setCardNumbers(List.of(1, 2, 2, 3));
+        when(cardRepository.lockByCardNumbers(List.of(1, 2, 3))).thenReturn(List.of(
+                new Card(1, "Game", "Name", CardRarity.RARE, date, date, BigDecimal.ONE, false),
+                new Card(3, "Game", "Name", CardRarity.RARE, date, date, BigDecimal.ONE, false)));
+        when(cardRepository.deleteByCardNumbers(List.of(1, 3))).thenReturn(2);
+
+        assertEquals(2, cardService.deleteCards(request));
+        verify(cardRepository).deleteByCardNumbers(List.of(1, 3));
+    }
+
+    @Test
+    void testDeleteCards_byFilter_deletesChunksUntilNoneMatch() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        List<Card> fullChunk = new ArrayList<>();
+        for (int i = 0; i < CardServiceImpl.DELETE_CHUNK_SIZE; i++) {
+            fullChunk.add(new Card(i, "Game", "Name", CardRarity.COMMON, date, date, BigDecimal.ONE, false));
+        }
+        List<Card> lastChunk = List.of(new Card(1000, "Game", "Name", CardRarity.COMMON, date, date, BigDecimal.ONE, false));
+
+        CardDeleteRequest request = new CardDeleteRequest();
+        request.setCardGame("Game");
+        request.setRarity("common");
+        request.setPurchasedTo("2024-06-30");
+        when(cardRepository.lockMatching(isNull(), isNull(), eq("Game"), eq(CardRarity.COMMON), isNull(),
+                eq(LocalDate.of(2024, 6, 30)), any())).thenReturn(fullChunk, lastChunk);
+        when(cardRepository.deleteByCardNumbers(anyList())).thenReturn(CardServiceImpl.DELETE_CHUNK_SIZE, 1);
+
+        assertEquals(CardServiceImpl.DELETE_CHUNK_SIZE + 1, cardService.deleteCards(request));
+        verify(cardRepository, times(2)).deleteByCardNumbers(anyList());
+    }
+
+    @Test
+    void testDeleteCards_invalidSelection_throwsException() {
+        CardDeleteRequest empty = new CardDeleteRequest();
+        CardDeleteRequest combined = new CardDeleteRequest();
+        combined.setCardNumbers(List.of(1));
+        combined.setCardGame("Game");
+        CardDeleteRequest reversed = new CardDeleteRequest();
+        reversed.setFromCardNumber(10);
+        reversed.setToCardNumber(5);
+
+        assertThrows(IllegalArgumentException.class, () -> cardService.deleteCards(empty));
+        assertThrows(IllegalArgumentException.class, () -> cardService.deleteCards(combined));
+        assertThrows(IllegalArgumentException.class, () -> cardService.deleteCards(reversed));
+        verify(cardRepository, never()).deleteByCardNumbers(anyList());
+    }
+
     @Test
     void testGetAllCards_returnsCardList() {
         List<Card> cards = List.of(new Card());
@@ -112,4 +354,212 @@ class CardServiceImplTest {
         when(cardRepository.findByCardNumber(404)).thenReturn(Optional.empty());
         assertNull(cardService.findByCardId(404));
     }
+
+    @Test
+    void testFindCardJsonByCardId_servesRepeatedLookupsFromCache() {
+        Card card = new Card(101, "Game", "Name", CardRarity.RARE, LocalDate.now(), LocalDate.now(), BigDecimal.TEN, false);
+        when(cardRepository.findByCardNumber(101)).thenReturn(Optional.of(card));
+
+        byte[] first = cardService.findCardJsonByCardId(101);
+        byte[] second = cardService.findCardJsonByCardId(101);
+
+        assertSame(first, second);
+        assertTrue(new String(first).contains("\"cardNumber\":101"));
+        verify(cardRepository, times(1)).findByCardNumber(101);
+        assertEquals(1L, cardService.getCardCacheStatistics().get("hitCount"));
+    }
+
+    @Test
+    void testFindCardJsonByCardId_missingCardIsNotCached() {
+        when(cardRepository.findByCardNumber(404)).thenReturn(Optional.empty());
+
+        assertNull(cardService.findCardJsonByCardId(404));
+        assertNull(cardService.findCardJsonByCardId(404));
+        verify(cardRepository, times(2)).findByCardNumber(404);
+    }
+
+    @Test
+    void testMutations_invalidateCachedCard() {
+        Card card = new Card(101, "Game", "Name", CardRarity.RARE, LocalDate.now(), LocalDate.now(), BigDecimal.TEN, false);
+        when(cardRepository.findByCardNumber(101)).thenReturn(Optional.of(card));
+        when(cardRepository.deleteByCardNumber(101)).thenReturn(1);
+
+        cardService.findCardJsonByCardId(101);
+        cardService.deleteCard(101);
+        cardService.findCardJsonByCardId(101);
+        cardCache.onDataSourceSwitched(null);
+        cardService.findCardJsonByCardId(101);
+
+        verify(cardRepository, times(4)).findByCardNumber(101);
+    }
+
+    @Test
+    void testCalculateCollectionStatistics_usesAggregateQuery() {
+        CollectionStatisticsView statistics = mock(CollectionStatisticsView.class);
+        when(statistics.getTotalCards()).thenReturn(4L);
+        when(statistics.getTotalSpent()).thenReturn(new BigDecimal("12.50"));
+        when(statistics.getTotalFoiled()).thenReturn(1L);
+        when(cardRepository.aggregateCollectionStatistics()).thenReturn(statistics);
+
+        Map<String, Object> result = cardService.calculateCollectionStatistics();
+
+        assertEquals(new BigDecimal("12.50"), result.get("totalSpent"));
+        assertEquals(4, result.get("totalCards"));
+        assertEquals(1, result.get("totalFoiled"));
+        assertEquals(25.0, result.get("percentFoiled"));
+        verify(cardRepository, never()).findAll();
+    }
+
+    @Test
+    void testCalculateCollectionStatistics_emptyCollection() {
+        CollectionStatisticsView statistics = mock(CollectionStatisticsView.class);
+        when(statistics.getTotalCards()).thenReturn(0L);
+        when(cardRepository.aggregateCollectionStatistics()).thenReturn(statistics);
+
+        Map<String, Object> result = cardService.calculateCollectionStatistics();
+
+        assertEquals(BigDecimal.ZERO, result.get("totalSpent"));
+        assertEquals(0, result.get("totalCards"));
+        assertEquals(0, result.get("totalFoiled"));
+        assertEquals(0.0, result.get("percentFoiled"));
+    }
+
+    @Test
+    void testGetCardPage_cursorContinuesAfterLastCard() {
+        Card first = new Card();
+        first.setId(1L);
+        first.setCardName("Alpha");
+        Card second = new Card();
+        second.setId(7L);
+        second.setCardName("Beta, the Second");
+        when(cardRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(first, second), ScrollPosition::offset, true));
+
+        CardPage page = cardService.getCardPage(null, 2, "cardName", "desc");
+
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+
+        cardService.getCardPage(page.getNextCursor(), 2, "cardNumber", "asc");
+
+        ArgumentCaptor<ScrollPosition> position = ArgumentCaptor.forClass(ScrollPosition.class);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        verify(cardRepository, times(2)).findBy(position.capture(), sort.capture(), eq(Limit.of(2)));
+
+        KeysetScrollPosition next = (KeysetScrollPosition) position.getAllValues().get(1);
+        assertEquals("Beta, the Second", next.getKeys().get("cardName"));
+        assertEquals(7L, next.getKeys().get("id"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "cardName").and(Sort.by(Sort.Direction.DESC, "id")),
+                sort.getAllValues().get(1));
+    }
+
+    @Test
+    void testGetCardPage_lastPageHasNoCursor() {
+        when(cardRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(new Card()), ScrollPosition::offset, false));
+
+        CardPage page = cardService.getCardPage(null, 5000, "cardNumber", "asc");
+
+        assertNull(page.getNextCursor());
+        verify(cardRepository).findBy(any(ScrollPosition.class), any(Sort.class), eq(Limit.of(CardServiceImpl.MAX_PAGE_SIZE)));
+    }
+
+    @Test
+    void testSearchCards_invalidOrReversedFilters_throwException() {
+        CardSearchCriteria badPrice = new CardSearchCriteria();
+        badPrice.setMinPrice("cheap");
+        CardSearchCriteria reversedPrice = new CardSearchCriteria();
+        reversedPrice.setMinPrice("10");
+        reversedPrice.setMaxPrice("5");
+        CardSearchCriteria reversedDates = new CardSearchCriteria();
+        reversedDates.setPurchasedFrom("2025-01-01");
+        reversedDates.setPurchasedTo("2024-01-01");
+
+        for (CardSearchCriteria criteria : List.of(badPrice, reversedPrice, reversedDates)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> cardService.searchCards(criteria, null, 10, "cardNumber", "asc"));
+        }
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void testGetCardPage_invalidSortOrCursor_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCardPage(null, 10, "secret", "asc"));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCardPage(null, 10, "cardNumber", "sideways"));
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCardPage("not-a-cursor", 10, "cardNumber", "asc"));
+    }
+
+    @Test
+    void testGetCardPage_sharded_mergesShardsAndResumesEachShard() {
+        Map<String, List<Card>> shardCards = new LinkedHashMap<>();
+        shardCards.put("shard-0", List.of(pageCard(1L, 1), pageCard(2L, 4), pageCard(3L, 5)));
+        shardCards.put("shard-1", List.of(pageCard(1L, 2), pageCard(2L, 3), pageCard(3L, 6)));
+        when(cardRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenAnswer(invocation -> {
+            List<Card> cards = shardCards.get(DynamicDataSource.getCurrentKey());
+            KeysetScrollPosition position = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(2);
+            Object after = position.getKeys().get("cardNumber");
+            List<Card> remaining = cards.stream()
+                    .filter(card -> after == null || card.getCardNumber() > (Integer) after)
+                    .toList();
+            return Window.from(remaining.subList(0, Math.min(limit.max(), remaining.size())), ScrollPosition::offset,
+                    remaining.size() > limit.max());
+        });
+
+        CardShards cardShards = shardedCardShards();
+        try {
+            CardServiceImpl sharded = shardedService(cardShards);
+            List<Integer> cardNumbers = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                CardPage page = sharded.getCardPage(cursor, 2, "cardNumber", "asc");
+                page.getItems().forEach(card -> cardNumbers.add(card.getCardNumber()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(List.of(1, 2, 3, 4, 5, 6), cardNumbers);
+            assertEquals(3, pages);
+            assertThrows(IllegalArgumentException.class, () -> sharded.getCardPage("not-a-cursor", 2, "cardNumber", "asc"));
+        } finally {
+            cardShards.destroy();
+        }
+    }
+
+    @Test
+    void testExportCards_sharded_exportsEveryShardAfterOneHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(cardExporter.export(out, CardExportFormat.CSV, true)).thenReturn(2L);
+        when(cardExporter.export(out, CardExportFormat.CSV, false)).thenReturn(3L);
+
+        CardShards cardShards = shardedCardShards();
+        try {
+            assertEquals(5, shardedService(cardShards).exportCards(out, CardExportFormat.CSV));
+        } finally {
+            cardShards.destroy();
+        }
+
+        verify(cardExporter).export(out, CardExportFormat.CSV, true);
+        verify(cardExporter).export(out, CardExportFormat.CSV, false);
+    }
+
+    private CardShards shardedCardShards() {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("shard-0", mock(DataSource.class));
+        shards.put("shard-1", mock(DataSource.class));
+        return new CardShards(new ShardRouter(ShardRouter.Strategy.HASH, shards, null), transactionManager);
+    }
+
+    private CardServiceImpl shardedService(CardShards cardShards) {
+        return new CardServiceImpl(cardRepository, cardBatchWriter, cardImporter, collectionAggregateStore, cardShards,
+                cardCache, cardNameIndex, cardExporter, readTextFile, cardValidator, handlerMapping);
+    }
+
+    private static Card pageCard(long id, int cardNumber) {
+        Card card = new Card();
+        card.setId(id);
+        card.setCardNumber(cardNumber);
+        return card;
+    }
 }
@@ -0,0 +1,139 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.ConnectionPools;
+import com.butlert.tradingcardmanager.config.DataSourceConfig;
+import com.butlert.tradingcardmanager.config.DynamicDataSource;
+import com.butlert.tradingcardmanager.config.GatedJpaTransactionManager;
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.model.ConnectionPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardShardsTest {
+
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+    private LocalContainerEntityManagerFactoryBean emfBean;
+    private EntityManager entityManager;
+    private ShardRouter shardRouter;
+    private CardShards cardShards;
+
+    @BeforeEach
+    void setUp() {
+        for (String key : List.of("primary", "shard-0", "shard-1")) {
+            pools.put(key, ConnectionPools.create(key, "jdbc:h2:mem:cards_" + key.replace('-', '_') + ";DB_CLOSE_DELAY=-1",
+                    "sa", "", "org.h2.Driver", new ConnectionPoolSettings(), new SimpleMeterRegistry()));
+        }
+        DynamicDataSource routingDs = new DynamicDataSource();
+        routingDs.setTargetDataSources(Map.copyOf(pools));
+        routingDs.afterPropertiesSet();
+        DynamicDataSource.setGlobalKey("primary");
+
+        for (HikariDataSource pool : pools.values()) {
+            LocalContainerEntityManagerFactoryBean schemaEmf = DataSourceConfig.entityManagerFactoryBean(pool, "create");
+            schemaEmf.afterPropertiesSet();
+            schemaEmf.destroy();
+        }
+        emfBean = DataSourceConfig.entityManagerFactoryBean(routingDs, "none");
+        emfBean.afterPropertiesSet();
+        GatedJpaTransactionManager transactionManager = new GatedJpaTransactionManager(emfBean.getObject());
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(transactionManager.getEntityManagerFactory());
+
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>(pools);
+        shards.remove("primary");
+        shardRouter = new ShardRouter(ShardRouter.Strategy.HASH, shards, null);
+        cardShards = new CardShards(shardRouter, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DynamicDataSource.setGlobalKey("h2");
+        cardShards.destroy();
+        emfBean.destroy();
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void testOnShardOf_writesEachCardToItsOwningShardOnly() throws SQLException {
+        for (int cardNumber = 1; cardNumber <= 20; cardNumber++) {
+            Card card = card(cardNumber);
+            cardShards.onShardOf(cardNumber, false, () -> {
+                entityManager.persist(card);
+                return card;
+            });
+        }
+
+        for (int cardNumber = 1; cardNumber <= 20; cardNumber++) {
+            String owner = shardRouter.shardFor(cardNumber);
+            for (String shard : shardRouter.getShardKeys()) {
+                assertEquals(shard.equals(owner) ? 1 : 0, count(shard, cardNumber), "card " + cardNumber + " in " + shard);
+            }
+            int number = cardNumber;
+            Card found = cardShards.onShardOf(cardNumber, true, () -> entityManager
+                    .createQuery("select c from Card c where c.cardNumber = :number", Card.class)
+                    .setParameter("number", number).getSingleResult());
+            assertEquals(cardNumber, found.getCardNumber());
+        }
+        assertEquals(0, count("primary", null));
+        assertNull(DynamicDataSource.getCurrentKey());
+    }
+
+    @Test
+    void testOnEveryShard_gathersEveryShardInParallel() {
+        for (int cardNumber = 1; cardNumber <= 50; cardNumber++) {
+            Card card = card(cardNumber);
+            cardShards.onShardOf(cardNumber, false, () -> {
+                entityManager.persist(card);
+                return card;
+            });
+        }
+
+        List<Long> counts = cardShards.onEveryShard(() ->
+                entityManager.createQuery("select count(c) from Card c", Long.class).getSingleResult());
+
+        assertEquals(2, counts.size());
+        assertEquals(50L, counts.get(0) + counts.get(1));
+        assertTrue(counts.get(0) > 0 && counts.get(1) > 0);
+    }
+
+    @Test
+    void testPartition_groupsCardsByShard() {
+        Map<String, List<Card>> partitions = cardShards.partition(List.of(card(1), card(2), card(3), card(4)));
+
+        partitions.forEach((shard, cards) ->
+                cards.forEach(card -> assertEquals(shard, shardRouter.shardFor(card.getCardNumber()))));
+        assertEquals(4, partitions.values().stream().mapToInt(List::size).sum());
+    }
+
+    private long count(String key, Integer cardNumber) throws SQLException {
+        String sql = "select count(*) from card" + (cardNumber != null ? " where card_number = " + cardNumber : "");
+        try (Connection connection = pools.get(key).getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static Card card(int cardNumber) {
+        return new Card(cardNumber, "Game", "Card " + cardNumber, CardRarity.RARE,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2023, 1, 1), new BigDecimal("1.00"), false);
+    }
+}
@@ -0,0 +1,147 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.repository.ValuationGroupView;
+import com.butlert.tradingcardmanager.utils.CardDateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardValuationEngineTest {
+
+    private CardValuationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new CardValuationEngine(new CardDateUtil());
+    }
+
+    @Test
+    void testCalculateValues_matchesPerCardTotalsExactly() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        CardRarity[] rarities = CardRarity.values();
+        List<Card> cards = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            Card card = new Card();
+            card.setRarity(rarities[random.nextInt(rarities.length)]);
+            card.setDateSetPublished(today.minusDays(random.nextInt(3000)));
+            card.setDatePurchased(today.minusDays(random.nextInt(1500)));
+            card.setPurchasePrice(BigDecimal.valueOf(random.nextInt(2000), 2));
+            cards.add(card);
+        }
+
+        Map<String, BigDecimal> expected = perCardValues(cards);
+        Map<String, BigDecimal> result = calculateValues(cards);
+
+        assertEquals(expected.get("marketValue"), result.get("marketValue"));
+        assertEquals(expected.get("ownerValue"), result.get("ownerValue"));
+    }
+
+    @Test
+    void testCalculateValues_appliesCommonFloorPerCard() {
+        LocalDate old = LocalDate.now().minusYears(10);
+        Card card = new Card();
+        card.setRarity(CardRarity.COMMON);
+        card.setDateSetPublished(old);
+        card.setDatePurchased(old);
+        card.setPurchasePrice(new BigDecimal("1.00"));
+
+        Map<String, BigDecimal> result = calculateValues(List.of(card, card, card));
+
+        assertEquals(new BigDecimal("0.60"), result.get("marketValue"));
+        assertEquals(new BigDecimal("0.60"), result.get("ownerValue"));
+    }
+
+    @Test
+    void testCalculateValues_emptyCollection() {
+        Map<String, BigDecimal> result = calculateValues(List.of());
+
+        assertEquals(BigDecimal.ZERO, result.get("marketValue"));
+        assertEquals(BigDecimal.ZERO, result.get("ownerValue"));
+    }
+
+    /**
+     * Groups the cards into the rows both repository queries would return and values them.
+     */
+    private Map<String, BigDecimal> calculateValues(List<Card> cards) {
+        Map<String, Group> linear = new LinkedHashMap<>();
+        Map<String, Group> common = new LinkedHashMap<>();
+
+        for (Card card : cards) {
+            boolean isCommon = card.getRarity() == CardRarity.COMMON;
+            String key = card.getRarity() + "|" + card.getDateSetPublished() + "|" + card.getDatePurchased()
+                    + (isCommon ? "|" + card.getPurchasePrice() : "");
+            Map<String, Group> target = isCommon ? common : linear;
+            Group group = target.computeIfAbsent(key, k -> new Group(card));
+            group.count++;
+            if (!isCommon) {
+                group.price = group.price == null ? card.getPurchasePrice() : group.price.add(card.getPurchasePrice());
+            }
+        }
+
+        return engine.calculateValues(linear.values(), common.values(), LocalDate.now());
+    }
+
+    /**
+     * The original per-card valuation loop, kept as the reference result.
+     */
+    private static Map<String, BigDecimal> perCardValues(List<Card> cards) {
+        CardDateUtil cardDateUtil = new CardDateUtil();
+        BigDecimal totalMarketValue = BigDecimal.ZERO;
+        BigDecimal totalOwnerValue = BigDecimal.ZERO;
+
+        for (Card card : cards) {
+            BigDecimal basePrice = card.getPurchasePrice();
+            CardRarity rarity = card.getRarity();
+            long marketIntervals = cardDateUtil.calculateDayInterval(card.getDateSetPublished());
+            long ownerIntervals = cardDateUtil.calculateDayInterval(card.getDatePurchased());
+
+            BigDecimal marketValue = basePrice.multiply(BigDecimal.valueOf(Math.pow(1 + rarity.getMarketRate(), marketIntervals)));
+            BigDecimal ownerValue = basePrice.multiply(BigDecimal.valueOf(Math.pow(1 + rarity.getOwnerRate(), ownerIntervals)));
+
+            if (rarity == CardRarity.COMMON) {
+                BigDecimal floor = new BigDecimal("0.20");
+                if (marketValue.compareTo(floor) < 0) marketValue = floor;
+                if (ownerValue.compareTo(floor) < 0) ownerValue = floor;
+            }
+
+            totalMarketValue = totalMarketValue.add(marketValue);
+            totalOwnerValue = totalOwnerValue.add(ownerValue);
+        }
+
+        return Map.of("marketValue", totalMarketValue, "ownerValue", totalOwnerValue);
+    }
+
+    private static final class Group implements ValuationGroupView {
+        private final CardRarity rarity;
+        private final LocalDate dateSetPublished;
+        private final LocalDate datePurchased;
+        private BigDecimal price;
+        private long count;
+
+        private Group(Card card) {
+            this.rarity = card.getRarity();
+            this.dateSetPublished = card.getDateSetPublished();
+            this.datePurchased = card.getDatePurchased();
+            this.price = card.getRarity() == CardRarity.COMMON ? card.getPurchasePrice() : null;
+        }
+
+        @Override public CardRarity getRarity() { return rarity; }
+        @Override public LocalDate getDateSetPublished() { return dateSetPublished; }
+        @Override public LocalDate getDatePurchased() { return datePurchased; }
+        @Override public BigDecimal getPurchasePrice() { return price; }
+        @Override public long getCardCount() { return count; }
+    }
+}
@@ -0,0 +1,196 @@
+package com.butlert.tradingcardmanager.service;
+
+import com.butlert.tradingcardmanager.config.ShardRouter;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardRarity;
+import com.butlert.tradingcardmanager.repository.CardRepository;
+import com.butlert.tradingcardmanager.repository.CollectionStatisticsView;
+import com.butlert.tradingcardmanager.repository.ValuationGroupView;
+import com.butlert.tradingcardmanager.utils.CardDateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CollectionAggregateStoreTest {
+
+    @Mock private CardRepository cardRepository;
+    @Mock private CollectionStatisticsView emptyStatistics;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CardValuationEngine engine;
+    private CollectionAggregateStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cardRepository.aggregateCollectionStatistics()).thenReturn(emptyStatistics);
+        when(cardRepository.findValuationGroups()).thenReturn(List.of());
+        when(cardRepository.findCommonValuationGroups()).thenReturn(List.of());
+
+        engine = new CardValuationEngine(new CardDateUtil());
+        store = new CollectionAggregateStore(cardRepository, engine,
+                new CardShards(ShardRouter.unsharded(), transactionManager));
+        store.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testMutations_updateAggregatesWithoutQueries() {
+        Card rare = card(1, CardRarity.RARE, "10.5", true);
+        Card common = card(2, CardRarity.COMMON, "1", false);
+
+        store.cardAdded(rare);
+        store.cardsAdded(List.of(common));
+
+        Map<String, Object> statistics = store.statistics();
+        assertEquals(new BigDecimal("11.50"), statistics.get("totalSpent"));
+        assertEquals(2, statistics.get("totalCards"));
+        assertEquals(1, statistics.get("totalFoiled"));
+        assertEquals(50.0, statistics.get("percentFoiled"));
+
+        CollectionAggregateStore.Change before = store.snapshot(rare);
+        rare.setPurchasePrice(new BigDecimal("4.00"));
+        rare.setFoiled(false);
+        store.cardUpdated(before, rare);
+        store.cardRemoved(common);
+
+        statistics = store.statistics();
+        assertEquals(new BigDecimal("4.00"), statistics.get("totalSpent"));
+        assertEquals(1, statistics.get("totalCards"));
+        assertEquals(0, statistics.get("totalFoiled"));
+
+        LocalDate today = LocalDate.now();
+        BigDecimal expected = new BigDecimal("4.00").multiply(engine.marketMultiplier(CardRarity.RARE,
+                new CardDateUtil().calculateDayInterval(rare.getDateSetPublished(), today)));
+        assertEquals(expected, store.values().get("marketValue"));
+
+        verify(cardRepository, times(1)).aggregateCollectionStatistics();
+    }
+
+    @Test
+    void testRolledBackTransaction_isNotApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        store.cardAdded(card(1, CardRarity.HERO, "2.00", false));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(0, store.statistics().get("totalCards"));
+        assertEquals(BigDecimal.ZERO, store.statistics().get("totalSpent"));
+    }
+
+    @Test
+    void testCommittedTransaction_isAppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        store.cardAdded(card(1, CardRarity.HERO, "2.00", false));
+
+        assertEquals(0, store.statistics().get("totalCards"));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(1, store.statistics().get("totalCards"));
+    }
+
+    @Test
+    void testInvalidate_readsFromDatabaseAgain() {
+        store.invalidate();
+        when(emptyStatistics.getTotalCards()).thenReturn(3L);
+
+        assertEquals(3, store.statistics().get("totalCards"));
+        verify(cardRepository, times(2)).aggregateCollectionStatistics();
+    }
+
+    @Test
+    void testInvalidate_duringRebuild_resultIsNotInstalled() {
+        when(cardRepository.aggregateCollectionStatistics()).thenAnswer(invocation -> {
+            store.onDataSourceSwitching(null);
+            return emptyStatistics;
+        }).thenReturn(emptyStatistics);
+
+        store.rebuild();
+        store.statistics();
+
+        verify(cardRepository, times(3)).aggregateCollectionStatistics();
+        store.statistics();
+        verify(cardRepository, times(3)).aggregateCollectionStatistics();
+    }
+
+    @Test
+    void testRebuild_sharded_sumsTheAggregatesOfEveryShard() {
+        CollectionStatisticsView first = statistics(2, "3.00", 2, 1L);
+        CollectionStatisticsView second = statistics(1, null, 0, null);
+        when(cardRepository.aggregateCollectionStatistics()).thenReturn(first, second);
+        ValuationGroupView group = group(1, "5.00");
+        when(cardRepository.findValuationGroups()).thenReturn(List.of(group));
+
+        ShardRouter shardRouter = new ShardRouter(ShardRouter.Strategy.HASH,
+                Map.of("shard-0", mock(DataSource.class), "shard-1", mock(DataSource.class)), null);
+        CardShards cardShards = new CardShards(shardRouter, transactionManager);
+        try {
+            CollectionAggregateStore sharded = new CollectionAggregateStore(cardRepository, engine, cardShards);
+            sharded.rebuild();
+
+            Map<String, Object> statistics = sharded.statistics();
+            assertEquals(3, statistics.get("totalCards"));
+            assertEquals(1, statistics.get("totalFoiled"));
+            assertEquals(new BigDecimal("3.00"), statistics.get("totalSpent"));
+            assertEquals(engine.calculateValues(List.of(group(2, "10.00")), List.of(), LocalDate.now()), sharded.values());
+            verify(cardRepository, times(3)).aggregateCollectionStatistics();
+        } finally {
+            cardShards.destroy();
+        }
+    }
+
+    private static CollectionStatisticsView statistics(long cards, String spent, long priced, Long foiled) {
+        CollectionStatisticsView statistics = mock(CollectionStatisticsView.class);
+        when(statistics.getTotalCards()).thenReturn(cards);
+        when(statistics.getTotalSpent()).thenReturn(spent != null ? new BigDecimal(spent) : null);
+        when(statistics.getPricedCards()).thenReturn(priced);
+        when(statistics.getTotalFoiled()).thenReturn(foiled);
+        return statistics;
+    }
+
+    private static ValuationGroupView group(long cards, String price) {
+        ValuationGroupView group = mock(ValuationGroupView.class);
+        when(group.getRarity()).thenReturn(CardRarity.RARE);
+        when(group.getDateSetPublished()).thenReturn(LocalDate.now().minusDays(400));
+        when(group.getDatePurchased()).thenReturn(LocalDate.now().minusDays(100));
+        when(group.getPurchasePrice()).thenReturn(new BigDecimal(price));
+        when(group.getCardCount()).thenReturn(cards);
+        return group;
+    }
+
+    private static Card card(int number, CardRarity rarity, String price, boolean foiled) {
+        Card card = new Card();
+        card.setCardNumber(number);
+        card.setRarity(rarity);
+        card.setDateSetPublished(LocalDate.now().minusDays(400));
+        card.setDatePurchased(LocalDate.now().minusDays(100));
+        card.setPurchasePrice(new BigDecimal(price));
+        card.setFoiled(foiled);
+        return card;
+    }
+}
@@ -0,0 +1,118 @@
+package util;
+
+import com.butlert.tradingcardmanager.mapper.CardMapper;
+import com.butlert.tradingcardmanager.model.Card;
+import com.butlert.tradingcardmanager.model.CardDTO;
+import com.butlert.tradingcardmanager.utils.CardParser;
+import com.butlert.tradingcardmanager.utils.DateParser;
+import com.butlert.tradingcardmanager.utils.validation.CardValidator;
+import com.butlert.tradingcardmanager.utils.validation.ValidatorResult;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardParserTest {
+
+    private CardParser parser;
+    private CardValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new CardValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        parser = new CardParser(new DateParser(), validator);
+    }
+
+    @Test
+    void testParseCard_validLine_buildsCard() {
+        Card card = parser.parseCard("326 - FFTCG - Cloud of Darkness - hero - 2024-04-05 - 2017-03-01 - 72.00 - TRUE");
+
+        assertEquals(326, card.getCardNumber());
+        assertEquals("FFTCG", card.getCardGame());
+        assertEquals("Cloud of Darkness", card.getCardName());
+        assertEquals("HERO", card.getRarity().name());
+        assertEquals(LocalDate.of(2024, 4, 5), card.getDatePurchased());
+        assertEquals(LocalDate.of(2017, 3, 1), card.getDateSetPublished());
+        assertEquals("72.00", card.getPurchasePrice().toPlainString());
+        assertTrue(card.isFoiled());
+    }
+
+    @Test
+    void testParseCard_violatesCardConstraints_rejected() {
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+
+        IllegalArgumentException zeroPrice = assertThrows(IllegalArgumentException.class, () ->
+                parser.parseCard("7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 0.00 - true"));
+        IllegalArgumentException futurePurchase = assertThrows(IllegalArgumentException.class, () ->
+                parser.parseCard("7 - Magic - Shock - RARE - " + tomorrow + " - 2019-01-01 - 3.10 - true"));
+
+        assertTrue(zeroPrice.getMessage().startsWith("Validation failed: purchasePrice"), zeroPrice.getMessage());
+        assertTrue(futurePurchase.getMessage().startsWith("Validation failed: datePurchased"),
+                futurePurchase.getMessage());
+    }
+
+    @Test
+    void testParseCard_matchesParseLineForValidAndInvalidLines() {
+        String future = LocalDate.now().plusYears(6).toString();
+        String nextYear = LocalDate.now().plusYears(1).toString();
+        List<String> lines = List.of(
+                "1 - Magic - Black Lotus - LEGENDARY - 2024-01-01 - 1993-08-05 - 1000000 - false",
+                "  42  -  Magic  -  Llanowar Elves  -  common  -  2020-02-29  -  2019-01-01  -  0.5  -  False  ",
+                "7 - Magic - Shock - RARE - 2024-02-30 - 2019-01-01 - 3.10 - true",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - +3.10 - true",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10 - true - ",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10",
+                "7 - Magic - Shock - RARE - 2018-01-01 - 2019-01-01 - 3.10 - true",
+                "7 - Magic - Shock - RARE - " + future + " - 2019-01-01 - 3.10 - true",
+                "7 - Magic - Shock - MYTHIC - 2024-01-01 - 2019-01-01 - 3.10 - true",
+                "7 - Magic - Shock 2 - RARE - 2024-01-01 - 2019-01-01 - 3.10 - true",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.105 - true",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 1000000.01 - true",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10 - yes",
+                "999999 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10 - true",
+                "0 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10 - true",
+                "7 - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 0.00 - true",
+                "7 - Magic - Shock - RARE - " + nextYear + " - 2019-01-01 - 3.10 - true",
+                "abc - Magic - Shock - RARE - 2024-01-01 - 2019-01-01 - 3.10 - true",
+                "",
+                "garbage");
+
+        for (String line : lines) {
+            assertEquals(parseWithLegacyPath(line), parseWithFastPath(line), line);
+        }
+    }
+
+    private String parseWithFastPath(String line) {
+        try {
+            return describe(parser.parseCard(line));
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private String parseWithLegacyPath(String line) {
+        try {
+            CardDTO dto = parser.parseLine(line).orElseThrow();
+            Card card = CardMapper.toEntity(dto);
+            ValidatorResult result = validator.validateCard(card);
+            if (!result.isValid()) {
+                return "error: Validation failed: " + result.getMessage();
+            }
+            ValidatorResult constraints = validator.validateConstraints(card);
+            if (!constraints.isValid()) {
+                return "error: Validation failed: " + constraints.getMessage();
+            }
+            return describe(card);
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private static String describe(Card card) {
+        return card + " price scale " + card.getPurchasePrice().scale();
+    }
+}
@@ -4,6 +4,7 @@ import com.butlert.tradingcardmanager.model.Card;
 import com.butlert.tradingcardmanager.model.CardRarity;
 import com.butlert.tradingcardmanager.utils.validation.CardValidator;
 import com.butlert.tradingcardmanager.utils.validation.ValidatorResult;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +20,7 @@ class CardValidatorTest {
 
     @BeforeEach
     void setUp() {
-        validator = new CardValidator();
+        validator = new CardValidator(Validation.buildDefaultValidatorFactory().getValidator());
     }
 
     @Test
@@ -156,4 +157,22 @@ class CardValidatorTest {
         assertFalse(result.isValid());
         assertTrue(result.getMessage().contains("empty") || result.getMessage().contains("invalid"));
     }
+
+    @Test
+    void testValidateConstraints_zeroPriceAndFuturePurchase() {
+        Card card = new Card();
+        card.setCardNumber(123);
+        card.setCardName("Charizard");
+        card.setCardGame("Pokemon");
+        card.setRarity(CardRarity.LEGENDARY);
+        card.setPurchasePrice(new BigDecimal("0.00"));
+        card.setDateSetPublished(LocalDate.of(2020, 1, 1));
+        card.setDatePurchased(LocalDate.now().plusYears(1));
+
+        assertTrue(validator.validateCard(card).isValid());
+        ValidatorResult result = validator.validateConstraints(card);
+        assertFalse(result.isValid());
+        assertTrue(result.getMessage().startsWith("datePurchased "), result.getMessage());
+        assertTrue(result.getMessage().contains("purchasePrice "), result.getMessage());
+    }
 }
@@ -38,6 +38,8 @@ import {Subscription} from 'rxjs';
 export class CardDashboardComponent implements OnInit {
 
   cards: Card[] = [];
+  nextCursor: string | null = null;
+  readonly pageSize = 100;
   displayedColumns: string[] = [
     'cardNumber', 'cardName', 'cardGame',
     'rarity', 'datePurchased', 'dateSetPublished', 'purchasePrice', 'foiled'
@@ -74,15 +76,31 @@ export class CardDashboardComponent implements OnInit {
 
   /**
    * Method: loadCards
-   * Purpose: Loads the cards from the backend
+   * Purpose: Loads the first page of cards from the backend
    * Parameters: none
    * Returns: void
    */
   loadCards(): void {
-    this.cardService.getAllCards()
-      .subscribe(data => {
-        this.cards = data;
-        console.log(this.cards);
+    this.cardService.getCardPage(null, this.pageSize)
+      .subscribe(page => {
+        this.cards = page.items;
+        this.nextCursor = page.nextCursor;
+      });
+  }
+
+  /**
+   * Method: loadMoreCards
+   * Purpose: Appends the next page of cards to the table
+   * Parameters: none
+   * Returns: void
+   */
+  loadMoreCards(): void {
+    if (!this.nextCursor) return;
+
+    this.cardService.getCardPage(this.nextCursor, this.pageSize)
+      .subscribe(page => {
+        this.cards = [...this.cards, ...page.items];
+        this.nextCursor = page.nextCursor;
       });
   }
 
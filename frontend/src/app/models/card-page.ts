@@ -0,0 +1,10 @@
+import {Card} from './card';
+
+/**
+ * One page of cards returned by GET /api/cards and GET /api/cards/search.
+ * nextCursor is passed back to read the following page and is null on the last page.
+ */
+export interface CardPage {
+  items: Card[];
+  nextCursor: string | null;
+}
@@ -0,0 +1,16 @@
+/**
+ * Filters of GET /api/cards/search. Every filter is optional; the filters that are set are combined.
+ * cardName matches by prefix. Dates are yyyy-MM-dd and the price and date ranges are inclusive.
+ */
+export interface CardSearchCriteria {
+  cardGame?: string;
+  cardName?: string;
+  rarity?: string;
+  foiled?: boolean;
+  minPrice?: number;
+  maxPrice?: number;
+  purchasedFrom?: string;
+  purchasedTo?: string;
+  publishedFrom?: string;
+  publishedTo?: string;
+}
@@ -0,0 +1,10 @@
+/**
+ * One typeahead suggestion of GET /api/cards/typeahead. Suggestions arrive best first;
+ * score is only meaningful for ordering.
+ */
+export interface CardSuggestion {
+  cardNumber: number;
+  cardName: string;
+  cardGame: string;
+  score: number;
+}
@@ -0,0 +1,23 @@
+/**
+ * Status of a background import of /api/cards/import/jobs. Counters show the progress so far;
+ * summary is set once the job has finished or been cancelled, error once it has failed.
+ */
+export interface ImportJobStatus {
+  jobId: string;
+  state: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'CANCELLED' | 'FAILED';
+  linesRead: number;
+  imported: number;
+  duplicates: number;
+  rejected: number;
+  linesPerSecond: number;
+  elapsedMillis: number;
+  error: string | null;
+  summary: {
+    linesRead: number;
+    imported: number;
+    duplicates: number;
+    rejected: number;
+    errors: {line: number; message: string}[];
+    elapsedMillis: number;
+  } | null;
+}
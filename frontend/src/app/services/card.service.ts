@@ -6,9 +6,13 @@
  * This service handles HTTP requests to the backend API for crud operations
  */
 import {Injectable} from '@angular/core';
-import {HttpClient} from '@angular/common/http';
+import {HttpClient, HttpParams} from '@angular/common/http';
 import {Observable} from 'rxjs';
 import {Card} from '../models/card';
+import {CardPage} from '../models/card-page';
+import {CardSearchCriteria} from '../models/card-search-criteria';
+import {CardSuggestion} from '../models/card-suggestion';
+import {ImportJobStatus} from '../models/import-job-status';
 
 @Injectable({
   providedIn: 'root'
@@ -20,13 +24,54 @@ export class CardService {
   }
 
   /**
-   * Method: getAllCards
-   * Purpose: Retrieves the list of cards from the backend API.
-   * Parameters: none
-   * Returns: Card array
+   * Method: getCardPage
+   * Purpose: Retrieves one page of cards from the backend API.
+   * Parameters: cursor (from the previous page, omit for the first page), size, sort, direction
+   * Returns: CardPage
+   */
+  getCardPage(cursor?: string | null, size = 50, sort = 'cardNumber', direction: 'asc' | 'desc' = 'asc'): Observable<CardPage> {
+    let params = new HttpParams()
+      .set('size', size)
+      .set('sort', sort)
+      .set('direction', direction);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<CardPage>(this.apiUrl, {params});
+  }
+
+  /**
+   * Method: searchCards
+   * Purpose: Retrieves one page of the cards matching the given filters; filtering happens on the backend.
+   * Parameters: criteria, cursor (from the previous page of the same search), size, sort, direction
+   * Returns: CardPage
    */
-  getAllCards(): Observable<Card[]> {
-    return this.http.get<Card[]>(this.apiUrl);
+  searchCards(criteria: CardSearchCriteria, cursor?: string | null, size = 50, sort = 'cardNumber',
+              direction: 'asc' | 'desc' = 'asc'): Observable<CardPage> {
+    let params = new HttpParams()
+      .set('size', size)
+      .set('sort', sort)
+      .set('direction', direction);
+    for (const [name, value] of Object.entries(criteria)) {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(name, value);
+      }
+    }
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<CardPage>(`${this.apiUrl}/search`, {params});
+  }
+
+  /**
+   * Method: suggestCards
+   * Purpose: Retrieves typeahead suggestions for a partially typed card name or game.
+   * Parameters: query, limit
+   * Returns: CardSuggestion[]
+   */
+  suggestCards(query: string, limit = 10): Observable<CardSuggestion[]> {
+    const params = new HttpParams().set('q', query).set('limit', limit);
+    return this.http.get<CardSuggestion[]>(`${this.apiUrl}/typeahead`, {params});
   }
 
   /**
@@ -79,6 +124,36 @@ export class CardService {
     return this.http.post<Card[]>(`${this.apiUrl}/import`, formData);
   }
 
+  /**
+   * Method: startImportJob
+   * Purpose: Uploads a file to be imported in the background
+   * Parameters: FormData (front end file select)
+   * Returns: ImportJobStatus
+   */
+  startImportJob(formData: FormData): Observable<ImportJobStatus> {
+    return this.http.post<ImportJobStatus>(`${this.apiUrl}/import/jobs`, formData);
+  }
+
+  /**
+   * Method: getImportJob
+   * Purpose: Polls the progress of a background import; a finished job is returned once
+   * Parameters: jobId
+   * Returns: ImportJobStatus
+   */
+  getImportJob(jobId: string): Observable<ImportJobStatus> {
+    return this.http.get<ImportJobStatus>(`${this.apiUrl}/import/jobs/${jobId}`);
+  }
+
+  /**
+   * Method: cancelImportJob
+   * Purpose: Cancels a background import
+   * Parameters: jobId
+   * Returns: ImportJobStatus
+   */
+  cancelImportJob(jobId: string): Observable<ImportJobStatus> {
+    return this.http.delete<ImportJobStatus>(`${this.apiUrl}/import/jobs/${jobId}`);
+  }
+
   /**
    * Method: getStats
    * Purpose: Calls the backend API to get card stats
@@ -0,0 +1,12 @@
+-- Adds the unique index on card_number to a card table created before it was declared.
+-- The application runs the same migration automatically when it connects to a database.
+
+-- 1. List duplicated card numbers. Resolve every row returned before continuing.
+SELECT card_number, COUNT(*) AS copies
+FROM card
+GROUP BY card_number
+HAVING COUNT(*) > 1
+ORDER BY card_number;
+
+-- 2. Build the index online; reads and writes of the table continue while it is built.
+CREATE UNIQUE INDEX uk_card_card_number ON card (card_number) ALGORITHM=INPLACE LOCK=NONE;
@@ -0,0 +1,9 @@
+-- Adds the indexes serving card searches to a card table created before they were declared.
+-- The application creates missing indexes automatically when it updates the schema on connect.
+-- Each index is built online; reads and writes of the table continue while it is built.
+
+CREATE INDEX idx_card_game_rarity_number ON card (card_game, rarity, card_number) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_card_game_name ON card (card_game, card_name) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_card_name ON card (card_name) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_card_rarity_price ON card (rarity, purchase_price) ALGORITHM=INPLACE LOCK=NONE;
+CREATE INDEX idx_card_date_purchased ON card (date_purchased) ALGORITHM=INPLACE LOCK=NONE;
@@ -7,5 +7,11 @@ CREATE TABLE IF NOT EXISTS card (
     date_purchased DATE,
     date_set_published DATE,
     purchase_price DECIMAL(12,2) CHECK (purchase_price > 0),
-    foiled BOOLEAN NOT NULL
-);
\ No newline at end of file
+    foiled BOOLEAN NOT NULL,
+    UNIQUE INDEX uk_card_card_number (card_number),
+    INDEX idx_card_game_rarity_number (card_game, rarity, card_number),
+    INDEX idx_card_game_name (card_game, card_name),
+    INDEX idx_card_name (card_name),
+    INDEX idx_card_rarity_price (rarity, purchase_price),
+    INDEX idx_card_date_purchased (date_purchased)
+);